@@ -0,0 +1,108 @@
+/**
+ * Copyright 2005-2013 Dozer Project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.dozer.benchmarks;
+
+import org.dozer.Mapper;
+import org.dozer.benchmarks.vo.Customer;
+import org.dozer.benchmarks.vo.CustomerDto;
+import org.dozer.benchmarks.vo.FlatBean;
+import org.dozer.benchmarks.vo.FlatBeanPrime;
+import org.dozer.benchmarks.vo.Invoice;
+import org.dozer.benchmarks.vo.InvoiceDto;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Single object mappings through one shared mapper: flat copies, deep field paths, map backed properties and custom
+ * converters.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class BeanMappingBenchmark {
+
+  private Mapper mapper;
+  private FlatBean flatBean;
+  private Map<String, Object> flatMap;
+  private Customer customer;
+  private CustomerDto customerDto;
+  private Invoice invoice;
+
+  @Setup
+  public void setUp() {
+    mapper = BenchmarkData.createMapper();
+    flatBean = BenchmarkData.flatBean();
+    flatMap = new HashMap<String, Object>();
+    mapper.map(flatBean, flatMap);
+    customer = BenchmarkData.customer();
+    customerDto = mapper.map(customer, CustomerDto.class);
+    invoice = BenchmarkData.invoice();
+  }
+
+  @Benchmark
+  public FlatBeanPrime flatCopy() {
+    return mapper.map(flatBean, FlatBeanPrime.class);
+  }
+
+  @Benchmark
+  public FlatBeanPrime flatCopyIntoExisting() {
+    FlatBeanPrime result = new FlatBeanPrime();
+    mapper.map(flatBean, result);
+    return result;
+  }
+
+  @Benchmark
+  public CustomerDto deepFieldsToFlat() {
+    return mapper.map(customer, CustomerDto.class);
+  }
+
+  @Benchmark
+  public Customer flatToDeepFields() {
+    return mapper.map(customerDto, Customer.class);
+  }
+
+  @Benchmark
+  public Map<String, Object> beanToMap() {
+    Map<String, Object> result = new HashMap<String, Object>();
+    mapper.map(flatBean, result);
+    return result;
+  }
+
+  @Benchmark
+  public FlatBean mapToBean() {
+    return mapper.map(flatMap, FlatBean.class);
+  }
+
+  @Benchmark
+  public InvoiceDto globalCustomConverter() {
+    return mapper.map(invoice, InvoiceDto.class);
+  }
+
+  @Benchmark
+  public InvoiceDto customConverterInstance() {
+    return mapper.map(invoice, InvoiceDto.class, "converter-instance");
+  }
+
+}
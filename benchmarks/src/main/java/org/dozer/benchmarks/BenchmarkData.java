@@ -0,0 +1,97 @@
+/**
+ * Copyright 2005-2013 Dozer Project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.dozer.benchmarks;
+
+import org.dozer.CustomConverter;
+import org.dozer.DozerBeanMapper;
+import org.dozer.benchmarks.vo.Address;
+import org.dozer.benchmarks.vo.Customer;
+import org.dozer.benchmarks.vo.FlatBean;
+import org.dozer.benchmarks.vo.Invoice;
+import org.dozer.benchmarks.vo.Money;
+import org.dozer.benchmarks.vo.Order;
+import org.dozer.benchmarks.vo.OrderLine;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Date;
+import java.util.List;
+
+/**
+ * Mapper and source objects shared by the benchmarks.
+ */
+final class BenchmarkData {
+
+  static final String MAPPING_FILE = "benchmarkMapping.xml";
+
+  private BenchmarkData() {
+  }
+
+  static DozerBeanMapper createMapper() {
+    DozerBeanMapper mapper = new DozerBeanMapper(Collections.singletonList(MAPPING_FILE));
+    mapper.setCustomConvertersWithId(Collections.<String, CustomConverter>singletonMap("money", new MoneyConverter()));
+    return mapper;
+  }
+
+  static FlatBean flatBean() {
+    FlatBean result = new FlatBean();
+    result.setName("name");
+    result.setId(42);
+    result.setAmount(1000L);
+    result.setRatio(0.5);
+    result.setActive(true);
+    result.setCreated(new Date(0));
+    result.setPrice(new BigDecimal("19.99"));
+    result.setDescription("description");
+    return result;
+  }
+
+  static Customer customer() {
+    Address address = new Address();
+    address.setStreet("Brivibas 1");
+    address.setCity("Riga");
+    address.setZipCode("LV-1010");
+    Customer result = new Customer();
+    result.setName("name");
+    result.setAddress(address);
+    return result;
+  }
+
+  static Order order(int size) {
+    List<OrderLine> lines = new ArrayList<OrderLine>(size);
+    for (int i = 0; i < size; i++) {
+      OrderLine line = new OrderLine();
+      line.setSku("SKU-" + i);
+      line.setQuantity(i);
+      lines.add(line);
+    }
+    Order result = new Order();
+    result.setLines(lines);
+    return result;
+  }
+
+  static Invoice invoice() {
+    Money total = new Money();
+    total.setCents(12345);
+    total.setCurrency("EUR");
+    Invoice result = new Invoice();
+    result.setNumber("INV-1");
+    result.setTotal(total);
+    return result;
+  }
+
+}
@@ -0,0 +1,87 @@
+/**
+ * Copyright 2005-2013 Dozer Project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.dozer.benchmarks;
+
+import org.dozer.classmap.ClassMap;
+import org.dozer.classmap.ClassMappings;
+import org.dozer.classmap.Configuration;
+import org.dozer.classmap.DozerClass;
+import org.dozer.vo.proto.TestObject;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.ArrayList;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Class map lookups among a few hundred registered mappings: exact hits, map-id hits and misses, which fall back to
+ * scanning for interface mappings.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class ClassMappingsBenchmark {
+
+  private static final Class<?>[] TYPES = {String.class, Integer.class, Long.class, Short.class, Byte.class,
+      Double.class, Float.class, Boolean.class, Character.class, java.math.BigDecimal.class,
+      java.math.BigInteger.class, java.util.Date.class, java.util.ArrayList.class, java.util.HashSet.class,
+      java.util.HashMap.class, StringBuilder.class, Thread.class};
+
+  private ClassMappings classMappings;
+
+  @Setup
+  public void setUp() {
+    Configuration configuration = new Configuration();
+    classMappings = new ClassMappings();
+    for (Class<?> srcType : TYPES) {
+      for (Class<?> destType : TYPES) {
+        if (srcType != destType) {
+          classMappings.add(srcType, destType, classMap(configuration, srcType, destType, null));
+          classMappings.add(srcType, destType, "id", classMap(configuration, srcType, destType, "id"));
+        }
+      }
+    }
+  }
+
+  private static ClassMap classMap(Configuration configuration, Class<?> srcType, Class<?> destType, String mapId) {
+    ClassMap result = new ClassMap(configuration);
+    result.setSrcClass(new DozerClass(srcType.getName(), srcType, null, null, null, null, null, null, null, null));
+    result.setDestClass(new DozerClass(destType.getName(), destType, null, null, null, null, null, null, null, null));
+    result.setMapId(mapId);
+    return result;
+  }
+
+  @Benchmark
+  public ClassMap find() {
+    return classMappings.find(String.class, Integer.class);
+  }
+
+  @Benchmark
+  public ClassMap findByMapId() {
+    return classMappings.find(String.class, Integer.class, "id");
+  }
+
+  @Benchmark
+  public ClassMap findMissing() {
+    return classMappings.find(TestObject.class, ArrayList.class, null);
+  }
+
+}
@@ -0,0 +1,79 @@
+/**
+ * Copyright 2005-2013 Dozer Project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.dozer.benchmarks;
+
+import org.dozer.Mapper;
+import org.dozer.benchmarks.vo.Order;
+import org.dozer.benchmarks.vo.OrderDto;
+import org.dozer.benchmarks.vo.OrderLineDto;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Maps a list of elements into a new destination, and into a destination already holding half of the elements with
+ * cumulative and non-cumulative relationship types.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class CollectionMappingBenchmark {
+
+  @Param({"10", "100", "1000"})
+  private int size;
+
+  @Param({"cumulative", "non-cumulative"})
+  private String relationshipType;
+
+  private Mapper mapper;
+  private Order order;
+
+  @Setup
+  public void setUp() {
+    mapper = BenchmarkData.createMapper();
+    order = BenchmarkData.order(size);
+  }
+
+  @Benchmark
+  public OrderDto mapToNew() {
+    return mapper.map(order, OrderDto.class, relationshipType);
+  }
+
+  @Benchmark
+  public OrderDto mapToExisting() {
+    // the destination is rebuilt on every call, as cumulative mapping keeps adding to it
+    List<OrderLineDto> lines = new ArrayList<OrderLineDto>(size);
+    for (int i = 0; i < size; i += 2) {
+      OrderLineDto line = new OrderLineDto();
+      line.setSku("SKU-" + i);
+      lines.add(line);
+    }
+    OrderDto result = new OrderDto();
+    result.setLines(lines);
+    mapper.map(order, result, relationshipType);
+    return result;
+  }
+
+}
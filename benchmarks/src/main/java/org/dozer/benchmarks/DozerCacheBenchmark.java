@@ -0,0 +1,101 @@
+/**
+ * Copyright 2005-2013 Dozer Project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.dozer.benchmarks;
+
+import org.dozer.cache.CacheKeyFactory;
+import org.dozer.cache.DozerCache;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Group;
+import org.openjdk.jmh.annotations.GroupThreads;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Lookups in a cache shared by all benchmark threads, alone and while other threads keep adding entries.
+ */
+@State(Scope.Group)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class DozerCacheBenchmark {
+
+  private static final Class<?>[] TYPES = {String.class, Integer.class, Long.class, Short.class, Byte.class,
+      Double.class, Float.class, Boolean.class, Character.class, java.math.BigDecimal.class,
+      java.math.BigInteger.class, java.util.Date.class, java.util.List.class, java.util.Set.class,
+      java.util.Map.class, Object.class};
+
+  private DozerCache<Object, Object> cache;
+  private Object[] keys;
+
+  @Setup
+  public void setUp() {
+    cache = new DozerCache<Object, Object>("benchmark", TYPES.length * TYPES.length);
+    keys = new Object[TYPES.length * TYPES.length];
+    int i = 0;
+    for (Class<?> srcType : TYPES) {
+      for (Class<?> destType : TYPES) {
+        keys[i] = CacheKeyFactory.createKey(destType, srcType);
+        cache.put(keys[i], destType);
+        i++;
+      }
+    }
+  }
+
+  private Object nextKey(KeyIndex index) {
+    return keys[index.next() % keys.length];
+  }
+
+  @Benchmark
+  @Group("read")
+  public Object get(KeyIndex index) {
+    return cache.get(nextKey(index));
+  }
+
+  @Benchmark
+  @Group("readWrite")
+  @GroupThreads(3)
+  public Object getWhileWriting(KeyIndex index) {
+    return cache.get(nextKey(index));
+  }
+
+  @Benchmark
+  @Group("readWrite")
+  @GroupThreads(1)
+  public void put(KeyIndex index) {
+    Object key = nextKey(index);
+    cache.put(key, key);
+  }
+
+  /**
+   * Position in the key array, kept per thread so that threads do not contend on a shared counter.
+   */
+  @State(Scope.Thread)
+  public static class KeyIndex {
+
+    private int next;
+
+    int next() {
+      return next++ & Integer.MAX_VALUE;
+    }
+
+  }
+
+}
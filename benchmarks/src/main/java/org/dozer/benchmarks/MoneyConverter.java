@@ -0,0 +1,47 @@
+/**
+ * Copyright 2005-2013 Dozer Project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.dozer.benchmarks;
+
+import org.dozer.DozerConverter;
+import org.dozer.benchmarks.vo.Money;
+
+public class MoneyConverter extends DozerConverter<Money, String> {
+
+  public MoneyConverter() {
+    super(Money.class, String.class);
+  }
+
+  @Override
+  public String convertTo(Money source, String destination) {
+    if (source == null) {
+      return null;
+    }
+    return String.format("%d.%02d %s", source.getCents() / 100, Math.abs(source.getCents() % 100), source.getCurrency());
+  }
+
+  @Override
+  public Money convertFrom(String source, Money destination) {
+    if (source == null) {
+      return null;
+    }
+    String[] parts = source.split("[. ]");
+    Money result = new Money();
+    result.setCents(Long.parseLong(parts[0]) * 100 + Long.parseLong(parts[1]));
+    result.setCurrency(parts[2]);
+    return result;
+  }
+
+}
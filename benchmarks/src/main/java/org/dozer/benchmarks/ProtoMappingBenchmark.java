@@ -0,0 +1,95 @@
+/**
+ * Copyright 2005-2013 Dozer Project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.dozer.benchmarks;
+
+import org.dozer.DozerBeanMapper;
+import org.dozer.Mapper;
+import org.dozer.vo.proto.ObjectWithCollection;
+import org.dozer.vo.proto.ProtoTestObjects.ProtoTestObjectWithNestedProtoObject;
+import org.dozer.vo.proto.ProtoTestObjects.ProtobufWithSimpleCollection;
+import org.dozer.vo.proto.TestObject;
+import org.dozer.vo.proto.TestObjectContainer;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Mappings between beans and protobuf messages, which are created through their builders.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class ProtoMappingBenchmark {
+
+  private static final int COLLECTION_SIZE = 20;
+
+  private Mapper mapper;
+  private TestObjectContainer container;
+  private ProtoTestObjectWithNestedProtoObject containerMessage;
+  private ObjectWithCollection collection;
+  private ProtobufWithSimpleCollection collectionMessage;
+
+  @Setup
+  public void setUp() {
+    mapper = new DozerBeanMapper(Collections.singletonList("protoBeansMapping.xml"));
+    container = new TestObjectContainer(testObject("nested"), "one");
+    containerMessage = mapper.map(container, ProtoTestObjectWithNestedProtoObject.class);
+
+    List<TestObject> objects = new ArrayList<TestObject>(COLLECTION_SIZE);
+    for (int i = 0; i < COLLECTION_SIZE; i++) {
+      objects.add(testObject("value" + i));
+    }
+    collection = new ObjectWithCollection();
+    collection.setObjects(objects);
+    collectionMessage = mapper.map(collection, ProtobufWithSimpleCollection.class);
+  }
+
+  private static TestObject testObject(String one) {
+    TestObject result = new TestObject();
+    result.setOne(one);
+    return result;
+  }
+
+  @Benchmark
+  public ProtoTestObjectWithNestedProtoObject nestedToProto() {
+    return mapper.map(container, ProtoTestObjectWithNestedProtoObject.class);
+  }
+
+  @Benchmark
+  public TestObjectContainer nestedFromProto() {
+    return mapper.map(containerMessage, TestObjectContainer.class);
+  }
+
+  @Benchmark
+  public ProtobufWithSimpleCollection repeatedToProto() {
+    return mapper.map(collection, ProtobufWithSimpleCollection.class);
+  }
+
+  @Benchmark
+  public ObjectWithCollection repeatedFromProto() {
+    return mapper.map(collectionMessage, ObjectWithCollection.class);
+  }
+
+}
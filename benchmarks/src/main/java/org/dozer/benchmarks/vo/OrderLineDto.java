@@ -0,0 +1,50 @@
+/**
+ * Copyright 2005-2013 Dozer Project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.dozer.benchmarks.vo;
+
+public class OrderLineDto {
+
+  private String sku;
+  private int quantity;
+
+  public String getSku() {
+    return sku;
+  }
+
+  public void setSku(String sku) {
+    this.sku = sku;
+  }
+
+  public int getQuantity() {
+    return quantity;
+  }
+
+  public void setQuantity(int quantity) {
+    this.quantity = quantity;
+  }
+
+  // non-cumulative mapping matches existing elements by equality
+  @Override
+  public boolean equals(Object o) {
+    return o instanceof OrderLineDto && sku != null && sku.equals(((OrderLineDto) o).sku);
+  }
+
+  @Override
+  public int hashCode() {
+    return sku != null ? sku.hashCode() : 0;
+  }
+
+}
@@ -0,0 +1,34 @@
+/**
+ * Copyright 2005-2013 Dozer Project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.dozer;
+
+/**
+ * Custom converter receiving its parameter and the current mapper with each invocation instead of having them set on
+ * the instance. Dozer never calls {@link ConfigurableCustomConverter#setParameter} or {@link MapperAware#setMapper} on
+ * converters implementing this interface, so a single stateless instance can be shared by concurrent mappings.
+ */
+public interface ContextualCustomConverter extends CustomConverter {
+
+  /**
+   * Converts the source value, see {@link CustomConverter#convert}. This method is used by Dozer instead of the one
+   * without context.
+   *
+   * @param context parameter, mapper and field mapping of this invocation
+   */
+  Object convert(Object existingDestinationFieldValue, Object sourceFieldValue, Class<?> destinationClass,
+                 Class<?> sourceClass, ConversionContext context);
+
+}
@@ -0,0 +1,98 @@
+/**
+ * Copyright 2005-2013 Dozer Project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.dozer;
+
+import org.dozer.fieldmap.FieldMap;
+import org.dozer.fieldmap.HintContainer;
+
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Immutable description of a single custom converter invocation, passed to {@link ContextualCustomConverter}.
+ */
+public final class ConversionContext {
+
+  private final String parameter;
+  private final Mapper mapper;
+  private final String sourceFieldName;
+  private final String destinationFieldName;
+  private final List<Class<?>> sourceHints;
+  private final List<Class<?>> destinationHints;
+
+  ConversionContext(String parameter, Mapper mapper, FieldMap fieldMap) {
+    this.parameter = parameter;
+    this.mapper = mapper;
+    if (fieldMap != null) {
+      sourceFieldName = fieldMap.getSrcFieldName();
+      destinationFieldName = fieldMap.getDestFieldName();
+      sourceHints = getHints(fieldMap.getSrcHintContainer());
+      destinationHints = getHints(fieldMap.getDestHintContainer());
+    } else {
+      sourceFieldName = null;
+      destinationFieldName = null;
+      sourceHints = Collections.emptyList();
+      destinationHints = Collections.emptyList();
+    }
+  }
+
+  private static List<Class<?>> getHints(HintContainer hintContainer) {
+    return hintContainer != null ? hintContainer.getHints() : Collections.<Class<?>>emptyList();
+  }
+
+  /**
+   * @return value of the custom-converter-param attribute or null if none is configured
+   */
+  public String getParameter() {
+    return parameter;
+  }
+
+  /**
+   * @return mapper performing the current mapping, which can be used to map nested objects
+   */
+  public Mapper getMapper() {
+    return mapper;
+  }
+
+  /**
+   * @return name of the source field or null if the converter maps whole classes
+   */
+  public String getSourceFieldName() {
+    return sourceFieldName;
+  }
+
+  /**
+   * @return name of the destination field or null if the converter maps whole classes
+   */
+  public String getDestinationFieldName() {
+    return destinationFieldName;
+  }
+
+  /**
+   * @return immutable list of the source type hints of the field, empty if there are none
+   */
+  public List<Class<?>> getSourceHints() {
+    return sourceHints;
+  }
+
+  /**
+   * @return immutable list of the destination type hints of the field, empty if there are none
+   */
+  public List<Class<?>> getDestinationHints() {
+    return destinationHints;
+  }
+
+}
@@ -15,9 +15,13 @@
  */
 package org.dozer;
 
+import org.dozer.cache.Cache;
+import org.dozer.cache.CacheEntry;
+import org.dozer.cache.CacheKeyFactory;
 import org.dozer.cache.CacheManager;
+import org.dozer.cache.DozerCache;
 import org.dozer.cache.DozerCacheManager;
-import org.dozer.cache.DozerCacheType;
+import org.dozer.classmap.ClassMap;
 import org.dozer.classmap.ClassMappings;
 import org.dozer.classmap.Configuration;
 import org.dozer.classmap.MappingFileData;
@@ -26,25 +30,29 @@ import org.dozer.event.DozerEventManager;
 import org.dozer.factory.DestBeanCreator;
 import org.dozer.loader.CustomMappingsLoader;
 import org.dozer.loader.LoadMappingsResult;
+import org.dozer.loader.MappingsSnapshot;
 import org.dozer.loader.api.BeanMappingBuilder;
-import org.dozer.loader.xml.MappingFileReader;
+import org.dozer.loader.xml.MappingFilesLoader;
 import org.dozer.loader.xml.MappingStreamReader;
 import org.dozer.loader.xml.XMLParserFactory;
 import org.dozer.metadata.DozerMappingMetadata;
 import org.dozer.metadata.MappingMetadata;
-import org.dozer.stats.GlobalStatistics;
+import org.dozer.stats.MetricsPublisher;
+import org.dozer.stats.MetricsRegistry;
 import org.dozer.stats.StatisticType;
 import org.dozer.stats.StatisticsInterceptor;
 import org.dozer.stats.StatisticsManager;
-import org.dozer.util.MappingValidator;
+import org.dozer.util.FieldMappingErrorReporter;
+import org.dozer.util.MappingUtils;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.io.File;
 import java.io.InputStream;
 import java.lang.reflect.Proxy;
-import java.net.URL;
 import java.util.*;
 import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
 import java.util.concurrent.atomic.AtomicBoolean;
 
 /**
@@ -66,7 +74,9 @@ public class DozerBeanMapper implements Mapper {
 
   private final Logger log = LoggerFactory.getLogger(DozerBeanMapper.class);
 
-  private final StatisticsManager statsMgr = GlobalStatistics.getInstance().getStatsMgr();
+  private final MapperContext context;
+  private final StatisticsManager statsMgr;
+  private final FieldMappingErrorReporter errorReporter = new FieldMappingErrorReporter();
   private final AtomicBoolean initializing = new AtomicBoolean(false);
   private final CountDownLatch ready = new CountDownLatch(1);
 
@@ -84,17 +94,36 @@ public class DozerBeanMapper implements Mapper {
   /*
    * Not accessible for injection
    */
-  private ClassMappings customMappings;
-  private Configuration globalConfiguration;
-  // There are no global caches. Caches are per bean mapper instance
-  private final CacheManager cacheManager = new DozerCacheManager();
+  // There are no global caches. Caches are per bean mapper instance. Mappings and caches are replaced
+  // together when mapping files change at runtime, so running mappings keep a consistent view
+  private volatile LoadedMappings loadedMappings;
   private DozerEventManager eventManager;
 
+  // Class mappings contributed by each mapping source, needed to change mapping files at runtime.
+  // fileMappings is null when mappings were restored from a snapshot
+  private final Object mappingFilesLock = new Object();
+  private Map<String, ClassMappings> fileMappings;
+  private ClassMappings apiMappings;
+  private String configurationFile;
+
   public DozerBeanMapper() {
     this(Collections.<String>emptyList());
   }
 
   public DozerBeanMapper(List<String> mappingFiles) {
+    this(mappingFiles, MapperContext.global());
+  }
+
+  public DozerBeanMapper(MapperContext context) {
+    this(Collections.<String>emptyList(), context);
+  }
+
+  /**
+   * @param context statistics and caches settings of this mapper, see {@link MapperContext#isolated(boolean)}
+   */
+  public DozerBeanMapper(List<String> mappingFiles, MapperContext context) {
+    this.context = context;
+    this.statsMgr = context.getStatsMgr();
     this.mappingFiles.addAll(mappingFiles);
     init();
   }
@@ -127,13 +156,73 @@ public class DozerBeanMapper implements Mapper {
     getMappingProcessor().map(source, destination);
   }
 
+  /**
+   * Constructs new instance of destinationClass and maps only the selected destination fields from source.
+   * Unselected fields are left untouched on both sides.
+   *
+   * @param source
+   * @param destinationClass
+   * @param selection destination field paths to map
+   * @param <T>
+   * @return
+   * @throws MappingException
+   */
+  public <T> T project(Object source, Class<T> destinationClass, FieldSelection selection) throws MappingException {
+    Mapper processor = getMappingProcessor();
+    if (!(processor instanceof ProjectingMapper)) {
+      throw new MappingException("Mapping processor " + processor.getClass().getName() + " does not support projections");
+    }
+    return ((ProjectingMapper) processor).project(source, destinationClass, selection);
+  }
+
+  /**
+   * Lazily maps the elements of a source iterator, e.g. a database cursor. Each element is mapped on the first call
+   * to next() that reaches it and is not referenced afterwards, so sources of any size can be mapped in bounded
+   * memory. Mapped object graphs are tracked per element, shared references between elements are not preserved.
+   *
+   * @param source iterator over source objects
+   * @param destinationClass class of the mapped elements
+   * @return iterator over mapped elements
+   */
+  public <T> MappingIterator<T> mapIterator(Iterator<?> source, Class<T> destinationClass) throws MappingException {
+    return mapIterator(source, destinationClass, (String) null);
+  }
+
+  /**
+   * Lazily maps the elements of a source iterator with the given map id.
+   *
+   * @see #mapIterator(Iterator, Class)
+   */
+  public <T> MappingIterator<T> mapIterator(Iterator<?> source, Class<T> destinationClass, String mapId) throws MappingException {
+    return new MappingIterator<T>(this, source, destinationClass, mapId);
+  }
+
+  /**
+   * Maps the elements of a source iterator concurrently. At most <code>window</code> elements are read ahead of the
+   * consumer and mapped by the executor, the source is not read any further until the consumer catches up. The
+   * source iterator is only accessed by the consuming thread and mapped elements are returned in source order. The
+   * iterator should be closed when it is not read to the end, so that elements read ahead are not mapped in vain.
+   *
+   * @param source iterator over source objects
+   * @param destinationClass class of the mapped elements
+   * @param executor executor mapping the elements
+   * @param window maximum number of elements in flight
+   * @return iterator over mapped elements
+   */
+  public <T> MappingIterator<T> mapIterator(Iterator<?> source, Class<T> destinationClass, ExecutorService executor,
+                                            int window) throws MappingException {
+    return new MappingIterator<T>(this, source, destinationClass, null, executor, window);
+  }
+
   /**
    * Returns list of provided mapping file URLs
    *
-   * @return unmodifiable list of mapping files
+   * @return unmodifiable snapshot of mapping files
    */
   public List<String> getMappingFiles() {
-    return Collections.unmodifiableList(mappingFiles);
+    synchronized (mappingFilesLock) {
+      return Collections.unmodifiableList(new ArrayList<String>(mappingFiles));
+    }
   }
 
   /**
@@ -146,8 +235,10 @@ public class DozerBeanMapper implements Mapper {
    */
   public void setMappingFiles(List<String> mappingFileUrls) {
     checkIfInitialized();
-    this.mappingFiles.clear();
-    this.mappingFiles.addAll(mappingFileUrls);
+    synchronized (mappingFilesLock) {
+      this.mappingFiles.clear();
+      this.mappingFiles.addAll(mappingFileUrls);
+    }
   }
 
   public void setFactories(Map<String, BeanFactory> factories) {
@@ -176,9 +267,7 @@ public class DozerBeanMapper implements Mapper {
 
     // initialize any bean mapper caches. These caches are only visible to the bean mapper instance and
     // are not shared across the VM.
-    GlobalSettings globalSettings = GlobalSettings.getInstance();
-    cacheManager.addCache(DozerCacheType.CONVERTER_BY_DEST_TYPE.name(), globalSettings.getConverterByDestTypeCacheMaxSize());
-    cacheManager.addCache(DozerCacheType.SUPER_TYPE_CHECK.name(), globalSettings.getSuperTypesCacheMaxSize());
+    loadedMappings = new LoadedMappings(null, null, context.createCacheManager());
 
     // stats
     statsMgr.increment(StatisticType.MAPPER_INSTANCES_COUNT);
@@ -191,12 +280,14 @@ public class DozerBeanMapper implements Mapper {
   protected Mapper getMappingProcessor() {
     initMappings();
 
-    Mapper processor = new MappingProcessor(customMappings, globalConfiguration, cacheManager, statsMgr, customConverters,
-            eventManager, getCustomFieldMapper(), customConvertersWithId);
+    LoadedMappings mappings = loadedMappings;
+    ProjectingMapper processor = new MappingProcessor(mappings.customMappings, mappings.globalConfiguration, mappings.cacheManager,
+            statsMgr, customConverters, eventManager, getCustomFieldMapper(), customConvertersWithId, errorReporter,
+            context);
 
     // If statistics are enabled, then Proxy the processor with a statistics interceptor
     if (statsMgr.isStatisticsEnabled()) {
-      processor = (Mapper) Proxy.newProxyInstance(processor.getClass().getClassLoader(),
+      processor = (ProjectingMapper) Proxy.newProxyInstance(processor.getClass().getClassLoader(),
               processor.getClass().getInterfaces(),
               new StatisticsInterceptor(processor, statsMgr));
     }
@@ -205,32 +296,62 @@ public class DozerBeanMapper implements Mapper {
   }
 
   void loadCustomMappings() {
+    List<String> files;
+    synchronized (mappingFilesLock) {
+      files = new ArrayList<String>(mappingFiles);
+    }
+    MappingsSnapshot snapshot = createSnapshot(files);
+    LoadMappingsResult loadMappingsResult = snapshot != null ? snapshot.load() : null;
+    if (loadMappingsResult == null) {
+      loadMappingsResult = loadFromSource(files);
+      if (snapshot != null) {
+        snapshot.save(loadMappingsResult);
+      }
+    }
+    this.loadedMappings = new LoadedMappings(loadMappingsResult.getCustomMappings(),
+            loadMappingsResult.getGlobalConfiguration(), loadedMappings.cacheManager);
+  }
+
+  private LoadMappingsResult loadFromSource(List<String> mappingFiles) {
     CustomMappingsLoader customMappingsLoader = new CustomMappingsLoader();
     List<MappingFileData> xmlMappings = loadFromFiles(mappingFiles);
     ArrayList<MappingFileData> allMappings = new ArrayList<MappingFileData>();
     allMappings.addAll(xmlMappings);
     allMappings.addAll(builderMappings);
     LoadMappingsResult loadMappingsResult = customMappingsLoader.load(allMappings);
-    this.customMappings = loadMappingsResult.getCustomMappings();
-    this.globalConfiguration = loadMappingsResult.getGlobalConfiguration();
-  }
 
-  private List<MappingFileData> loadFromFiles(List<String> mappingFiles) {
-    MappingFileReader mappingFileReader = new MappingFileReader(XMLParserFactory.getInstance());
-    List<MappingFileData> mappingFileDataList = new ArrayList<MappingFileData>();
-    if (mappingFiles != null && mappingFiles.size() > 0) {
-      log.info("Using the following xml files to load custom mappings for the bean mapper instance: {}", mappingFiles);
-      for (String mappingFileName : mappingFiles) {
-        log.info("Trying to find xml mapping file: {}", mappingFileName);
-        URL url = MappingValidator.validateURL(mappingFileName);
-        log.info("Using URL [" + url + "] to load custom xml mappings");
-        MappingFileData mappingFileData = mappingFileReader.read(url);
-        log.info("Successfully loaded custom xml mappings from URL: [{}]", url);
-
-        mappingFileDataList.add(mappingFileData);
+    List<ClassMappings> sourceMappings = loadMappingsResult.getSourceMappings();
+    fileMappings = new LinkedHashMap<String, ClassMappings>();
+    configurationFile = null;
+    for (int i = 0; i < xmlMappings.size(); i++) {
+      fileMappings.put(mappingFiles.get(i), sourceMappings.get(i));
+      if (xmlMappings.get(i).getConfiguration() != null) {
+        configurationFile = mappingFiles.get(i);
       }
     }
-    return mappingFileDataList;
+    apiMappings = new ClassMappings();
+    for (ClassMappings classMappings : sourceMappings.subList(xmlMappings.size(), sourceMappings.size())) {
+      apiMappings.addAll(classMappings);
+    }
+    return loadMappingsResult;
+  }
+
+  private MappingsSnapshot createSnapshot(List<String> mappingFiles) {
+    String snapshotDir = GlobalSettings.getInstance().getMappingSnapshotDir();
+    // API and stream mappings have no source that could be fingerprinted
+    if (MappingUtils.isBlankOrNull(snapshotDir) || !builderMappings.isEmpty()) {
+      return null;
+    }
+    return new MappingsSnapshot(new File(snapshotDir), mappingFiles, context.getClassLoader());
+  }
+
+  private List<MappingFileData> loadFromFiles(List<String> mappingFiles) {
+    GlobalSettings globalSettings = GlobalSettings.getInstance();
+    // EL variables declared in one file are visible in the files loaded after it, so those have to be parsed in order
+    int loaderThreads = globalSettings.isElEnabled() ? 1 : globalSettings.getMappingLoaderThreads();
+    MappingFilesLoader mappingFilesLoader = new MappingFilesLoader(XMLParserFactory.getInstance(), loaderThreads,
+            globalSettings.isMappingValidateClasspath(), context.getClassLoader());
+    return mappingFilesLoader.load(mappingFiles);
   }
 
   /**
@@ -278,6 +399,10 @@ public class DozerBeanMapper implements Mapper {
     this.customFieldMapper = customFieldMapper;
   }
 
+  public MapperContext getContext() {
+    return context;
+  }
+
   /**
    * The {@link org.dozer.metadata.MappingMetadata} interface can be used to query information about the current
    * mapping definitions. It provides read only access to all important classes and field
@@ -288,7 +413,179 @@ public class DozerBeanMapper implements Mapper {
    */
   public MappingMetadata getMappingMetadata() {
     initMappings();
-    return new DozerMappingMetadata(customMappings);
+    return new DozerMappingMetadata(loadedMappings.customMappings);
+  }
+
+  /**
+   * Pushes the global statistics and mapping profiles, as well as the cache sizes and the number of class mappings of
+   * this mapper into the given registry. Intended to be called periodically, i.e. before metrics are scraped.
+   *
+   * @param registry metrics registry, i.e. an {@link org.dozer.stats.InMemoryMetricsRegistry}
+   */
+  public void publishMetrics(MetricsRegistry registry) {
+    LoadedMappings mappings = loadedMappings;
+    MetricsPublisher publisher = new MetricsPublisher(statsMgr, context.getMappingProfiler());
+    publisher.publish(registry);
+    publisher.publish(registry, mappings.customMappings, mappings.cacheManager);
+  }
+
+  /**
+   * Adds a custom XML mapping file. If the mapper is already initialized the file is loaded right away. Mappings
+   * that are in progress finish with the previous definitions, and cached state is only dropped for the classes the
+   * file maps.
+   * <p/>
+   * Files added at runtime can not declare the global configuration.
+   *
+   * @param mappingFileUrl URL referencing the mapping file
+   */
+  public void addMappingFile(String mappingFileUrl) {
+    updateMappingFile(mappingFileUrl, false, true);
+  }
+
+  /**
+   * Loads a custom XML mapping file again, replacing the class mappings it declared before. Does nothing if the
+   * mapper is not initialized yet. The file holding the global configuration can not be reloaded.
+   *
+   * @param mappingFileUrl URL of a mapping file known to this mapper
+   * @see #addMappingFile(String)
+   */
+  public void reloadMappingFile(String mappingFileUrl) {
+    updateMappingFile(mappingFileUrl, true, true);
+  }
+
+  /**
+   * Removes a custom XML mapping file together with the class mappings it declared. The file holding the global
+   * configuration can not be removed.
+   *
+   * @param mappingFileUrl URL of a mapping file known to this mapper
+   * @see #addMappingFile(String)
+   */
+  public void removeMappingFile(String mappingFileUrl) {
+    updateMappingFile(mappingFileUrl, true, false);
+  }
+
+  private void updateMappingFile(String mappingFile, boolean known, boolean load) {
+    synchronized (mappingFilesLock) {
+      if (mappingFiles.contains(mappingFile) != known) {
+        MappingUtils.throwMappingException(known ? "Unknown mapping file: " + mappingFile
+                : "Mapping file is already added: " + mappingFile);
+      }
+      List<String> updatedFiles = new ArrayList<String>(mappingFiles);
+      if (!known) {
+        updatedFiles.add(mappingFile);
+      } else if (!load) {
+        updatedFiles.remove(mappingFile);
+      }
+
+      if (ready.getCount() != 0) {
+        if (known != load) {
+          setMappingFiles(updatedFiles);
+        }
+        return;
+      }
+
+      if (fileMappings == null) {
+        // restored from a snapshot, which does not tell what each file contributed
+        log.info("Reloading all mapping files, as mappings were restored from a snapshot");
+        LoadMappingsResult loadMappingsResult = loadFromSource(updatedFiles);
+        CacheManager cacheManager = copyCaches(loadedMappings.cacheManager, null);
+        loadedMappings = new LoadedMappings(loadMappingsResult.getCustomMappings(),
+                loadMappingsResult.getGlobalConfiguration(), cacheManager);
+      } else {
+        replaceFileMappings(mappingFile, load);
+      }
+      mappingFiles.clear();
+      mappingFiles.addAll(updatedFiles);
+    }
+  }
+
+  private void replaceFileMappings(String mappingFile, boolean load) {
+    if (mappingFile.equals(configurationFile)) {
+      MappingUtils.throwMappingException("Mapping file " + mappingFile
+              + " holds the global configuration, which can not be changed at runtime");
+    }
+    LoadedMappings current = loadedMappings;
+    Map<String, ClassMappings> updatedFileMappings = new LinkedHashMap<String, ClassMappings>(fileMappings);
+    List<ClassMap> changed = new ArrayList<ClassMap>();
+
+    ClassMappings previous = updatedFileMappings.remove(mappingFile);
+    if (previous != null) {
+      changed.addAll(previous.getAll().values());
+    }
+    if (load) {
+      MappingFileData mappingFileData = loadFromFiles(Collections.singletonList(mappingFile)).get(0);
+      if (mappingFileData.getConfiguration() != null) {
+        MappingUtils.throwMappingException("Mapping file " + mappingFile
+                + " declares a global configuration, which can not be changed at runtime");
+      }
+      ClassMappings loaded = new CustomMappingsLoader().load(mappingFileData, current.globalConfiguration);
+      updatedFileMappings.put(mappingFile, loaded);
+      changed.addAll(loaded.getAll().values());
+    }
+
+    ClassMappings customMappings = new ClassMappings();
+    for (ClassMappings classMappings : updatedFileMappings.values()) {
+      customMappings.addAll(classMappings);
+    }
+    customMappings.addAll(apiMappings);
+
+    // class maps generated while mapping are kept, unless one of the changed mappings may apply to them
+    Set<ClassMap> sourceClassMaps = Collections.newSetFromMap(new IdentityHashMap<ClassMap, Boolean>());
+    for (ClassMappings classMappings : fileMappings.values()) {
+      sourceClassMaps.addAll(classMappings.getAll().values());
+    }
+    sourceClassMaps.addAll(apiMappings.getAll().values());
+    Set<String> customKeys = customMappings.getAll().keySet();
+    for (Map.Entry<String, ClassMap> entry : current.customMappings.getAll().entrySet()) {
+      ClassMap classMap = entry.getValue();
+      if (!sourceClassMaps.contains(classMap) && !customKeys.contains(entry.getKey())
+              && !isAffected(classMap.getSrcClassToMap(), classMap.getDestClassToMap(), changed)) {
+        customMappings.addDefault(classMap.getSrcClassToMap(), classMap.getDestClassToMap(), classMap);
+      }
+    }
+
+    loadedMappings = new LoadedMappings(customMappings, current.globalConfiguration,
+            copyCaches(current.cacheManager, changed));
+    fileMappings = updatedFileMappings;
+    log.info("Replaced mappings of file {}, {} class mappings changed", mappingFile, changed.size());
+  }
+
+  /*
+   * Fresh caches are used after a change, so that mappings still running on the previous definitions
+   * can not put stale entries into them. Entries are carried over unless they may depend on a changed mapping.
+   */
+  private CacheManager copyCaches(CacheManager cacheManager, List<ClassMap> changed) {
+    DozerCacheManager result = new DozerCacheManager(statsMgr);
+    for (Cache<Object, Object> cache : cacheManager.getCaches()) {
+      DozerCache<Object, Object> copy = new DozerCache<Object, Object>(cache.getName(), (int) cache.getMaxSize(), statsMgr);
+      // entries of custom cache implementations can not be read and are dropped
+      if (changed != null && cache instanceof DozerCache) {
+        List<CacheEntry<Object, Object>> entries = new ArrayList<CacheEntry<Object, Object>>();
+        for (CacheEntry<Object, Object> entry : ((DozerCache<Object, Object>) cache).getEntries()) {
+          Object key = entry.getKey();
+          if (!isAffected(CacheKeyFactory.getSrcClass(key), CacheKeyFactory.getDestClass(key), changed)) {
+            entries.add(entry);
+          }
+        }
+        copy.addEntries(entries);
+      }
+      result.addCache(copy);
+    }
+    return result;
+  }
+
+  // inheritance and interface lookups may pick a class map for related classes on both sides
+  private static boolean isAffected(Class<?> srcClass, Class<?> destClass, List<ClassMap> changed) {
+    for (ClassMap classMap : changed) {
+      if (isRelated(srcClass, classMap.getSrcClassToMap()) && isRelated(destClass, classMap.getDestClassToMap())) {
+        return true;
+      }
+    }
+    return false;
+  }
+
+  private static boolean isRelated(Class<?> type, Class<?> mappedType) {
+    return type == null || mappedType == null || type.isAssignableFrom(mappedType) || mappedType.isAssignableFrom(type);
   }
 
   /**
@@ -311,15 +608,18 @@ public class DozerBeanMapper implements Mapper {
 
   private void initMappings() {
     if (initializing.compareAndSet(false, true)) {
-      try {
-        loadCustomMappings();
-        eventManager = new DozerEventManager(eventListeners);
-      } catch (RuntimeException e) {
-        // reset initialized state if error happens
-        initializing.set(false);
-        throw e;
-      } finally {
-        ready.countDown();
+      // mapping files added or removed meanwhile wait until the mapper is ready, so that none of them gets lost
+      synchronized (mappingFilesLock) {
+        try {
+          loadCustomMappings();
+          eventManager = new DozerEventManager(eventListeners);
+        } catch (RuntimeException e) {
+          // reset initialized state if error happens
+          initializing.set(false);
+          throw e;
+        } finally {
+          ready.countDown();
+        }
       }
     }
 
@@ -332,4 +632,17 @@ public class DozerBeanMapper implements Mapper {
     }
   }
 
+  private static final class LoadedMappings {
+
+    private final ClassMappings customMappings;
+    private final Configuration globalConfiguration;
+    private final CacheManager cacheManager;
+
+    LoadedMappings(ClassMappings customMappings, Configuration globalConfiguration, CacheManager cacheManager) {
+      this.customMappings = customMappings;
+      this.globalConfiguration = globalConfiguration;
+      this.cacheManager = cacheManager;
+    }
+  }
+
 }
@@ -139,4 +139,18 @@ public abstract class DozerConverter<A, B> implements ConfigurableCustomConverte
     return parameter;
   }
 
+  /**
+   * @return type one of the conversion
+   */
+  public Class<A> getPrototypeA() {
+    return prototypeA;
+  }
+
+  /**
+   * @return type two of the conversion
+   */
+  public Class<B> getPrototypeB() {
+    return prototypeB;
+  }
+
 }
@@ -0,0 +1,130 @@
+/**
+ * Copyright 2005-2013 Dozer Project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.dozer;
+
+import org.dozer.util.DozerConstants;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Immutable set of destination field paths, which limits a mapping to the selected fields only. Paths are dotted
+ * destination field names, like "name" or "address.city". Selecting a field selects all of its nested fields as well.
+ * Field mappings, which are not selected, are skipped completely and their source getters are never invoked.
+ * <p/>
+ * Selections are used as cache keys, so it is best to create them once and keep them in constants.
+ *
+ * @see DozerBeanMapper#project(Object, Class, FieldSelection)
+ */
+public final class FieldSelection {
+
+  private static final FieldSelection ALL = new FieldSelection(null);
+
+  // null selects all fields
+  private final Map<String, FieldSelection> fields;
+  private final int hashCode;
+
+  private FieldSelection(Map<String, FieldSelection> fields) {
+    this.fields = fields;
+    this.hashCode = fields == null ? 0 : fields.hashCode() + 1;
+  }
+
+  public static FieldSelection of(String... paths) {
+    return of(Arrays.asList(paths));
+  }
+
+  public static FieldSelection of(Collection<String> paths) {
+    Map<String, List<String>> nestedPaths = new LinkedHashMap<String, List<String>>();
+    for (String path : paths) {
+      if (path == null || path.length() == 0) {
+        throw new IllegalArgumentException("Field path should not be empty");
+      }
+      int index = path.indexOf(DozerConstants.DEEP_FIELD_DELIMITER);
+      String field = index < 0 ? path : path.substring(0, index);
+      List<String> nested = nestedPaths.get(field);
+      if (nested == null) {
+        nested = new ArrayList<String>();
+        nestedPaths.put(field, nested);
+      }
+      // a null entry marks the field as selected as a whole
+      nested.add(index < 0 ? null : path.substring(index + 1));
+    }
+
+    Map<String, FieldSelection> fields = new HashMap<String, FieldSelection>();
+    for (Map.Entry<String, List<String>> entry : nestedPaths.entrySet()) {
+      List<String> nested = entry.getValue();
+      fields.put(entry.getKey(), nested.contains(null) ? ALL : of(nested));
+    }
+    return new FieldSelection(Collections.unmodifiableMap(fields));
+  }
+
+  /**
+   * Returns the selection applied to the fields nested in the given destination field.
+   *
+   * @param destFieldName destination field name, possibly deep or indexed
+   * @return nested selection or null if the field is not selected
+   */
+  public FieldSelection select(String destFieldName) {
+    if (fields == null || DozerConstants.SELF_KEYWORD.equals(destFieldName)) {
+      return this;
+    }
+    if (destFieldName == null) {
+      return null;
+    }
+    FieldSelection current = this;
+    for (String field : destFieldName.split(DozerConstants.DEEP_FIELD_DELIMITER_REGEXP)) {
+      int index = field.indexOf('[');
+      current = current.fields.get(index < 0 ? field : field.substring(0, index));
+      if (current == null || current.fields == null) {
+        return current;
+      }
+    }
+    return current;
+  }
+
+  public boolean isSelected(String destFieldName) {
+    return select(destFieldName) != null;
+  }
+
+  @Override
+  public boolean equals(Object obj) {
+    if (this == obj) {
+      return true;
+    }
+    if (!(obj instanceof FieldSelection)) {
+      return false;
+    }
+    FieldSelection other = (FieldSelection) obj;
+    return fields == null ? other.fields == null : fields.equals(other.fields);
+  }
+
+  @Override
+  public int hashCode() {
+    return hashCode;
+  }
+
+  @Override
+  public String toString() {
+    return fields == null ? "*" : fields.toString();
+  }
+
+}
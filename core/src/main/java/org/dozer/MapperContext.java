@@ -0,0 +1,146 @@
+/**
+ * Copyright 2005-2013 Dozer Project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.dozer;
+
+import org.dozer.cache.CacheManager;
+import org.dozer.cache.DozerCacheManager;
+import org.dozer.cache.DozerCacheType;
+import org.dozer.config.BeanContainer;
+import org.dozer.config.GlobalSettings;
+import org.dozer.stats.GlobalStatistics;
+import org.dozer.stats.MappingProfiler;
+import org.dozer.stats.StatisticsManager;
+import org.dozer.stats.StatisticsManagerImpl;
+import org.dozer.util.CachingProxyResolver;
+import org.dozer.util.DozerClassLoader;
+import org.dozer.util.DozerProxyResolver;
+
+/**
+ * Runtime state owned by a mapper: the statistics manager, the mapping profiler, the sizes of the mapper caches, the
+ * class loader locating mapping files and the proxy resolver unwrapping mapped objects.
+ * <p/>
+ * By default mappers share the global context, which is exposed through JMX and follows the current
+ * {@link GlobalSettings} and {@link BeanContainer} configuration. Mappers created with an isolated context count their
+ * statistics separately, so several mappers with different mapping sets do not contend on the same counters, and
+ * nothing of the mapper stays referenced once it is discarded. A context may also carry its own class loader and proxy
+ * resolver, e.g. for mappers of different applications sharing the Dozer classes.
+ * <p/>
+ * Classes named in mappings are loaded through the {@link BeanContainer} class loader. The plugins contributed by
+ * {@link DozerModule}s are not covered by the context either. Modules are initialized once per JVM and their plugins
+ * are looked up by class and field maps, which carry no reference to their mapper, so these remain shared by all
+ * mappers. Plugin lookups take no locks and hold classes weakly, so sharing them neither makes mappers contend nor
+ * keeps discarded mapping classes loaded.
+ *
+ * <pre>
+ * DozerBeanMapper mapper = new DozerBeanMapper(mappingFiles, MapperContext.isolated(true));
+ * long count = mapper.getContext().getStatsMgr().getStatisticValue(StatisticType.MAPPING_SUCCESS_COUNT);
+ * </pre>
+ */
+public final class MapperContext {
+
+  private static final MapperContext GLOBAL = new MapperContext(GlobalStatistics.getInstance().getStatsMgr(),
+          GlobalStatistics.getInstance().getMappingProfiler(), null, null, null, null);
+
+  private final StatisticsManager statsMgr;
+  private final MappingProfiler mappingProfiler;
+  // null takes the size from the global settings whenever caches are created
+  private final Integer converterByDestTypeCacheMaxSize;
+  private final Integer superTypesCacheMaxSize;
+  // null uses the one currently set in the bean container
+  private final DozerClassLoader classLoader;
+  private final CachingProxyResolver proxyResolver;
+
+  public MapperContext(StatisticsManager statsMgr, MappingProfiler mappingProfiler, int converterByDestTypeCacheMaxSize,
+                       int superTypesCacheMaxSize) {
+    this(statsMgr, mappingProfiler, converterByDestTypeCacheMaxSize, superTypesCacheMaxSize, null, null);
+  }
+
+  /**
+   * @param classLoader   class loader locating mapping files, null for the one set in the {@link BeanContainer}
+   * @param proxyResolver proxy resolver for mapped objects, null for the one set in the {@link BeanContainer}
+   */
+  public MapperContext(StatisticsManager statsMgr, MappingProfiler mappingProfiler, int converterByDestTypeCacheMaxSize,
+                       int superTypesCacheMaxSize, DozerClassLoader classLoader, DozerProxyResolver proxyResolver) {
+    this(statsMgr, mappingProfiler, Integer.valueOf(converterByDestTypeCacheMaxSize),
+            Integer.valueOf(superTypesCacheMaxSize), classLoader, proxyResolver);
+  }
+
+  private MapperContext(StatisticsManager statsMgr, MappingProfiler mappingProfiler,
+                        Integer converterByDestTypeCacheMaxSize, Integer superTypesCacheMaxSize,
+                        DozerClassLoader classLoader, DozerProxyResolver proxyResolver) {
+    this.statsMgr = statsMgr;
+    this.mappingProfiler = mappingProfiler;
+    this.converterByDestTypeCacheMaxSize = converterByDestTypeCacheMaxSize;
+    this.superTypesCacheMaxSize = superTypesCacheMaxSize;
+    this.classLoader = classLoader;
+    this.proxyResolver = proxyResolver != null ? new CachingProxyResolver(proxyResolver) : null;
+  }
+
+  /**
+   * @return context shared by mappers created without a context
+   */
+  public static MapperContext global() {
+    return GLOBAL;
+  }
+
+  /**
+   * Creates a context with own statistics and profiling, taking cache sizes from the global settings.
+   *
+   * @param statisticsEnabled whether statistics are collected
+   */
+  public static MapperContext isolated(boolean statisticsEnabled) {
+    GlobalSettings globalSettings = GlobalSettings.getInstance();
+    return new MapperContext(new StatisticsManagerImpl(statisticsEnabled), new MappingProfiler(false),
+            globalSettings.getConverterByDestTypeCacheMaxSize(), globalSettings.getSuperTypesCacheMaxSize());
+  }
+
+  public StatisticsManager getStatsMgr() {
+    return statsMgr;
+  }
+
+  public MappingProfiler getMappingProfiler() {
+    return mappingProfiler;
+  }
+
+  public DozerClassLoader getClassLoader() {
+    return classLoader != null ? classLoader : BeanContainer.getInstance().getClassLoader();
+  }
+
+  /**
+   * @return proxy resolver, which is asked only once per class
+   */
+  public CachingProxyResolver getProxyResolver() {
+    return proxyResolver != null ? proxyResolver : BeanContainer.getInstance().getCachingProxyResolver();
+  }
+
+  public boolean isGlobal() {
+    return this == GLOBAL;
+  }
+
+  /**
+   * @return new cache manager holding the mapper caches, counting cache hits in this context
+   */
+  public CacheManager createCacheManager() {
+    GlobalSettings globalSettings = GlobalSettings.getInstance();
+    CacheManager cacheManager = new DozerCacheManager(statsMgr);
+    cacheManager.addCache(DozerCacheType.CONVERTER_BY_DEST_TYPE.name(), converterByDestTypeCacheMaxSize != null
+            ? converterByDestTypeCacheMaxSize : globalSettings.getConverterByDestTypeCacheMaxSize());
+    cacheManager.addCache(DozerCacheType.SUPER_TYPE_CHECK.name(), superTypesCacheMaxSize != null
+            ? superTypesCacheMaxSize : globalSettings.getSuperTypesCacheMaxSize());
+    return cacheManager;
+  }
+
+}
@@ -0,0 +1,148 @@
+/**
+ * Copyright 2005-2013 Dozer Project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.dozer;
+
+import org.dozer.util.MappingUtils;
+
+import java.io.Closeable;
+import java.util.ArrayDeque;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.Queue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+
+/**
+ * Iterator lazily mapping the elements of a source iterator, created by {@link DozerBeanMapper#mapIterator}.
+ * <p/>
+ * Every element is mapped with its own reference tracking, so nothing is retained after an element has been
+ * returned. The source iterator is only ever advanced by the consuming thread. When an executor is given, up to
+ * <code>window</code> elements are read ahead and mapped concurrently, results are still returned in source order.
+ * Closing the iterator cancels the elements read ahead, which is needed when iteration is stopped before the end of
+ * the source.
+ *
+ * @see DozerBeanMapper#mapIterator(Iterator, Class)
+ */
+public final class MappingIterator<T> implements Iterator<T>, Closeable {
+
+  private final Mapper mapper;
+  private final Iterator<?> source;
+  private final Class<T> destinationClass;
+  private final String mapId;
+  private final ExecutorService executor;
+  private final int window;
+  private final Queue<Future<T>> inFlight;
+  private boolean closed;
+
+  MappingIterator(Mapper mapper, Iterator<?> source, Class<T> destinationClass, String mapId) {
+    this(mapper, source, destinationClass, mapId, null, 1);
+  }
+
+  MappingIterator(Mapper mapper, Iterator<?> source, Class<T> destinationClass, String mapId,
+                  ExecutorService executor, int window) {
+    if (source == null) {
+      MappingUtils.throwMappingException("Source iterator should not be null");
+    }
+    if (window < 1) {
+      MappingUtils.throwMappingException("Mapping window should be positive, but was " + window);
+    }
+    this.mapper = mapper;
+    this.source = source;
+    this.destinationClass = destinationClass;
+    this.mapId = mapId;
+    this.executor = executor;
+    this.window = window;
+    this.inFlight = executor == null ? null : new ArrayDeque<Future<T>>(window);
+  }
+
+  public boolean hasNext() {
+    if (closed) {
+      return false;
+    }
+    if (executor == null) {
+      return source.hasNext();
+    }
+    submit();
+    return !inFlight.isEmpty();
+  }
+
+  public T next() {
+    if (closed) {
+      throw new NoSuchElementException();
+    }
+    if (executor == null) {
+      return mapper.map(source.next(), destinationClass, mapId);
+    }
+    submit();
+    Future<T> result = inFlight.poll();
+    if (result == null) {
+      throw new NoSuchElementException();
+    }
+    // the window is refilled on the next call, so that the awaited element counts towards it
+    return await(result);
+  }
+
+  public void remove() {
+    throw new UnsupportedOperationException("Mapped elements can not be removed");
+  }
+
+  /**
+   * Stops the iteration. Elements read ahead and not mapped yet are cancelled, the source iterator is not read any
+   * further.
+   */
+  public void close() {
+    closed = true;
+    if (inFlight != null) {
+      Future<T> pending;
+      while ((pending = inFlight.poll()) != null) {
+        pending.cancel(false);
+      }
+    }
+  }
+
+  private void submit() {
+    while (inFlight.size() < window && source.hasNext()) {
+      final Object element = source.next();
+      inFlight.add(executor.submit(new Callable<T>() {
+        public T call() {
+          return mapper.map(element, destinationClass, mapId);
+        }
+      }));
+    }
+  }
+
+  private T await(Future<T> result) {
+    try {
+      return result.get();
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new MappingException(e);
+    } catch (ExecutionException e) {
+      // like a failed map call, only the failed element is lost and iteration may continue
+      Throwable cause = e.getCause();
+      if (cause instanceof RuntimeException) {
+        throw (RuntimeException) cause;
+      }
+      if (cause instanceof Error) {
+        throw (Error) cause;
+      }
+      throw new MappingException(cause);
+    }
+  }
+
+}
@@ -45,6 +45,7 @@ import org.dozer.classmap.ClassMapBuilder;
 import org.dozer.classmap.ClassMappings;
 import org.dozer.classmap.Configuration;
 import org.dozer.classmap.CopyByReferenceContainer;
+import org.dozer.classmap.LazyLoadingPolicy;
 import org.dozer.classmap.RelationshipType;
 import org.dozer.converters.DateFormatContainer;
 import org.dozer.converters.PrimitiveOrWrapperConverter;
@@ -59,10 +60,13 @@ import org.dozer.fieldmap.ExcludeFieldMap;
 import org.dozer.fieldmap.FieldMap;
 import org.dozer.fieldmap.HintContainer;
 import org.dozer.fieldmap.MapFieldMap;
+import org.dozer.stats.MappingProfiler;
 import org.dozer.stats.StatisticType;
 import org.dozer.stats.StatisticsManager;
+import org.dozer.util.CachingProxyResolver;
 import org.dozer.util.CollectionUtils;
 import org.dozer.util.DozerConstants;
+import org.dozer.util.FieldMappingErrorReporter;
 import org.dozer.util.IteratorUtils;
 import org.dozer.util.LogMsgFactory;
 import org.dozer.util.MappingUtils;
@@ -84,7 +88,7 @@ import org.slf4j.LoggerFactory;
  * @author johnsen.knut-erik
  * @author jose.barragan
  */
-public class MappingProcessor implements Mapper {
+public class MappingProcessor implements ProjectingMapper {
 
   private final Logger log = LoggerFactory.getLogger(MappingProcessor.class);
 
@@ -102,11 +106,26 @@ public class MappingProcessor implements Mapper {
   private final Cache superTypeCache;
   private final PrimitiveOrWrapperConverter primitiveConverter = new PrimitiveOrWrapperConverter();
   private final LogMsgFactory logMsgFactory = new LogMsgFactory();
+  private final MappingProfiler profiler;
+  private final CachingProxyResolver proxyResolver;
+  private final FieldMappingErrorReporter errorReporter;
+
+  // selection applying to the object currently mapped, null maps all fields
+  private FieldSelection fieldSelection;
 
   protected MappingProcessor(ClassMappings classMappings, Configuration globalConfiguration, CacheManager cacheMgr,
                              StatisticsManager statsMgr, List<CustomConverter> customConverterObjects,
                              DozerEventManager eventManager, CustomFieldMapper customFieldMapper,
                              Map<String, CustomConverter> customConverterObjectsWithId) {
+    this(classMappings, globalConfiguration, cacheMgr, statsMgr, customConverterObjects, eventManager, customFieldMapper,
+            customConverterObjectsWithId, new FieldMappingErrorReporter(), MapperContext.global());
+  }
+
+  protected MappingProcessor(ClassMappings classMappings, Configuration globalConfiguration, CacheManager cacheMgr,
+                             StatisticsManager statsMgr, List<CustomConverter> customConverterObjects,
+                             DozerEventManager eventManager, CustomFieldMapper customFieldMapper,
+                             Map<String, CustomConverter> customConverterObjectsWithId,
+                             FieldMappingErrorReporter errorReporter, MapperContext context) {
     this.classMappings = classMappings;
     this.globalConfiguration = globalConfiguration;
     this.statsMgr = statsMgr;
@@ -116,6 +135,9 @@ public class MappingProcessor implements Mapper {
     this.converterByDestTypeCache = cacheMgr.getCache(DozerCacheType.CONVERTER_BY_DEST_TYPE.name());
     this.superTypeCache = cacheMgr.getCache(DozerCacheType.SUPER_TYPE_CHECK.name());
     this.customConverterObjectsWithId = customConverterObjectsWithId;
+    this.errorReporter = errorReporter;
+    this.profiler = context.getMappingProfiler();
+    this.proxyResolver = context.getProxyResolver();
   }
 
   /* Mapper Interface Implementation */
@@ -126,7 +148,7 @@ public class MappingProcessor implements Mapper {
 
   public <T> T map(final Object srcObj, final Class<T> destClass, final String mapId) {
     MappingValidator.validateMappingRequest(srcObj, destClass);
-    return mapGeneral(srcObj, destClass, null, mapId);
+    return mapWithSelection(srcObj, destClass, null, mapId, null);
   }
 
   public void map(final Object srcObj, final Object destObj) {
@@ -135,10 +157,32 @@ public class MappingProcessor implements Mapper {
 
   public void map(final Object srcObj, final Object destObj, final String mapId) {
     MappingValidator.validateMappingRequest(srcObj, destObj);
-    mapGeneral(srcObj, null, destObj, mapId);
+    mapWithSelection(srcObj, null, destObj, mapId, null);
+  }
+
+  public <T> T project(final Object srcObj, final Class<T> destClass, final FieldSelection selection) {
+    MappingValidator.validateMappingRequest(srcObj, destClass);
+    if (selection == null) {
+      MappingUtils.throwMappingException("Field selection should be specified");
+    }
+    return mapWithSelection(srcObj, destClass, null, null, selection);
   }
   /* End of Mapper Interface Implementation */
 
+  /**
+   * Maps with the given selection, restoring the current one afterwards. Custom converters and listeners may call back
+   * into this processor in the middle of a projection, and such nested mappings must not inherit its selection.
+   */
+  private <T> T mapWithSelection(Object srcObj, Class<T> destClass, T destObj, String mapId, FieldSelection selection) {
+    FieldSelection parentSelection = fieldSelection;
+    fieldSelection = selection;
+    try {
+      return mapGeneral(srcObj, destClass, destObj, mapId);
+    } finally {
+      fieldSelection = parentSelection;
+    }
+  }
+
   /**
    * Single point of entry for atomic mapping operations
    *
@@ -150,7 +194,7 @@ public class MappingProcessor implements Mapper {
    * @return new or updated destination object
    */
   private <T> T mapGeneral(Object srcObj, final Class<T> destClass, final T destObj, final String mapId) {
-    srcObj = MappingUtils.deProxy(srcObj);
+    srcObj = proxyResolver.unenhanceObject(srcObj);
 
     Class<T> destType;
     T result;
@@ -244,11 +288,24 @@ public class MappingProcessor implements Mapper {
 	  result = javax.xml.bind.JAXBElement.class.cast(destObj).getValue();
 	}
 
+	if (!profiler.isEnabled()) {
+	  map(classMap, srcObj, result, bypassSuperMappings, new ArrayList<String>(), mapId);
+	  return;
+	}
+
+	long allocatedBefore = profiler.getAllocatedBytes();
+	long start = System.nanoTime();
 	map(classMap, srcObj, result, bypassSuperMappings, new ArrayList<String>(), mapId);
+	long nanos = System.nanoTime() - start;
+	long allocatedBytes = allocatedBefore >= 0 ? profiler.getAllocatedBytes() - allocatedBefore : -1;
+	if (classMap == null) {
+	  classMap = getClassMap(srcObj.getClass(), result.getClass(), mapId);
+	}
+	profiler.recordClassMap(classMap, nanos, allocatedBytes);
   }
 
   private void map(ClassMap classMap, Object srcObj, Object destObj, boolean bypassSuperMappings, List<String> mappedParentFields, String mapId) {
-    srcObj = MappingUtils.deProxy(srcObj);
+    srcObj = proxyResolver.unenhanceObject(srcObj);
 
     // 1596766 - Recursive object mapping issue. Prevent recursive mapping
     // infinite loop. Keep a record of mapped fields
@@ -289,13 +346,36 @@ public class MappingProcessor implements Mapper {
     }
 
     // Perform mappings for each field. Iterate through Fields Maps for this class mapping
-    for (FieldMap fieldMapping : classMap.getFieldMaps()) {
+    FieldSelection selection = fieldSelection;
+    List<FieldMap> fieldMaps = selection == null ? classMap.getFieldMaps() : classMap.getFieldMaps(selection);
+    boolean profiling = profiler.isEnabled();
+    for (FieldMap fieldMapping : fieldMaps) {
       //Bypass field if it has already been mapped as part of super class mappings.
       String key = MappingUtils.getMappedParentFieldKey(destObj, fieldMapping);
       if (mappedParentFields != null && mappedParentFields.contains(key)) {
         continue;
       }
+      if (profiling) {
+        long start = System.nanoTime();
+        mapFieldWithSelection(fieldMapping, srcObj, destObj, selection);
+        profiler.recordFieldMap(fieldMapping, System.nanoTime() - start);
+      } else {
+        mapFieldWithSelection(fieldMapping, srcObj, destObj, selection);
+      }
+    }
+  }
+
+  private void mapFieldWithSelection(FieldMap fieldMapping, Object srcObj, Object destObj, FieldSelection selection) {
+    if (selection == null) {
       mapField(fieldMapping, srcObj, destObj);
+    } else {
+      // nested objects of the field are mapped with the nested part of the selection
+      fieldSelection = selection.select(fieldMapping.getDestFieldName());
+      try {
+        mapField(fieldMapping, srcObj, destObj);
+      } finally {
+        fieldSelection = selection;
+      }
     }
   }
 
@@ -323,6 +403,19 @@ public class MappingProcessor implements Mapper {
       // field was not actually mapped by the custom field mapper), proceed as
       // normal(use Dozer to map the field)
       srcFieldValue = fieldMapping.getSrcFieldValue(srcObj);
+
+      LazyLoadingPolicy lazyLoadingPolicy = fieldMapping.getLazyLoadingPolicy();
+      if (lazyLoadingPolicy != LazyLoadingPolicy.INITIALIZE && srcFieldValue != null) {
+        // the identifier is mapped whether the proxy is loaded or not, so the destination field always gets the same type
+        Object identifier = LazyLoadingPolicy.IDENTIFIER == lazyLoadingPolicy ? proxyResolver.getIdentifier(srcFieldValue) : null;
+        if (identifier != null) {
+          srcFieldValue = identifier;
+        } else if (!proxyResolver.isInitialized(srcFieldValue)) {
+          // leave destination untouched, rather than loading the value
+          return;
+        }
+      }
+
       boolean fieldMapped = false;
       if (customFieldMapper != null) {
         fieldMapped = customFieldMapper.mapField(srcObj, destObj, srcFieldValue, fieldMapping.getClassMap(), fieldMapping);
@@ -342,11 +435,11 @@ public class MappingProcessor implements Mapper {
       statsMgr.increment(StatisticType.FIELD_MAPPING_SUCCESS_COUNT);
 
     } catch (Throwable e) {
-      log.error(logMsgFactory.createFieldMappingErrorMsg(srcObj, fieldMapping, srcFieldValue, destObj), e);
       statsMgr.increment(StatisticType.FIELD_MAPPING_FAILURE_COUNT);
 
       // check error handling policy.
       if (fieldMapping.isStopOnErrors()) {
+        log.error(logMsgFactory.createFieldMappingErrorMsg(srcObj, fieldMapping, srcFieldValue, destObj), e);
         MappingUtils.throwMappingException(e);
       } else {
         // check if any Exceptions should be allowed to be thrown
@@ -354,24 +447,24 @@ public class MappingProcessor implements Mapper {
           Throwable thrownType = ((InvocationTargetException) e.getCause()).getTargetException();
           Class<? extends Throwable> exceptionClass = thrownType.getClass();
           if (fieldMapping.getClassMap().getAllowedExceptions().contains(exceptionClass)) {
+            log.error(logMsgFactory.createFieldMappingErrorMsg(srcObj, fieldMapping, srcFieldValue, destObj), e);
             throw (RuntimeException) thrownType;
           }
         }
+        // ignored failures are usually repeated on every call, so they are aggregated instead of logged one by one
+        errorReporter.report(srcObj, fieldMapping, srcFieldValue, destObj, e);
         statsMgr.increment(StatisticType.FIELD_MAPPING_FAILURE_IGNORED_COUNT);
       }
     }
   }
 
   private void mapFromFieldMap(Object srcObj, Object destObj, Object srcFieldValue, FieldMap fieldMapping) {
-    Class<?> destFieldType;
-    if (fieldMapping instanceof CustomGetSetMethodFieldMap) {
-      try {
-        destFieldType = fieldMapping.getDestFieldWriteMethodParameter(destObj.getClass());
-      } catch (Throwable e) {
-        // try traditional way
-        destFieldType = fieldMapping.getDestFieldType(BuilderUtil.unwrapDestClassFromBuilder(destObj));
-      }
-    } else {
+    Class<?> destFieldType = null;
+    if (fieldMapping instanceof CustomGetSetMethodFieldMap && !(destObj instanceof BeanBuilder)) {
+      destFieldType = fieldMapping.findDestFieldWriteMethodParameter(destObj.getClass());
+    }
+    if (destFieldType == null) {
+      // try traditional way
       destFieldType = fieldMapping.getDestFieldType(BuilderUtil.unwrapDestClassFromBuilder(destObj));
     }
 
@@ -392,7 +485,7 @@ public class MappingProcessor implements Mapper {
       destFieldValue = mapOrRecurseObject(srcObj, srcFieldValue, destFieldType, fieldMapping, destObj);
     } else {
       Class<?> srcFieldClass = srcFieldValue != null ? srcFieldValue.getClass() : fieldMapping.getSrcFieldType(srcObj.getClass());
-      destFieldValue = mapUsingCustomConverter(MappingUtils.loadClass(fieldMapping.getCustomConverter()), srcFieldClass,
+      destFieldValue = mapUsingCustomConverter(fieldMapping.getCustomConverterClass(), srcFieldClass,
           srcFieldValue, destFieldType, destObj, fieldMapping, false);
     }
 
@@ -502,7 +595,7 @@ public class MappingProcessor implements Mapper {
   }
 
   private Object mapCustomObject(FieldMap fieldMap, Object destObj, Class<?> destFieldType, String destFieldName, Object srcFieldValue) {
-    srcFieldValue = MappingUtils.deProxy(srcFieldValue);
+    srcFieldValue = proxyResolver.unenhanceObject(srcFieldValue);
 
     // Custom java bean. Need to make sure that the destination object is not
     // already instantiated.
@@ -556,7 +649,7 @@ public class MappingProcessor implements Mapper {
       Class<?> genericType = fieldMap.getGenericType(BuilderUtil.unwrapDestClassFromBuilder(destObj));
       if (genericType != null) {
         HintContainer destHintContainer = new HintContainer();
-        destHintContainer.setHintName(genericType.getName());
+        destHintContainer.setHint(genericType);
         FieldMap cloneFieldMap = (FieldMap) fieldMap.clone();
         cloneFieldMap.setDestHintContainer(destHintContainer); // should affect only this time as fieldMap is cloned
         fieldMap = cloneFieldMap;
@@ -622,6 +715,8 @@ public class MappingProcessor implements Mapper {
       result = destinationMap;
       if (fieldMap.isRemoveOrphans()) {
         result.clear();
+      } else if (fieldMap.isReuseDestination()) {
+        result.keySet().retainAll(srcMapValue.keySet());
       }
     }
 
@@ -633,6 +728,14 @@ public class MappingProcessor implements Mapper {
         continue;
       }
 
+      if (fieldMap.isReuseDestination()) {
+        Object existing = result.get(srcEntry.getKey());
+        if (existing != null && isReusable(srcEntryValue, existing, existing.getClass(), fieldMap)) {
+          mapToDestObject(null, srcEntryValue, existing, false, fieldMap.getMapId());
+          continue;
+        }
+      }
+
       Object destEntryValue = mapOrRecurseObject(srcObj, srcEntryValue, srcEntryValue.getClass(), fieldMap, destObj);
       Object obj = result.get(srcEntry.getKey());
       if (obj != null && obj.equals(destEntryValue) && fieldMap.isNonCumulativeRelationship()) {
@@ -768,7 +871,8 @@ public class MappingProcessor implements Mapper {
     LinkedHashSet<Object> result = new LinkedHashSet<Object>();
     // don't want to create the set if it already exists.
     Object field = fieldMap.getDestValue(destObj);
-    if (field != null) {
+    // in reuse mode the set is refilled with the source elements only
+    if (field != null && !fieldMap.isReuseDestination()) {
       result.addAll((Collection<?>) field);
     }
     Object destValue;
@@ -834,6 +938,9 @@ public class MappingProcessor implements Mapper {
     // don't want to create the list if it already exists.
     // these maps are special cases which do not fall under what we are looking for
     Object field = fieldMap.getDestValue(destObj);
+    if (fieldMap.isReuseDestination() && field instanceof List) {
+      return refillList(srcObj, fieldMap, srcCollectionValue, destObj, destEntryType, (List<Object>) field);
+    }
     result = prepareDestinationList(srcCollectionValue, field);
 
     Object destValue;
@@ -879,6 +986,68 @@ public class MappingProcessor implements Mapper {
     return result;
   }
 
+  /**
+   * Overwrites the existing destination list position by position. Elements already present at a position are mapped
+   * onto instead of being replaced, surplus elements are removed.
+   */
+  private List<?> refillList(Object srcObj, FieldMap fieldMap, Collection<?> srcCollectionValue, Object destObj,
+                             Class<?> destEntryType, List<Object> result) {
+    CopyByReferenceContainer copyByReferences = globalConfiguration.getCopyByReferences();
+    Class<?> prevDestEntryType = null;
+    int index = 0;
+    for (Object srcValue : srcCollectionValue) {
+      if (destEntryType == null
+              || (fieldMap.getDestHintContainer() != null && fieldMap.getDestHintContainer().hasMoreThanOneHint())) {
+        destEntryType = determineCollectionItemType(fieldMap, destObj, srcValue, prevDestEntryType);
+      }
+      prevDestEntryType = destEntryType;
+
+      Object existing = index < result.size() ? result.get(index) : null;
+      Object destValue;
+      if (existing != null && srcValue != null && destEntryType.isInstance(existing)
+          && isReusable(srcValue, existing, destEntryType, fieldMap)) {
+        destValue = mappedFields.getMappedValue(srcValue, destEntryType, fieldMap.getMapId());
+        if (destValue == null) {
+          mapToDestObject(null, srcValue, existing, false, fieldMap.getMapId());
+          destValue = existing;
+        }
+      } else if (srcValue != null && copyByReferences.contains(srcValue.getClass())) {
+        destValue = srcValue;
+      } else {
+        destValue = mapOrRecurseObject(srcObj, srcValue, destEntryType, fieldMap, destObj);
+      }
+
+      // respect null mappings
+      if (destValue == null && !fieldMap.isDestMapNull()) {
+        continue;
+      }
+      if (index < result.size()) {
+        result.set(index, destValue);
+      } else {
+        result.add(destValue);
+      }
+      index++;
+    }
+    result.subList(index, result.size()).clear();
+    return result;
+  }
+
+  /**
+   * Only data objects, which would otherwise be mapped field by field, are mapped onto an existing instance.
+   */
+  private boolean isReusable(Object srcValue, Object existing, Class<?> destType, FieldMap fieldMap) {
+    Class<?> srcClass = srcValue.getClass();
+    Class<?> existingClass = existing.getClass();
+    if (fieldMap.isCopyByReference() || globalConfiguration.getCopyByReferences().contains(srcClass)
+        || primitiveConverter.accepts(srcClass) || primitiveConverter.accepts(existingClass)
+        || MappingUtils.isSupportedCollection(existingClass) || MappingUtils.isSupportedMap(existingClass)
+        || existingClass.isEnum()) {
+      return false;
+    }
+    return MappingUtils.determineCustomConverter(fieldMap, converterByDestTypeCache,
+        fieldMap.getClassMap().getCustomConverters(), srcClass, destType) == null;
+  }
+
   private Class<?> determineCollectionItemType(FieldMap fieldMap, Object destObj, Object srcValue, Class<?> prevDestEntryType) {
     if (srcValue == null && fieldMap.getDestHintType(destObj.getClass()) != null) {
       // try to get a possible configured dest hint for the dest obj
@@ -984,13 +1153,20 @@ public class MappingProcessor implements Mapper {
 
     long start = System.currentTimeMillis();
 
-    if (converterInstance instanceof MapperAware) {
+    if (converterInstance instanceof MapperAware && !(converterInstance instanceof ContextualCustomConverter)) {
       ((MapperAware) converterInstance).setMapper(this);
     }
 
     // TODO Remove code duplication
     Object result;
-    if (converterInstance instanceof ConfigurableCustomConverter) {
+    if (converterInstance instanceof ContextualCustomConverter) {
+      // nothing is set on the instance, as it may be shared with concurrent mappings
+      ContextualCustomConverter theConverter = (ContextualCustomConverter) converterInstance;
+      ConversionContext context = new ConversionContext(fieldMap != null ? fieldMap.getCustomConverterParam() : null, this,
+          fieldMap);
+      Object existingValue = topLevel ? existingDestFieldValue : getExistingValue(fieldMap, existingDestFieldValue, destFieldClass);
+      result = theConverter.convert(existingValue, srcFieldValue, destFieldClass, srcFieldClass, context);
+    } else if (converterInstance instanceof ConfigurableCustomConverter) {
       ConfigurableCustomConverter theConverter = (ConfigurableCustomConverter) converterInstance;
 
       // Converter could be not configured for this particular case
@@ -1043,7 +1219,11 @@ public class MappingProcessor implements Mapper {
     // of the converter for each conversion
     // TODO : Should we really create it each time?
     if (converterInstance == null) {
-      converterInstance = (CustomConverter) ReflectionUtils.newInstance(customConverterClass);
+      if (fieldMap != null && customConverterClass == fieldMap.getCustomConverterClass()) {
+        converterInstance = fieldMap.createCustomConverter();
+      } else {
+        converterInstance = (CustomConverter) ReflectionUtils.newInstance(customConverterClass);
+      }
     }
     return mapUsingCustomConverterInstance(converterInstance, srcFieldClass, srcFieldValue, destFieldClass, existingDestFieldValue,
         fieldMap, topLevel);
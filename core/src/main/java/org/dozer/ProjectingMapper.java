@@ -0,0 +1,37 @@
+/**
+ * Copyright 2005-2013 Dozer Project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.dozer;
+
+/**
+ * Internal extension of the mapper interface with projections. Kept out of the public {@link Mapper} interface, so
+ * that custom implementations of it do not break. Only intended for internal use.
+ */
+interface ProjectingMapper extends Mapper {
+
+  /**
+   * Constructs new instance of destinationClass and maps only the selected destination fields from source.
+   * Unselected fields are left untouched on both sides.
+   *
+   * @param source
+   * @param destinationClass
+   * @param selection destination field paths to map
+   * @param <T>
+   * @return
+   * @throws MappingException
+   */
+  <T> T project(Object source, Class<T> destinationClass, FieldSelection selection) throws MappingException;
+
+}
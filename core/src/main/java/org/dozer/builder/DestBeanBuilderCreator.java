@@ -18,9 +18,9 @@ package org.dozer.builder;
 import org.dozer.BeanBuilder;
 import org.dozer.factory.BeanCreationDirective;
 
-import java.util.ArrayList;
+import org.dozer.util.PluginRegistry;
+
 import java.util.List;
-import java.util.concurrent.CopyOnWriteArrayList;
 
 /**
  * @author Dmitry Spikhalskiy
@@ -29,13 +29,15 @@ public class DestBeanBuilderCreator {
 
   //elements of this collections should have very specific isApplicable method to avoid application to class,
   //which should be processed by another builder
-  static final List<BeanBuilderCreationStrategy> pluggedStrategies = new ArrayList<BeanBuilderCreationStrategy>();
+  static final PluginRegistry<BeanBuilderCreationStrategy> pluggedStrategies = new PluginRegistry<BeanBuilderCreationStrategy>();
 
   private DestBeanBuilderCreator() {
   }
 
   public static BeanBuilder create(BeanCreationDirective directive) {
-    for (BeanBuilderCreationStrategy strategy : new CopyOnWriteArrayList<BeanBuilderCreationStrategy>(pluggedStrategies)) {
+    List<BeanBuilderCreationStrategy> strategies = pluggedStrategies.getPlugins();
+    for (int i = 0; i < strategies.size(); i++) {
+      BeanBuilderCreationStrategy strategy = strategies.get(i);
       if (strategy.isApplicable(directive)) {
         return strategy.create(directive);
       }
@@ -45,6 +47,6 @@ public class DestBeanBuilderCreator {
   }
 
   public static void addPluggedStrategy(BeanBuilderCreationStrategy beanBuilderCreationStrategy) {
-    pluggedStrategies.add(beanBuilderCreationStrategy);
+    pluggedStrategies.register(beanBuilderCreationStrategy);
   }
 }
@@ -37,6 +37,14 @@ public final class CacheKeyFactory {
     return new CacheKey(srcClass, destClass, mapId);
   }
 
+  public static Class<?> getSrcClass(Object key) {
+    return ((CacheKey) key).srcClass;
+  }
+
+  public static Class<?> getDestClass(Object key) {
+    return ((CacheKey) key).destClass;
+  }
+
   private static class CacheKey {
 
     private Class<?> srcClass;
@@ -21,6 +21,7 @@ import org.dozer.stats.GlobalStatistics;
 import org.dozer.stats.StatisticType;
 import org.dozer.stats.StatisticsManager;
 
+import java.util.ArrayList;
 import java.util.Collection;
 import java.util.LinkedHashMap;
 import java.util.Map;
@@ -38,13 +39,18 @@ public class DozerCache<KeyType, ValueType> implements Cache<KeyType, ValueType>
 
   private final LRUMap cacheMap;
 
-  StatisticsManager statMgr = GlobalStatistics.getInstance().getStatsMgr();
+  final StatisticsManager statMgr;
 
   public DozerCache(final String name, final int maximumSize) {
+    this(name, maximumSize, GlobalStatistics.getInstance().getStatsMgr());
+  }
+
+  public DozerCache(final String name, final int maximumSize, final StatisticsManager statMgr) {
     if (maximumSize < 1) {
       throw new IllegalArgumentException("Dozer cache max size must be greater than 0");
     }
     this.name = name;
+    this.statMgr = statMgr;
     this.cacheMap = new LRUMap(maximumSize); // TODO This should be in Collections.synchronizedMap()
   }
 
@@ -74,14 +80,15 @@ public class DozerCache<KeyType, ValueType> implements Cache<KeyType, ValueType>
     }
   }
 
-  public void addEntries(Collection<CacheEntry<KeyType, ValueType>> entries) {
+  public synchronized void addEntries(Collection<CacheEntry<KeyType, ValueType>> entries) {
     for (CacheEntry<KeyType, ValueType> entry : entries) {
       cacheMap.put(entry.getKey(), entry);
     }
   }
 
-  public Collection<CacheEntry<KeyType, ValueType>> getEntries() {
-    return cacheMap.values();
+  public synchronized Collection<CacheEntry<KeyType, ValueType>> getEntries() {
+    // copied, as entries may be added while the result is iterated
+    return new ArrayList<CacheEntry<KeyType, ValueType>>(cacheMap.values());
   }
 
   public String getName() {
@@ -15,6 +15,8 @@
  */
 package org.dozer.cache;
 
+import org.dozer.stats.GlobalStatistics;
+import org.dozer.stats.StatisticsManager;
 import org.dozer.util.MappingUtils;
 import org.slf4j.LoggerFactory;
 import org.slf4j.Logger;
@@ -36,6 +38,18 @@ public final class DozerCacheManager implements CacheManager {
   private final Logger log = LoggerFactory.getLogger(DozerCacheManager.class);
 
   private final Map<String, Cache> cachesMap = new HashMap<String, Cache>();
+  private final StatisticsManager statsMgr;
+
+  public DozerCacheManager() {
+    this(GlobalStatistics.getInstance().getStatsMgr());
+  }
+
+  /**
+   * @param statsMgr statistics manager counting the hits and misses of caches added by name
+   */
+  public DozerCacheManager(StatisticsManager statsMgr) {
+    this.statsMgr = statsMgr;
+  }
 
   public Collection<Cache> getCaches() {
     return new HashSet<Cache>(cachesMap.values());
@@ -50,7 +64,7 @@ public final class DozerCacheManager implements CacheManager {
   }
 
   public void addCache(String name, int maxElementsInMemory) {
-    addCache(new DozerCache(name, maxElementsInMemory));
+    addCache(new DozerCache(name, maxElementsInMemory, statsMgr));
   }
 
   public void addCache(Cache cache) {
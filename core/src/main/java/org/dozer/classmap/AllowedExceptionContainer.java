@@ -18,6 +18,12 @@ package org.dozer.classmap;
 import org.apache.commons.lang3.builder.ReflectionToStringBuilder;
 import org.apache.commons.lang3.builder.ToStringStyle;
 
+import org.dozer.util.MappingUtils;
+
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.io.Serializable;
 import java.util.ArrayList;
 import java.util.List;
 
@@ -27,14 +33,35 @@ import java.util.List;
  * 
  * @author garsombke.franz
  */
-public class AllowedExceptionContainer {
+public class AllowedExceptionContainer implements Serializable {
+
+  private static final long serialVersionUID = 1L;
 
-  private final List<Class<RuntimeException>> exceptions = new ArrayList<Class<RuntimeException>>();
+  // written by name, so that mapping snapshots do not need to deserialize application classes
+  private transient List<Class<RuntimeException>> exceptions = new ArrayList<Class<RuntimeException>>();
 
   public List<Class<RuntimeException>> getExceptions() {
     return exceptions;
   }
 
+  private void writeObject(ObjectOutputStream out) throws IOException {
+    out.defaultWriteObject();
+    out.writeInt(exceptions.size());
+    for (Class<RuntimeException> exception : exceptions) {
+      out.writeObject(exception.getName());
+    }
+  }
+
+  @SuppressWarnings("unchecked")
+  private void readObject(ObjectInputStream in) throws IOException, ClassNotFoundException {
+    in.defaultReadObject();
+    int size = in.readInt();
+    exceptions = new ArrayList<Class<RuntimeException>>(size);
+    for (int i = 0; i < size; i++) {
+      exceptions.add((Class<RuntimeException>) MappingUtils.loadClass((String) in.readObject()));
+    }
+  }
+
   @Override
   public String toString() {
     return ReflectionToStringBuilder.toString(this, ToStringStyle.MULTI_LINE_STYLE);
@@ -17,13 +17,21 @@ package org.dozer.classmap;
 
 import org.apache.commons.lang3.builder.ToStringBuilder;
 import org.apache.commons.lang3.builder.ToStringStyle;
+import org.dozer.FieldSelection;
 import org.dozer.converters.CustomConverterContainer;
 import org.dozer.fieldmap.FieldMap;
 import org.dozer.util.DozerConstants;
 import org.dozer.util.MappingUtils;
 
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.io.Serializable;
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 
 /**
  * Internal class that represents a class mapping definition. Holds all of the information about a single class mapping.
@@ -34,13 +42,16 @@ import java.util.List;
  * @author tierney.matt
  * 
  */
-public class ClassMap {
+public class ClassMap implements Serializable {
+
+  private static final long serialVersionUID = 1L;
 
   private Configuration globalConfiguration;
   private DozerClass srcClass;
   private DozerClass destClass;
   private List<FieldMap> fieldMaps = new ArrayList<FieldMap>();
-  private List<Class<RuntimeException>> allowedExceptions = new ArrayList<Class<RuntimeException>>();
+  // written by name, so that mapping snapshots do not need to deserialize application classes
+  private transient List<Class<RuntimeException>> allowedExceptions = new ArrayList<Class<RuntimeException>>();
   private MappingDirection type;
   private String dateFormat;
   private String beanFactory;
@@ -49,9 +60,15 @@ public class ClassMap {
   private Boolean wildcard;
   private Boolean stopOnErrors;
   private Boolean trimStrings;
+  private boolean reuseDestination;
   private CustomConverterContainer customConverters;
   private String mapId;
   private RelationshipType relationshipType;
+  private LazyLoadingPolicy lazyLoadingPolicy;
+  private transient volatile ConcurrentMap<FieldSelection, List<FieldMap>> selectedFieldMaps;
+
+  // selections may come from clients, so only the first ones are kept and further ones are pruned on every call
+  static final int MAX_CACHED_SELECTIONS = 100;
 
   public ClassMap(Configuration globalConfiguration) {
     this.globalConfiguration = globalConfiguration;
@@ -61,6 +78,38 @@ public class ClassMap {
     return fieldMaps;
   }
 
+  /**
+   * Returns field maps with selected destination fields only. The pruned list is computed once per selection, for up
+   * to {@value #MAX_CACHED_SELECTIONS} different selections.
+   *
+   * @param selection destination fields to map
+   * @return unmodifiable list of selected field maps
+   */
+  public List<FieldMap> getFieldMaps(FieldSelection selection) {
+    ConcurrentMap<FieldSelection, List<FieldMap>> cache = selectedFieldMaps;
+    if (cache == null) {
+      cache = new ConcurrentHashMap<FieldSelection, List<FieldMap>>();
+      selectedFieldMaps = cache;
+    }
+    List<FieldMap> result = cache.get(selection);
+    if (result == null) {
+      List<FieldMap> selected = new ArrayList<FieldMap>();
+      for (FieldMap fieldMap : fieldMaps) {
+        if (selection.isSelected(fieldMap.getDestFieldName())) {
+          selected.add(fieldMap);
+        }
+      }
+      result = Collections.unmodifiableList(selected);
+      if (cache.size() < MAX_CACHED_SELECTIONS) {
+        List<FieldMap> existing = cache.putIfAbsent(selection, result);
+        if (existing != null) {
+          result = existing;
+        }
+      }
+    }
+    return result;
+  }
+
   public boolean isStopOnErrors() {
     return stopOnErrors != null ? stopOnErrors.booleanValue() : globalConfiguration.getStopOnErrors().booleanValue();
   }
@@ -69,6 +118,18 @@ public class ClassMap {
     this.stopOnErrors = stopOnErrors;
   }
 
+  /**
+   * In reuse mode nested destination objects and collections, which are already present on the destination, are
+   * cleared and refilled in place instead of being replaced by new instances.
+   */
+  public boolean isReuseDestination() {
+    return reuseDestination;
+  }
+
+  public void setReuseDestination(boolean reuseDestination) {
+    this.reuseDestination = reuseDestination;
+  }
+
   public boolean isTrimStrings() {
     return trimStrings != null ? trimStrings.booleanValue() : globalConfiguration.getTrimStrings().booleanValue();
   }
@@ -145,14 +206,17 @@ public class ClassMap {
 
   public void setFieldMaps(List<FieldMap> fieldMaps) {
     this.fieldMaps = fieldMaps;
+    selectedFieldMaps = null;
   }
 
   public void addFieldMapping(FieldMap fieldMap) {
     fieldMaps.add(fieldMap);
+    selectedFieldMaps = null;
   }
 
   public void removeFieldMapping(FieldMap fieldMap) {
     fieldMaps.remove(fieldMap);
+    selectedFieldMaps = null;
   }
 
   public boolean isWildcard() {
@@ -323,6 +387,14 @@ public class ClassMap {
     this.relationshipType = relationshipType;
   }
 
+  public LazyLoadingPolicy getLazyLoadingPolicy() {
+    return lazyLoadingPolicy != null ? lazyLoadingPolicy : LazyLoadingPolicy.INITIALIZE;
+  }
+
+  public void setLazyLoadingPolicy(LazyLoadingPolicy lazyLoadingPolicy) {
+    this.lazyLoadingPolicy = lazyLoadingPolicy;
+  }
+
   public DozerClass getSrcClass() {
     return srcClass;
   }
@@ -331,6 +403,24 @@ public class ClassMap {
     return destClass;
   }
 
+  private void writeObject(ObjectOutputStream out) throws IOException {
+    out.defaultWriteObject();
+    out.writeInt(allowedExceptions.size());
+    for (Class<RuntimeException> exception : allowedExceptions) {
+      out.writeObject(exception.getName());
+    }
+  }
+
+  @SuppressWarnings("unchecked")
+  private void readObject(ObjectInputStream in) throws IOException, ClassNotFoundException {
+    in.defaultReadObject();
+    int size = in.readInt();
+    allowedExceptions = new ArrayList<Class<RuntimeException>>(size);
+    for (int i = 0; i < size; i++) {
+      allowedExceptions.add((Class<RuntimeException>) MappingUtils.loadClass((String) in.readObject()));
+    }
+  }
+
   @Override
   public String toString() {
     return new ToStringBuilder(this, ToStringStyle.MULTI_LINE_STYLE).append("source class", getSrcClassName()).append(
@@ -21,6 +21,9 @@ import org.dozer.classmap.generator.BeanMappingGenerator;
 import org.dozer.classmap.generator.ClassLevelFieldMappingGenerator;
 import org.dozer.classmap.generator.GeneratorUtils;
 import org.dozer.classmap.generator.MappingType;
+import org.dozer.classmap.index.MappingIndex;
+import org.dozer.classmap.index.MappingIndex.AnnotatedMember;
+import org.dozer.classmap.index.MappingIndex.IndexedClass;
 import org.dozer.fieldmap.DozerField;
 import org.dozer.fieldmap.FieldMap;
 import org.dozer.fieldmap.GenericFieldMap;
@@ -33,9 +36,13 @@ import java.beans.PropertyDescriptor;
 import java.lang.reflect.Field;
 import java.lang.reflect.Method;
 import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Map.Entry;
 import java.util.Set;
+import java.util.TreeMap;
 
 /**
  * Internal class for adding implicit field mappings to a ClassMap. Also, builds implicit ClassMap for class mappings
@@ -231,36 +238,59 @@ public final class ClassMapBuilder {
 
     public boolean apply(ClassMap classMap, Configuration configuration) {
       Class<?> srcType = classMap.getSrcClassToMap();
-      PropertyDescriptor[] srcProperties = ReflectionUtils.getPropertyDescriptors(srcType);
-      for (PropertyDescriptor property : srcProperties) {
-        Method readMethod = property.getReadMethod();
-        if (readMethod != null) {
-          Mapping mapping = readMethod.getAnnotation(Mapping.class);
-          String propertyName = property.getName();
-          if (mapping != null) {
-            String pairName = mapping.value().trim();
-            GeneratorUtils.addGenericMapping(MappingType.GETTER_TO_SETTER, classMap, configuration,
-                    propertyName, pairName.isEmpty() ? propertyName : pairName);
-          }
-        }
+      for (AnnotatedMember property : getAnnotatedProperties(srcType)) {
+        GeneratorUtils.addGenericMapping(MappingType.GETTER_TO_SETTER, classMap, configuration,
+                property.getName(), property.getPairName());
       }
 
       Class<?> destType = classMap.getDestClassToMap();
-      PropertyDescriptor[] destProperties = ReflectionUtils.getPropertyDescriptors(destType);
-      for (PropertyDescriptor property : destProperties) {
+      for (AnnotatedMember property : getAnnotatedProperties(destType)) {
+        GeneratorUtils.addGenericMapping(MappingType.GETTER_TO_SETTER, classMap, configuration,
+                property.getPairName(), property.getName());
+      }
+
+      return false;
+    }
+
+    private static List<AnnotatedMember> getAnnotatedProperties(Class<?> type) {
+      List<AnnotatedMember> result = findIndexedProperties(type);
+      if (result != null) {
+        return result;
+      }
+      result = new ArrayList<AnnotatedMember>();
+      PropertyDescriptor[] properties = ReflectionUtils.getPropertyDescriptors(type);
+      for (PropertyDescriptor property : properties) {
         Method readMethod = property.getReadMethod();
         if (readMethod != null) {
           Mapping mapping = readMethod.getAnnotation(Mapping.class);
-          String propertyName = property.getName();
           if (mapping != null) {
-            String pairName = mapping.value().trim();
-            GeneratorUtils.addGenericMapping(MappingType.GETTER_TO_SETTER, classMap, configuration,
-                    pairName.isEmpty() ? propertyName : pairName, propertyName);
+            result.add(new AnnotatedMember(property.getName(), mapping.value().trim()));
           }
         }
       }
+      return result;
+    }
 
-      return false;
+    // annotations of overridden getters are hidden by the overriding ones, properties are sorted like Introspector does
+    private static List<AnnotatedMember> findIndexedProperties(Class<?> type) {
+      if (type.isInterface()) {
+        return null;
+      }
+      Map<String, AnnotatedMember> result = new TreeMap<String, AnnotatedMember>();
+      Set<String> declaredGetters = new HashSet<String>();
+      for (Class<?> current = type; current != null && current.getClassLoader() != null; current = current.getSuperclass()) {
+        IndexedClass indexedClass = MappingIndex.find(current);
+        if (indexedClass == null) {
+          return null;
+        }
+        for (AnnotatedMember property : indexedClass.getProperties()) {
+          if (!declaredGetters.contains(property.getName())) {
+            result.put(property.getName(), property);
+          }
+        }
+        declaredGetters.addAll(indexedClass.getGetters());
+      }
+      return new ArrayList<AnnotatedMember>(result.values());
     }
   }
 
@@ -273,33 +303,42 @@ public final class ClassMapBuilder {
     public boolean apply(ClassMap classMap, Configuration configuration) {
       Class<?> srcType = classMap.getSrcClassToMap();
       do {
-        for (Field field : srcType.getDeclaredFields()) {
-          Mapping mapping = field.getAnnotation(Mapping.class);
-          String fieldName = field.getName();
-          if (mapping != null) {
-            String pairName = mapping.value().trim();
-            GeneratorUtils.addGenericMapping(MappingType.FIELD_TO_FIELD, classMap, configuration,
-                    fieldName, pairName.isEmpty() ? fieldName : pairName);
-          }
+        for (AnnotatedMember field : getAnnotatedFields(srcType)) {
+          GeneratorUtils.addGenericMapping(MappingType.FIELD_TO_FIELD, classMap, configuration,
+                  field.getName(), field.getPairName());
         }
         srcType = srcType.getSuperclass();
       } while (srcType != null);
       
       Class<?> destType = classMap.getDestClassToMap();
       do {
-        for (Field field : destType.getDeclaredFields()) {
-          Mapping mapping = field.getAnnotation(Mapping.class);
-          String fieldName = field.getName();
-          if (mapping != null) {
-            String pairName = mapping.value().trim();
-            GeneratorUtils.addGenericMapping(MappingType.FIELD_TO_FIELD, classMap, configuration,
-                    pairName.isEmpty() ? fieldName : pairName, fieldName);
-          }
+        for (AnnotatedMember field : getAnnotatedFields(destType)) {
+          GeneratorUtils.addGenericMapping(MappingType.FIELD_TO_FIELD, classMap, configuration,
+                  field.getPairName(), field.getName());
         }
         destType = destType.getSuperclass();
       } while (destType != null);
       
       return false;
     }
+
+    private static List<AnnotatedMember> getAnnotatedFields(Class<?> type) {
+      if (type.getClassLoader() == null) {
+        // JDK classes can not carry Dozer annotations
+        return Collections.emptyList();
+      }
+      IndexedClass indexedClass = MappingIndex.find(type);
+      if (indexedClass != null) {
+        return indexedClass.getFields();
+      }
+      List<AnnotatedMember> result = new ArrayList<AnnotatedMember>();
+      for (Field field : type.getDeclaredFields()) {
+        Mapping mapping = field.getAnnotation(Mapping.class);
+        if (mapping != null) {
+          result.add(new AnnotatedMember(field.getName(), mapping.value().trim()));
+        }
+      }
+      return result;
+    }
   }
-}
\ No newline at end of file
+}
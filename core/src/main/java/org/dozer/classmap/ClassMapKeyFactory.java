@@ -18,6 +18,8 @@ package org.dozer.classmap;
 import org.apache.commons.lang3.StringUtils;
 import org.dozer.util.MappingUtils;
 
+import java.io.Serializable;
+
 /**
  * Internal class that generates a unique class mapping key. Only intended for internal use.
  * 
@@ -25,7 +27,9 @@ import org.dozer.util.MappingUtils;
  * @author garsombke.franz
  * @author dmitry.buzdin
  */
-public final class ClassMapKeyFactory {
+public final class ClassMapKeyFactory implements Serializable {
+
+  private static final long serialVersionUID = 1L;
 
   public ClassMapKeyFactory() {
   }
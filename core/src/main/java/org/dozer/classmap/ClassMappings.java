@@ -18,6 +18,10 @@ package org.dozer.classmap;
 import org.apache.commons.lang3.StringUtils;
 import org.dozer.util.MappingUtils;
 
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.io.Serializable;
 import java.lang.reflect.Modifier;
 import java.util.HashMap;
 import java.util.Map;
@@ -32,10 +36,12 @@ import java.util.concurrent.ConcurrentHashMap;
  * @author tierney.matt
  * @author garsombke.franz
  */
-public class ClassMappings {
+public class ClassMappings implements Serializable {
 
-  // Cache key --> Mapping Structure
-  private Map<String, ClassMap> classMappings = new ConcurrentHashMap<String, ClassMap>();
+  private static final long serialVersionUID = 1L;
+
+  // Cache key --> Mapping Structure, written as plain entries to keep the map internals out of mapping snapshots
+  private transient Map<String, ClassMap> classMappings = new ConcurrentHashMap<String, ClassMap>();
   private ClassMapKeyFactory keyFactory;
 
   public ClassMappings() {
@@ -162,4 +168,22 @@ public class ClassMappings {
     return Modifier.isAbstract(destClass.getModifiers());
   }
 
+  private void writeObject(ObjectOutputStream out) throws IOException {
+    out.defaultWriteObject();
+    out.writeInt(classMappings.size());
+    for (Entry<String, ClassMap> entry : classMappings.entrySet()) {
+      out.writeObject(entry.getKey());
+      out.writeObject(entry.getValue());
+    }
+  }
+
+  private void readObject(ObjectInputStream in) throws IOException, ClassNotFoundException {
+    in.defaultReadObject();
+    int size = in.readInt();
+    classMappings = new ConcurrentHashMap<String, ClassMap>(size);
+    for (int i = 0; i < size; i++) {
+      classMappings.put((String) in.readObject(), (ClassMap) in.readObject());
+    }
+  }
+
 }
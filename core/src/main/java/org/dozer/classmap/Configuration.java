@@ -21,6 +21,8 @@ import org.apache.commons.lang3.builder.ToStringStyle;
 import org.dozer.converters.CustomConverterContainer;
 import org.dozer.util.DozerConstants;
 
+import java.io.Serializable;
+
 /**
  * Internal class that represents the configuration block specified in the mapping xml file(s). Only intended for
  * internal use.
@@ -30,7 +32,9 @@ import org.dozer.util.DozerConstants;
  * @author tierney.matt
  * 
  */
-public class Configuration {
+public class Configuration implements Serializable {
+
+  private static final long serialVersionUID = 1L;
 
   private Boolean wildcard;
   private Boolean stopOnErrors;
@@ -19,6 +19,9 @@ import org.apache.commons.lang3.StringUtils;
 import org.apache.commons.lang3.builder.ReflectionToStringBuilder;
 import org.apache.commons.lang3.builder.ToStringStyle;
 
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.Serializable;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 
@@ -29,12 +32,15 @@ import java.util.regex.Pattern;
  * @author sullins.ben
  * @author tierney.matt
  */
-public class CopyByReference {
+public class CopyByReference implements Serializable {
+
+  private static final long serialVersionUID = 1L;
 
     private static final String WILDCARD = "*";
     
     private String mask;
-    private Pattern pattern;
+    // compiled again from the mask after deserialization
+    private transient Pattern pattern;
 
     public CopyByReference(String mask) {
         this.mask = mask;
@@ -61,6 +67,11 @@ public class CopyByReference {
         return matcher.matches();
     }
 
+    private void readObject(ObjectInputStream in) throws IOException, ClassNotFoundException {
+        in.defaultReadObject();
+        pattern = compilePattern(mask);
+    }
+
     @Override
     public String toString() {
         return ReflectionToStringBuilder.toString(this, ToStringStyle.MULTI_LINE_STYLE);
@@ -18,6 +18,7 @@ package org.dozer.classmap;
 import org.apache.commons.lang3.builder.ReflectionToStringBuilder;
 import org.apache.commons.lang3.builder.ToStringStyle;
 
+import java.io.Serializable;
 import java.util.ArrayList;
 import java.util.List;
 
@@ -28,7 +29,9 @@ import java.util.List;
  * @author sullins.ben
  * @author tierney.matt
  */
-public class CopyByReferenceContainer {
+public class CopyByReferenceContainer implements Serializable {
+
+  private static final long serialVersionUID = 1L;
 
   private List<CopyByReference> copyByReferences = new ArrayList<CopyByReference>();
 
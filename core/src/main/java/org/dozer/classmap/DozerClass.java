@@ -20,6 +20,11 @@ import org.apache.commons.lang3.builder.ReflectionToStringBuilder;
 import org.apache.commons.lang3.builder.ToStringStyle;
 import org.dozer.util.MappingUtils;
 
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.io.Serializable;
+
 /**
  * Only intended for internal use.
  * 
@@ -28,10 +33,13 @@ import org.dozer.util.MappingUtils;
  * @author tierney.matt
  * 
  */
-public class DozerClass {
+public class DozerClass implements Serializable {
+
+  private static final long serialVersionUID = 1L;
 
   private String name;
-  private Class<?> classToMap;
+  // written by name, so that mapping snapshots do not need to deserialize application classes
+  private transient Class<?> classToMap;
   private String beanFactory;
   private String factoryBeanId;
   private String mapGetMethod;
@@ -139,6 +147,17 @@ public class DozerClass {
     this.accessible = accessible;
   }
 
+  private void writeObject(ObjectOutputStream out) throws IOException {
+    out.defaultWriteObject();
+    out.writeObject(classToMap != null ? classToMap.getName() : null);
+  }
+
+  private void readObject(ObjectInputStream in) throws IOException, ClassNotFoundException {
+    in.defaultReadObject();
+    String className = (String) in.readObject();
+    classToMap = className != null ? MappingUtils.loadClass(className) : null;
+  }
+
   @Override
   public String toString() {
     return ReflectionToStringBuilder.toString(this, ToStringStyle.MULTI_LINE_STYLE);
@@ -0,0 +1,77 @@
+/**
+ * Copyright 2005-2013 Dozer Project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.dozer.classmap;
+
+import org.apache.commons.lang3.StringUtils;
+
+import java.io.Serializable;
+
+/**
+ * Decides what happens to source values, which are lazy proxies or collections not loaded yet. Requires a proxy
+ * resolver implementing {@link org.dozer.util.LazyLoadingProxyResolver}, otherwise all values are treated as loaded.
+ */
+public final class LazyLoadingPolicy implements Serializable {
+
+  private static final long serialVersionUID = 1L;
+
+  private static final String INITIALIZE_VALUE = "initialize";
+  private static final String SKIP_VALUE = "skip";
+  private static final String IDENTIFIER_VALUE = "identifier";
+
+  /**
+   * Values are loaded and mapped as usual.
+   */
+  public static final LazyLoadingPolicy INITIALIZE = new LazyLoadingPolicy(INITIALIZE_VALUE);
+  /**
+   * Values not loaded yet are not mapped, the destination field is left untouched.
+   */
+  public static final LazyLoadingPolicy SKIP = new LazyLoadingPolicy(SKIP_VALUE);
+  /**
+   * Identifier of a proxy is mapped instead of the proxy, whether it has been loaded or not. Other values not loaded
+   * yet, like collections, are skipped.
+   */
+  public static final LazyLoadingPolicy IDENTIFIER = new LazyLoadingPolicy(IDENTIFIER_VALUE);
+
+  private final String value;
+
+  private LazyLoadingPolicy(String value) {
+    this.value = value;
+  }
+
+  public static LazyLoadingPolicy valueOf(String lazyLoadingPolicy) {
+    if (INITIALIZE_VALUE.equals(lazyLoadingPolicy)) {
+      return INITIALIZE;
+    } else if (SKIP_VALUE.equals(lazyLoadingPolicy)) {
+      return SKIP;
+    } else if (IDENTIFIER_VALUE.equals(lazyLoadingPolicy)) {
+      return IDENTIFIER;
+    } else if (StringUtils.isEmpty(lazyLoadingPolicy)) {
+      return null;
+    }
+    throw new IllegalStateException("lazy-loading should be initialize, skip or identifier. " + lazyLoadingPolicy);
+  }
+
+  @Override
+  public String toString() {
+    return value;
+  }
+
+  // keeps the constants unique, as they are compared by identity
+  private Object readResolve() {
+    return valueOf(value);
+  }
+
+}
@@ -17,10 +17,14 @@ package org.dozer.classmap;
 
 import org.apache.commons.lang3.StringUtils;
 
+import java.io.Serializable;
+
 /**
  * @author dmitry.buzdin
  */
-public final class MappingDirection {
+public final class MappingDirection implements Serializable {
+
+  private static final long serialVersionUID = 1L;
 
   private static final String BI_DIRECTIONAL_VALUE = "bi-directional";
   private static final String ONE_WAY_VALUE = "one-way";
@@ -28,11 +32,17 @@ public final class MappingDirection {
   /**
    * Default mapping approach when a -> b -> a' then a == a'
    */
-  public static final MappingDirection BI_DIRECTIONAL = new MappingDirection();
+  public static final MappingDirection BI_DIRECTIONAL = new MappingDirection(BI_DIRECTIONAL_VALUE);
   /**
    * Unidirectional mapping when a -> b -> a' then a != a'
    */
-  public static final MappingDirection ONE_WAY = new MappingDirection();
+  public static final MappingDirection ONE_WAY = new MappingDirection(ONE_WAY_VALUE);
+
+  private final String value;
+
+  private MappingDirection(String value) {
+    this.value = value;
+  }
 
   public static MappingDirection valueOf(String mappingDirection) {
     if (BI_DIRECTIONAL_VALUE.equals(mappingDirection)) {
@@ -44,5 +54,10 @@ public final class MappingDirection {
     }
     throw new IllegalStateException("type should be bi-directional or one-way. " + mappingDirection);
   }
+
+  // keeps the constants unique, as they are compared by identity
+  private Object readResolve() {
+    return valueOf(value);
+  }
   
 }
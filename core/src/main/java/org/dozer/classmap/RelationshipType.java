@@ -17,18 +17,25 @@ package org.dozer.classmap;
 
 import org.apache.commons.lang3.StringUtils;
 
+import java.io.Serializable;
+
 /**
  * @author Dmitry Buzdin
  */
-public final class RelationshipType {
+public final class RelationshipType implements Serializable {
 
-  public static final RelationshipType CUMULATIVE = new RelationshipType();
-  public static final RelationshipType NON_CUMULATIVE = new RelationshipType();
+  private static final long serialVersionUID = 1L;
 
   private static final String CUMULATIVE_VALUE = "cumulative";
   private static final String NON_CUMULATIVE_VALUE = "non-cumulative";
 
-  private RelationshipType() {
+  public static final RelationshipType CUMULATIVE = new RelationshipType(CUMULATIVE_VALUE);
+  public static final RelationshipType NON_CUMULATIVE = new RelationshipType(NON_CUMULATIVE_VALUE);
+
+  private final String value;
+
+  private RelationshipType(String value) {
+    this.value = value;
   }
 
   public static RelationshipType valueOf(String relationshipType) {
@@ -42,4 +49,9 @@ public final class RelationshipType {
     throw new IllegalStateException("relationship-type should be cumulative or non-cumulative. " + relationshipType);
   }
 
+  // keeps the constants unique, as they are compared by identity
+  private Object readResolve() {
+    return valueOf(value);
+  }
+
 }
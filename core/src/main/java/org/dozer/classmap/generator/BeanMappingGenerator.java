@@ -19,22 +19,26 @@ import org.dozer.classmap.ClassMap;
 import org.dozer.classmap.ClassMapBuilder;
 import org.dozer.classmap.Configuration;
 import org.dozer.util.CollectionUtils;
+import org.dozer.util.PluginRegistry;
 
-import java.util.ArrayList;
-import java.util.List;
 import java.util.Set;
-import java.util.concurrent.CopyOnWriteArrayList;
 
 /**
 * @author Dmitry Spikhalskiy
 */
 public class BeanMappingGenerator implements ClassMapBuilder.ClassMappingGenerator {
 
-  static final List<BeanFieldsDetector> pluggedFieldDetectors = new ArrayList<BeanFieldsDetector>();
+  static final PluginRegistry<BeanFieldsDetector> pluggedFieldDetectors = new PluginRegistry<BeanFieldsDetector>();
 
-  static final List<BeanFieldsDetector> availableFieldDetectors = new ArrayList<BeanFieldsDetector>() {{
-    add(new JavaBeanFieldsDetector());
-  }};
+  static final BeanFieldsDetector[] availableFieldDetectors = new BeanFieldsDetector[] {
+    new JavaBeanFieldsDetector()
+  };
+
+  private static final PluginRegistry.Matcher<BeanFieldsDetector> ACCEPTS = new PluginRegistry.Matcher<BeanFieldsDetector>() {
+    public boolean accepts(BeanFieldsDetector detector, Class<?> type) {
+      return detector.accepts(type);
+    }
+  };
 
   public boolean accepts(ClassMap classMap) {
     return true;
@@ -64,20 +68,16 @@ public class BeanMappingGenerator implements ClassMapBuilder.ClassMappingGenerat
   }
 
   private static BeanFieldsDetector getAcceptsFieldsDetector(Class<?> clazz) {
-    BeanFieldsDetector detector = getAcceptsFieldDetector(clazz, pluggedFieldDetectors);
-    if (detector == null) detector = getAcceptsFieldDetector(clazz, availableFieldDetectors);
-    return detector;
-  }
-
-  private static BeanFieldsDetector getAcceptsFieldDetector(Class<?> clazz, List<BeanFieldsDetector> detectors) {
-    for (BeanFieldsDetector detector : new CopyOnWriteArrayList<BeanFieldsDetector>(detectors)) {
-      if (detector.accepts(clazz)) return detector;
+    BeanFieldsDetector detector = pluggedFieldDetectors.resolve(clazz, ACCEPTS);
+    if (detector != null) return detector;
+    for (BeanFieldsDetector availableDetector : availableFieldDetectors) {
+      if (availableDetector.accepts(clazz)) return availableDetector;
     }
     return null;
   }
 
   public static void addPluggedFieldDetector(BeanFieldsDetector protobufBeanFieldsDetector) {
-    pluggedFieldDetectors.add(protobufBeanFieldsDetector);
+    pluggedFieldDetectors.register(protobufBeanFieldsDetector);
   }
 
   protected interface BeanFieldsDetector {
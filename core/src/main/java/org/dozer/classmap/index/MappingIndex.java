@@ -0,0 +1,248 @@
+/**
+ * Copyright 2005-2013 Dozer Project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.dozer.classmap.index;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.net.URL;
+import java.security.CodeSource;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Enumeration;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.WeakHashMap;
+
+/**
+ * Internal class that reads the compile time index of {@link org.dozer.Mapping} annotated members written by
+ * {@link MappingIndexProcessor}. Only intended for internal use.
+ * <p/>
+ * The index lists every class compiled with the processor, so that annotation lookups for those classes do not need
+ * reflection. Classes which are not in the index are reported as unknown and have to be inspected at runtime. An index
+ * only applies to classes loaded from the jar or directory containing it, so entries left behind for classes which are
+ * now loaded from elsewhere on the class path are not used.
+ */
+public final class MappingIndex {
+
+  private static final Logger log = LoggerFactory.getLogger(MappingIndex.class);
+
+  public static final String RESOURCE = "META-INF/dozer/mapping-index";
+
+  static final String CLASS = "class";
+  static final String FIELD = "field";
+  static final String PROPERTY = "property";
+  static final String GETTER = "getter";
+  static final String SEPARATOR = "\t";
+
+  private static final Map<ClassLoader, Map<String, Map<String, IndexedClass>>> indexes =
+      new WeakHashMap<ClassLoader, Map<String, Map<String, IndexedClass>>>();
+
+  private MappingIndex() {
+  }
+
+  /**
+   * Looks up the annotated members declared by the given class.
+   *
+   * @param type class to look up
+   * @return indexed members or null if the class was not compiled with the index processor
+   */
+  public static IndexedClass find(Class<?> type) {
+    ClassLoader classLoader = type.getClassLoader();
+    if (classLoader == null) {
+      return null;
+    }
+    Map<String, Map<String, IndexedClass>> index = getIndex(classLoader);
+    if (index.isEmpty()) {
+      return null;
+    }
+    String location = getCodeLocation(type);
+    Map<String, IndexedClass> classes = location != null ? index.get(location) : null;
+    return classes != null ? classes.get(type.getName()) : null;
+  }
+
+  private static Map<String, Map<String, IndexedClass>> getIndex(ClassLoader classLoader) {
+    synchronized (indexes) {
+      Map<String, Map<String, IndexedClass>> result = indexes.get(classLoader);
+      if (result == null) {
+        result = load(classLoader);
+        indexes.put(classLoader, result);
+      }
+      return result;
+    }
+  }
+
+  /**
+   * @return indexed classes by the location of the jar or directory they were found in
+   */
+  static Map<String, Map<String, IndexedClass>> load(ClassLoader classLoader) {
+    Map<String, Map<String, IndexedClass>> result = new HashMap<String, Map<String, IndexedClass>>();
+    try {
+      Enumeration<URL> resources = classLoader.getResources(RESOURCE);
+      while (resources.hasMoreElements()) {
+        URL url = resources.nextElement();
+        String location = getIndexLocation(url);
+        Map<String, IndexedClass> classes = result.get(location);
+        if (classes == null) {
+          classes = new HashMap<String, IndexedClass>();
+          result.put(location, classes);
+        }
+        try {
+          read(url.openStream(), classes);
+        } catch (IOException e) {
+          log.warn("Could not read mapping index [" + url + "], annotations are looked up at runtime", e);
+        }
+      }
+    } catch (IOException e) {
+      log.warn("Could not look up mapping indexes, annotations are looked up at runtime", e);
+    }
+    return result.isEmpty() ? Collections.<String, Map<String, IndexedClass>>emptyMap() : result;
+  }
+
+  /**
+   * @return location of the jar or directory holding the given index, e.g. jar:file:/lib/beans.jar!/
+   */
+  static String getIndexLocation(URL index) {
+    String url = index.toExternalForm();
+    return url.endsWith(RESOURCE) ? url.substring(0, url.length() - RESOURCE.length()) : url;
+  }
+
+  /**
+   * @return location of the jar or directory the class was loaded from, in the form of {@link #getIndexLocation}, or
+   *         null if it is not known
+   */
+  static String getCodeLocation(Class<?> type) {
+    try {
+      CodeSource codeSource = type.getProtectionDomain().getCodeSource();
+      URL location = codeSource != null ? codeSource.getLocation() : null;
+      return location != null ? getCodeLocation(location) : null;
+    } catch (SecurityException e) {
+      return null;
+    }
+  }
+
+  static String getCodeLocation(URL codeSource) {
+    String url = codeSource.toExternalForm();
+    // directories end with a slash, anything else is an archive
+    return url.endsWith("/") ? url : "jar:" + url + "!/";
+  }
+
+  static void read(InputStream in, Map<String, IndexedClass> result) throws IOException {
+    Map<String, IndexedClass> classes = new HashMap<String, IndexedClass>();
+    BufferedReader reader = new BufferedReader(new InputStreamReader(in, "UTF-8"));
+    try {
+      IndexedClass current = null;
+      String line;
+      while ((line = reader.readLine()) != null) {
+        if (line.length() == 0 || line.startsWith("#")) {
+          continue;
+        }
+        String[] tokens = line.split(SEPARATOR, -1);
+        String kind = tokens[0];
+        if (CLASS.equals(kind)) {
+          current = new IndexedClass();
+          classes.put(tokens[1], current);
+        } else if (current == null) {
+          throw new IOException("Member declared before class: " + line);
+        } else if (FIELD.equals(kind)) {
+          current.fields.add(new AnnotatedMember(tokens[1], tokens[2]));
+        } else if (PROPERTY.equals(kind)) {
+          current.getters.add(tokens[1]);
+          current.properties.add(new AnnotatedMember(tokens[1], tokens[2]));
+        } else if (GETTER.equals(kind)) {
+          current.getters.add(tokens[1]);
+        } else {
+          throw new IOException("Unknown index entry: " + line);
+        }
+      }
+    } catch (ArrayIndexOutOfBoundsException e) {
+      throw new IOException("Malformed index entry");
+    } finally {
+      reader.close();
+    }
+    // a class listed by several indexes of the same location is taken from the first one
+    for (Map.Entry<String, IndexedClass> entry : classes.entrySet()) {
+      if (!result.containsKey(entry.getKey())) {
+        result.put(entry.getKey(), entry.getValue());
+      }
+    }
+  }
+
+  /**
+   * Members of one class, in declaration order. Superclass members are indexed with their own class.
+   */
+  public static final class IndexedClass {
+
+    private final List<AnnotatedMember> fields = new ArrayList<AnnotatedMember>();
+    private final List<AnnotatedMember> properties = new ArrayList<AnnotatedMember>();
+    private final List<String> getters = new ArrayList<String>();
+
+    IndexedClass() {
+    }
+
+    /**
+     * @return annotated declared fields
+     */
+    public List<AnnotatedMember> getFields() {
+      return fields;
+    }
+
+    /**
+     * @return bean properties with an annotated getter declared by this class
+     */
+    public List<AnnotatedMember> getProperties() {
+      return properties;
+    }
+
+    /**
+     * @return names of all bean properties with a getter declared by this class, annotated or not
+     */
+    public List<String> getGetters() {
+      return getters;
+    }
+  }
+
+  /**
+   * Annotated field or bean property together with the trimmed annotation value.
+   */
+  public static final class AnnotatedMember {
+
+    private final String name;
+    private final String pairName;
+
+    public AnnotatedMember(String name, String pairName) {
+      this.name = name;
+      this.pairName = pairName;
+    }
+
+    public String getName() {
+      return name;
+    }
+
+    /**
+     * @return name of the mapped member in the other class, equal to the own name if the annotation has no value
+     */
+    public String getPairName() {
+      return pairName.length() == 0 ? name : pairName;
+    }
+  }
+
+}
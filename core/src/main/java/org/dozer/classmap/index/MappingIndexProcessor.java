@@ -0,0 +1,164 @@
+/**
+ * Copyright 2005-2013 Dozer Project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.dozer.classmap.index;
+
+import org.dozer.Mapping;
+
+import javax.annotation.processing.AbstractProcessor;
+import javax.annotation.processing.RoundEnvironment;
+import javax.annotation.processing.SupportedAnnotationTypes;
+import javax.lang.model.SourceVersion;
+import javax.lang.model.element.Element;
+import javax.lang.model.element.ElementKind;
+import javax.lang.model.element.ExecutableElement;
+import javax.lang.model.element.Modifier;
+import javax.lang.model.element.TypeElement;
+import javax.lang.model.type.TypeKind;
+import javax.tools.Diagnostic;
+import javax.tools.FileObject;
+import javax.tools.StandardLocation;
+import java.beans.Introspector;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.PrintWriter;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.TreeSet;
+
+/**
+ * Optional annotation processor writing an index of {@link Mapping} annotated fields and getters of all compiled
+ * classes to {@link MappingIndex#RESOURCE}. With the index on the class path, annotation mappings of indexed classes
+ * are discovered without reflection.
+ * <p/>
+ * The processor is not registered as a service, it has to be enabled explicitly, e.g. with
+ * <code>-processor org.dozer.classmap.index.MappingIndexProcessor</code>. The index covers the classes of one
+ * compilation, classes compiled without the processor are inspected at runtime as before.
+ */
+@SupportedAnnotationTypes("*")
+public class MappingIndexProcessor extends AbstractProcessor {
+
+  private final Map<String, List<String>> entries = new TreeMap<String, List<String>>();
+
+  @Override
+  public SourceVersion getSupportedSourceVersion() {
+    return SourceVersion.latestSupported();
+  }
+
+  @Override
+  public boolean process(Set<? extends TypeElement> annotations, RoundEnvironment roundEnv) {
+    if (roundEnv.processingOver()) {
+      write();
+    } else {
+      for (Element element : roundEnv.getRootElements()) {
+        if (element.getKind().isClass() || element.getKind().isInterface()) {
+          index((TypeElement) element);
+        }
+      }
+    }
+    // other processors may handle the same annotations
+    return false;
+  }
+
+  private void index(TypeElement type) {
+    List<String> members = new ArrayList<String>();
+    Set<String> getters = new TreeSet<String>();
+    Map<String, String> annotatedGetters = new TreeMap<String, String>();
+    for (Element member : type.getEnclosedElements()) {
+      Mapping mapping = member.getAnnotation(Mapping.class);
+      if (member.getKind() == ElementKind.FIELD) {
+        if (mapping != null) {
+          members.add(line(MappingIndex.FIELD, member.getSimpleName().toString(), mapping.value().trim()));
+        }
+      } else if (member.getKind() == ElementKind.METHOD) {
+        String propertyName = getPropertyName((ExecutableElement) member);
+        if (propertyName != null) {
+          getters.add(propertyName);
+          if (mapping != null) {
+            annotatedGetters.put(propertyName, mapping.value().trim());
+          }
+        }
+      } else if (member.getKind().isClass() || member.getKind().isInterface()) {
+        index((TypeElement) member);
+      }
+    }
+    for (String getter : getters) {
+      String pairName = annotatedGetters.get(getter);
+      if (pairName == null) {
+        members.add(line(MappingIndex.GETTER, getter));
+      } else {
+        members.add(line(MappingIndex.PROPERTY, getter, pairName));
+      }
+    }
+    entries.put(processingEnv.getElementUtils().getBinaryName(type).toString(), members);
+  }
+
+  // same rules as java.beans.Introspector applies to read methods
+  private static String getPropertyName(ExecutableElement method) {
+    Set<Modifier> modifiers = method.getModifiers();
+    if (!modifiers.contains(Modifier.PUBLIC) || modifiers.contains(Modifier.STATIC) || !method.getParameters().isEmpty()) {
+      return null;
+    }
+    String name = method.getSimpleName().toString();
+    TypeKind returnType = method.getReturnType().getKind();
+    if (name.startsWith("get") && name.length() > 3 && returnType != TypeKind.VOID) {
+      return Introspector.decapitalize(name.substring(3));
+    }
+    if (name.startsWith("is") && name.length() > 2 && returnType == TypeKind.BOOLEAN) {
+      return Introspector.decapitalize(name.substring(2));
+    }
+    return null;
+  }
+
+  private static String line(String... tokens) {
+    StringBuilder result = new StringBuilder();
+    for (String token : tokens) {
+      if (result.length() > 0) {
+        result.append(MappingIndex.SEPARATOR);
+      }
+      result.append(token);
+    }
+    return result.toString();
+  }
+
+  private void write() {
+    if (entries.isEmpty()) {
+      return;
+    }
+    PrintWriter writer = null;
+    try {
+      FileObject resource = processingEnv.getFiler().createResource(StandardLocation.CLASS_OUTPUT, "", MappingIndex.RESOURCE);
+      writer = new PrintWriter(new OutputStreamWriter(resource.openOutputStream(), "UTF-8"));
+      writer.println("# Generated by " + getClass().getName());
+      for (Map.Entry<String, List<String>> entry : entries.entrySet()) {
+        writer.println(line(MappingIndex.CLASS, entry.getKey()));
+        for (String member : entry.getValue()) {
+          writer.println(member);
+        }
+      }
+    } catch (IOException e) {
+      processingEnv.getMessager().printMessage(Diagnostic.Kind.WARNING, "Could not write Dozer mapping index: " + e);
+    } finally {
+      if (writer != null) {
+        writer.close();
+      }
+    }
+    entries.clear();
+  }
+
+}
@@ -15,6 +15,7 @@
  */
 package org.dozer.config;
 
+import org.dozer.util.CachingProxyResolver;
 import org.dozer.util.DefaultClassLoader;
 import org.dozer.util.DefaultProxyResolver;
 import org.dozer.util.DozerClassLoader;
@@ -37,6 +38,7 @@ public class BeanContainer {
 
   DozerClassLoader classLoader = new DefaultClassLoader(getClass().getClassLoader());
   DozerProxyResolver proxyResolver = new DefaultProxyResolver();
+  CachingProxyResolver cachingProxyResolver = new CachingProxyResolver(proxyResolver);
   ElementReader elementReader = new SimpleElementReader();
   ELEngine elEngine;
 
@@ -54,6 +56,14 @@ public class BeanContainer {
 
   public void setProxyResolver(DozerProxyResolver proxyResolver) {
     this.proxyResolver = proxyResolver;
+    this.cachingProxyResolver = new CachingProxyResolver(proxyResolver);
+  }
+
+  /**
+   * @return configured proxy resolver, which is asked only once per class
+   */
+  public CachingProxyResolver getCachingProxyResolver() {
+    return cachingProxyResolver;
   }
 
   public ElementReader getElementReader() {
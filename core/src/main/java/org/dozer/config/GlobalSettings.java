@@ -47,10 +47,14 @@ public class GlobalSettings {
 
   private String loadedByFileName;
   private boolean statisticsEnabled = DozerConstants.DEFAULT_STATISTICS_ENABLED;
+  private boolean profilingEnabled = DozerConstants.DEFAULT_PROFILING_ENABLED;
   private int converterByDestTypeCacheMaxSize = DozerConstants.DEFAULT_CONVERTER_BY_DEST_TYPE_CACHE_MAX_SIZE;
   private int superTypesCacheMaxSize = DozerConstants.DEFAULT_SUPER_TYPE_CHECK_CACHE_MAX_SIZE;
   private boolean autoregisterJMXBeans = DozerConstants.DEFAULT_AUTOREGISTER_JMX_BEANS;
   private boolean elEnabled = DozerConstants.DEFAULT_EL_ENABLED;
+  private int mappingLoaderThreads = DozerConstants.DEFAULT_MAPPING_LOADER_THREADS;
+  private boolean mappingValidateClasspath = DozerConstants.DEFAULT_MAPPING_VALIDATE_CLASSPATH;
+  private String mappingSnapshotDir;
 
   private String classLoaderBeanName = DozerConstants.DEFAULT_CLASS_LOADER_BEAN;
   private String proxyResolverBeanName = DozerConstants.DEFAULT_PROXY_RESOLVER_BEAN;
@@ -87,6 +91,14 @@ public class GlobalSettings {
     this.statisticsEnabled = statisticsEnabled;
   }
 
+  public boolean isProfilingEnabled() {
+    return profilingEnabled;
+  }
+
+  public void setProfilingEnabled(boolean profilingEnabled) {
+    this.profilingEnabled = profilingEnabled;
+  }
+
   public int getSuperTypesCacheMaxSize() {
     return superTypesCacheMaxSize;
   }
@@ -101,7 +113,19 @@ public class GlobalSettings {
 
   public boolean isElEnabled() {
     return elEnabled;
-  }  
+  }
+
+  public int getMappingLoaderThreads() {
+    return mappingLoaderThreads;
+  }
+
+  public boolean isMappingValidateClasspath() {
+    return mappingValidateClasspath;
+  }
+
+  public String getMappingSnapshotDir() {
+    return mappingSnapshotDir;
+  }
 
   private synchronized void loadGlobalSettings() {
     // Determine prop file name
@@ -149,6 +173,10 @@ public class GlobalSettings {
     if (propValue != null) {
       statisticsEnabled = Boolean.valueOf(propValue); // TODO Parsing errors?
     }
+    propValue = props.getProperty(PropertyConstants.PROFILING_ENABLED);
+    if (propValue != null) {
+      profilingEnabled = Boolean.valueOf(propValue);
+    }
     propValue = props.getProperty(PropertyConstants.CONVERTER_CACHE_MAX_SIZE);
     if (propValue != null) {
       converterByDestTypeCacheMaxSize = Integer.parseInt(propValue);
@@ -173,6 +201,18 @@ public class GlobalSettings {
     if (propValue != null) {
       elEnabled = Boolean.valueOf(propValue);
     }
+    propValue = props.getProperty(PropertyConstants.MAPPING_LOADER_THREADS);
+    if (propValue != null) {
+      mappingLoaderThreads = Integer.parseInt(propValue);
+    }
+    propValue = props.getProperty(PropertyConstants.MAPPING_VALIDATE_CLASSPATH);
+    if (propValue != null) {
+      mappingValidateClasspath = Boolean.valueOf(propValue);
+    }
+    propValue = props.getProperty(PropertyConstants.MAPPING_SNAPSHOT_DIR);
+    if (propValue != null) {
+      mappingSnapshotDir = propValue;
+    }
   }
 
 }
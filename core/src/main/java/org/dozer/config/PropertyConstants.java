@@ -29,6 +29,10 @@ public final class PropertyConstants {
   public static final String SUPERTYPE_CACHE_MAX_SIZE = "dozer.cache.super.type.maxsize";
   public static final String AUTOREGISTER_JMX_BEANS = "dozer.autoregister.jmx.beans";
   public static final String EL_ENABLED = "dozer.el.enabled";
+  public static final String MAPPING_LOADER_THREADS = "dozer.mapping.loader.threads";
+  public static final String MAPPING_VALIDATE_CLASSPATH = "dozer.mapping.validate.classpath";
+  public static final String MAPPING_SNAPSHOT_DIR = "dozer.mapping.snapshot.dir";
+  public static final String PROFILING_ENABLED = "dozer.profiling.enabled";
 
   // Bean Implementations
   public static final String CLASS_LOADER_BEAN = "org.dozer.util.DozerClassLoader";
@@ -21,6 +21,7 @@ import org.apache.commons.lang3.builder.ToStringStyle;
 import org.dozer.cache.Cache;
 import org.dozer.cache.CacheKeyFactory;
 
+import java.io.Serializable;
 import java.util.ArrayList;
 import java.util.List;
 
@@ -30,7 +31,9 @@ import java.util.List;
  * @author sullins.ben
  * @author dmitry.buzdin
  */
-public class CustomConverterContainer {
+public class CustomConverterContainer implements Serializable {
+
+  private static final long serialVersionUID = 1L;
 
   private List<CustomConverterDescription> converters = new ArrayList<CustomConverterDescription>();
 
@@ -18,15 +18,26 @@ package org.dozer.converters;
 import org.apache.commons.lang3.builder.ReflectionToStringBuilder;
 import org.apache.commons.lang3.builder.ToStringStyle;
 
+import org.dozer.util.MappingUtils;
+
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.io.Serializable;
+
 /**
  * Internal class that contains the custom converter definition information. Only intended for internal use.
  * 
  * @author sullins.ben
  */
-public class CustomConverterDescription {
-  private Class<?> type;
-  private Class<?> classB;
-  private Class<?> classA;
+public class CustomConverterDescription implements Serializable {
+
+  private static final long serialVersionUID = 1L;
+
+  // written by name, so that mapping snapshots do not need to deserialize application classes
+  private transient Class<?> type;
+  private transient Class<?> classB;
+  private transient Class<?> classA;
 
   public Class<?> getClassA() {
     return classA;
@@ -52,6 +63,29 @@ public class CustomConverterDescription {
     this.type = type;
   }
 
+  private void writeObject(ObjectOutputStream out) throws IOException {
+    out.defaultWriteObject();
+    writeClass(out, type);
+    writeClass(out, classB);
+    writeClass(out, classA);
+  }
+
+  private void readObject(ObjectInputStream in) throws IOException, ClassNotFoundException {
+    in.defaultReadObject();
+    type = readClass(in);
+    classB = readClass(in);
+    classA = readClass(in);
+  }
+
+  private static void writeClass(ObjectOutputStream out, Class<?> type) throws IOException {
+    out.writeObject(type != null ? type.getName() : null);
+  }
+
+  private static Class<?> readClass(ObjectInputStream in) throws IOException, ClassNotFoundException {
+    String className = (String) in.readObject();
+    return className != null ? MappingUtils.loadClass(className) : null;
+  }
+
   @Override
   public String toString() {
     return ReflectionToStringBuilder.toString(this, ToStringStyle.MULTI_LINE_STYLE);
@@ -15,13 +15,11 @@
  */
 package org.dozer.factory;
 
-import java.util.ArrayList;
-import java.util.Arrays;
 import java.util.List;
 import java.util.Map;
-import java.util.concurrent.CopyOnWriteArrayList;
 
 import org.dozer.BeanFactory;
+import org.dozer.util.PluginRegistry;
 
 /**
  * Internal class that contains the logic used to create a new instance of the destination object being mapped. Performs
@@ -34,7 +32,7 @@ import org.dozer.BeanFactory;
  */
 public final class DestBeanCreator {
 
-  static final List<BeanCreationStrategy> pluggedStrategies = new ArrayList<BeanCreationStrategy>();
+  static final PluginRegistry<BeanCreationStrategy> pluggedStrategies = new PluginRegistry<BeanCreationStrategy>();
 
   // order in this collection determines resolving priority
   static final BeanCreationStrategy[] availableStrategies = new BeanCreationStrategy[]{
@@ -60,19 +58,20 @@ public final class DestBeanCreator {
   }
 
   public static Object create(BeanCreationDirective directive) {
-    Object result = applyStrategies(directive, pluggedStrategies);
-    if (result == null) result = applyStrategies(directive, Arrays.asList(availableStrategies));
-    return result;
-  }
-
-  private static Object applyStrategies(BeanCreationDirective directive, List<BeanCreationStrategy> strategies) {
     // TODO create method lookup by annotation/convention
     // TODO Cache ConstructionStrategy (reuse caching infrastructure)
     // TODO Check resulting type in each method
     // TODO Directive toString()
     // TODO review and document
 
-    for (BeanCreationStrategy strategy : new CopyOnWriteArrayList<BeanCreationStrategy>(strategies)) {
+    List<BeanCreationStrategy> plugged = pluggedStrategies.getPlugins();
+    for (int i = 0; i < plugged.size(); i++) {
+      BeanCreationStrategy strategy = plugged.get(i);
+      if (strategy.isApplicable(directive)) {
+        return strategy.create(directive);
+      }
+    }
+    for (BeanCreationStrategy strategy : availableStrategies) {
       if (strategy.isApplicable(directive)) {
         return strategy.create(directive);
       }
@@ -85,7 +84,7 @@ public final class DestBeanCreator {
   }
 
   public static void addPluggedStrategy(BeanCreationStrategy strategy) {
-    pluggedStrategies.add(strategy);
+    pluggedStrategies.register(strategy);
   }
 
 }
@@ -26,6 +26,9 @@ import org.dozer.classmap.ClassMap;
  * 
  */
 public class CustomGetSetMethodFieldMap extends FieldMap {
+
+  private static final long serialVersionUID = 1L;
+
   public CustomGetSetMethodFieldMap(ClassMap classMap) {
     super(classMap);
   }
@@ -18,6 +18,8 @@ package org.dozer.fieldmap;
 import org.apache.commons.lang3.builder.ReflectionToStringBuilder;
 import org.apache.commons.lang3.builder.ToStringStyle;
 
+import java.io.Serializable;
+
 /**
  * Only intended for internal use.
  * 
@@ -27,7 +29,9 @@ import org.apache.commons.lang3.builder.ToStringStyle;
  * @author dmitry.buzdin
  * 
  */
-public class DozerField implements Cloneable {
+public class DozerField implements Cloneable, Serializable {
+
+  private static final long serialVersionUID = 1L;
 
   private String type;
   private String name;
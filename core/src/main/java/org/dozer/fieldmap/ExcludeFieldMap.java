@@ -27,6 +27,8 @@ import org.dozer.classmap.ClassMap;
  */
 public class ExcludeFieldMap extends FieldMap {
 
+  private static final long serialVersionUID = 1L;
+
   public ExcludeFieldMap(ClassMap classMap) {
     super(classMap);
   }
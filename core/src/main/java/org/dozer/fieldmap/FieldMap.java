@@ -18,10 +18,13 @@ package org.dozer.fieldmap;
 import org.apache.commons.lang3.builder.ToStringBuilder;
 import org.apache.commons.lang3.builder.ToStringStyle;
 import org.dozer.BeanBuilder;
+import org.dozer.ContextualCustomConverter;
+import org.dozer.CustomConverter;
 import org.dozer.MappingException;
 import org.dozer.builder.BuilderUtil;
 import org.dozer.classmap.ClassMap;
 import org.dozer.classmap.DozerClass;
+import org.dozer.classmap.LazyLoadingPolicy;
 import org.dozer.classmap.MappingDirection;
 import org.dozer.classmap.RelationshipType;
 import org.dozer.propertydescriptor.DozerPropertyDescriptor;
@@ -29,9 +32,13 @@ import org.dozer.propertydescriptor.GetterSetterPropertyDescriptor;
 import org.dozer.propertydescriptor.PropertyDescriptorFactory;
 import org.dozer.util.DozerConstants;
 import org.dozer.util.MappingUtils;
+import org.dozer.util.ReflectionUtils;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.Serializable;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ConcurrentMap;
 
@@ -45,9 +52,12 @@ import java.util.concurrent.ConcurrentMap;
  * @author johnsen.knut-erik
  * 
  */
-public abstract class FieldMap implements Cloneable {
+public abstract class FieldMap implements Cloneable, Serializable {
+
+  private static final long serialVersionUID = 1L;
+
   
-  private final Logger log = LoggerFactory.getLogger(FieldMap.class);
+  private static final Logger log = LoggerFactory.getLogger(FieldMap.class);
 
   private ClassMap classMap;
   private DozerField srcField;
@@ -61,13 +71,17 @@ public abstract class FieldMap implements Cloneable {
   private boolean copyByReferenceOveridden;
   private String mapId;
   private String customConverter;
+  // loaded again from the converter name after deserialization
+  private transient Class<? extends CustomConverter> customConverterClass;
+  private transient volatile ContextualCustomConverter sharedCustomConverter;
   private String customConverterId;
   private String customConverterParam;
   private RelationshipType relationshipType;
+  private LazyLoadingPolicy lazyLoadingPolicy;
   private boolean removeOrphans;
 
-  private final ConcurrentMap<Class<?>, DozerPropertyDescriptor> srcPropertyDescriptorMap = new ConcurrentHashMap<Class<?>, DozerPropertyDescriptor>(); // For Caching Purposes
-  private final ConcurrentMap<Class<?>, DozerPropertyDescriptor> destPropertyDescriptorMap = new ConcurrentHashMap<Class<?>, DozerPropertyDescriptor>();
+  private transient ConcurrentMap<Class<?>, DozerPropertyDescriptor> srcPropertyDescriptorMap = new ConcurrentHashMap<Class<?>, DozerPropertyDescriptor>(); // For Caching Purposes
+  private transient ConcurrentMap<Class<?>, DozerPropertyDescriptor> destPropertyDescriptorMap = new ConcurrentHashMap<Class<?>, DozerPropertyDescriptor>();
 
   public FieldMap(ClassMap classMap) {
     this.classMap = classMap;
@@ -98,7 +112,7 @@ public abstract class FieldMap implements Cloneable {
   public Class<?> getDestHintType(Class<?> runtimeSrcClass) {
     if (getDestHintContainer() != null) {
       if (getSrcHintContainer() != null) {
-        return getDestHintContainer().getHint(runtimeSrcClass, getSrcHintContainer().getHints());
+        return getDestHintContainer().getHint(runtimeSrcClass, getSrcHintContainer());
       } else {
         return getDestHintContainer().getHint();
       }
@@ -135,6 +149,19 @@ public abstract class FieldMap implements Cloneable {
     return ((GetterSetterPropertyDescriptor) dpd).getWriteMethodPropertyType();
   }
 
+  /**
+   * Looks up the parameter type of the destination write method.
+   *
+   * @return parameter type or null if the destination property is not written through a setter method
+   */
+  public Class<?> findDestFieldWriteMethodParameter(Class<?> runtimeDestClass) {
+    DozerPropertyDescriptor dpd = getDestPropertyDescriptor(runtimeDestClass);
+    if (dpd instanceof GetterSetterPropertyDescriptor) {
+      return ((GetterSetterPropertyDescriptor) dpd).findWriteMethodPropertyType();
+    }
+    return null;
+  }
+
   public Class<?> getGenericType(Class<?> runtimeDestClass) {
     DozerPropertyDescriptor propertyDescriptor = getDestPropertyDescriptor(runtimeDestClass);
     return propertyDescriptor.genericType();
@@ -352,9 +379,50 @@ public abstract class FieldMap implements Cloneable {
   }
 
   public void setCustomConverter(String customConverter) {
+    if (customConverter == null ? this.customConverter != null : !customConverter.equals(this.customConverter)) {
+      customConverterClass = null;
+      sharedCustomConverter = null;
+    }
     this.customConverter = customConverter;
   }
 
+  /**
+   * @return class of the field level custom converter, null if none is specified
+   */
+  public Class<? extends CustomConverter> getCustomConverterClass() {
+    if (customConverterClass == null && !MappingUtils.isBlankOrNull(customConverter)) {
+      customConverterClass = resolveCustomConverterClass(customConverter);
+    }
+    return customConverterClass;
+  }
+
+  /**
+   * Creates an instance of the field level custom converter. Converters may keep state between the calls, so a new
+   * instance is created every time. Contextual converters are stateless by contract and a single instance is shared.
+   *
+   * @return custom converter instance
+   */
+  public CustomConverter createCustomConverter() {
+    ContextualCustomConverter shared = sharedCustomConverter;
+    if (shared != null) {
+      return shared;
+    }
+    CustomConverter result = ReflectionUtils.newInstance(getCustomConverterClass());
+    if (result instanceof ContextualCustomConverter) {
+      sharedCustomConverter = (ContextualCustomConverter) result;
+    }
+    return result;
+  }
+
+  private static Class<? extends CustomConverter> resolveCustomConverterClass(String className) {
+    Class<?> result = MappingUtils.loadClass(className);
+    if (!CustomConverter.class.isAssignableFrom(result)) {
+      MappingUtils.throwMappingException("Custom converter " + className + " does not implement "
+          + CustomConverter.class.getName());
+    }
+    return result.asSubclass(CustomConverter.class);
+  }
+
   public RelationshipType getRelationshipType() {
     return relationshipType != null ? relationshipType : classMap.getRelationshipType();
   }
@@ -363,6 +431,14 @@ public abstract class FieldMap implements Cloneable {
     this.relationshipType = relationshipType;
   }
 
+  public LazyLoadingPolicy getLazyLoadingPolicy() {
+    return lazyLoadingPolicy != null ? lazyLoadingPolicy : classMap.getLazyLoadingPolicy();
+  }
+
+  public void setLazyLoadingPolicy(LazyLoadingPolicy lazyLoadingPolicy) {
+    this.lazyLoadingPolicy = lazyLoadingPolicy;
+  }
+
   public void validate() {
     if (srcField == null) {
       MappingUtils.throwMappingException("src field must be specified");
@@ -370,6 +446,20 @@ public abstract class FieldMap implements Cloneable {
     if (destField == null) {
       MappingUtils.throwMappingException("dest field must be specified");
     }
+    getCustomConverterClass();
+    resolveHints(srcHintContainer);
+    resolveHints(destHintContainer);
+    resolveHints(srcDeepIndexHintContainer);
+    resolveHints(destDeepIndexHintContainer);
+    if (srcHintContainer != null && destHintContainer != null) {
+      destHintContainer.validatePairing(srcHintContainer);
+    }
+  }
+
+  private static void resolveHints(HintContainer hintContainer) {
+    if (hintContainer != null) {
+      hintContainer.resolve();
+    }
   }
 
   protected DozerPropertyDescriptor getSrcPropertyDescriptor(Class<?> runtimeSrcClass) {
@@ -465,6 +555,10 @@ public abstract class FieldMap implements Cloneable {
     return classMap.isStopOnErrors();
   }
 
+  public boolean isReuseDestination() {
+    return classMap.isReuseDestination();
+  }
+
   public boolean isNonCumulativeRelationship() {
     return RelationshipType.NON_CUMULATIVE.equals(relationshipType);
   }
@@ -486,4 +580,11 @@ public abstract class FieldMap implements Cloneable {
 	  this.customConverterParam = customConverterParam;
   }
 
+  private void readObject(ObjectInputStream in) throws IOException, ClassNotFoundException {
+    in.defaultReadObject();
+    // property descriptors are not serialized and get resolved again on first use
+    srcPropertyDescriptorMap = new ConcurrentHashMap<Class<?>, DozerPropertyDescriptor>();
+    destPropertyDescriptorMap = new ConcurrentHashMap<Class<?>, DozerPropertyDescriptor>();
+  }
+
 }
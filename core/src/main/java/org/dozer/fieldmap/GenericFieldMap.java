@@ -26,6 +26,9 @@ import org.dozer.classmap.ClassMap;
  * 
  */
 public class GenericFieldMap extends FieldMap {
+
+  private static final long serialVersionUID = 1L;
+
   public GenericFieldMap(ClassMap classMap) {
     super(classMap);
   }
@@ -19,8 +19,13 @@ import org.apache.commons.lang3.builder.ReflectionToStringBuilder;
 import org.apache.commons.lang3.builder.ToStringStyle;
 import org.dozer.util.MappingUtils;
 
+import java.io.Serializable;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.IdentityHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.StringTokenizer;
 
 /**
@@ -31,9 +36,15 @@ import java.util.StringTokenizer;
  * @author tierney.matt
  * 
  */
-public class HintContainer {
+public class HintContainer implements Serializable {
+
+  private static final long serialVersionUID = 1L;
+
   private String hintName;
-  private List<Class<?>> hints;
+  // loaded again from the hint name after deserialization
+  private transient volatile List<Class<?>> hints;
+  // destination hint by source hint, prepared for the source container this one was last paired with
+  private transient volatile HintMapping hintMapping;
 
   public Class<?> getHint() {
     Class<?> result;
@@ -53,19 +64,62 @@ public class HintContainer {
     return getHints().size() > 1;
   }
 
+  /**
+   * @return immutable list of hint classes, which are loaded on first access unless {@link #resolve()} was called
+   */
   public List<Class<?>> getHints() {
-    if (hints == null) {
+    List<Class<?>> result = hints;
+    if (result == null) {
+      result = resolve();
+    }
+    return result;
+  }
+
+  /**
+   * Loads the hint classes. Called when mappings are loaded, so that invalid hints are reported right away and
+   * concurrent mappings find the hints ready.
+   */
+  public List<Class<?>> resolve() {
+    List<Class<?>> result = hints;
+    if (result == null) {
       List<Class<?>> list = new ArrayList<Class<?>>();
-      StringTokenizer st = new StringTokenizer(this.hintName, ",");
-      while (st.hasMoreElements()) {
-        String theHintName = st.nextToken().trim();
+      if (hintName != null) {
+        StringTokenizer st = new StringTokenizer(this.hintName, ",");
+        while (st.hasMoreElements()) {
+          String theHintName = st.nextToken().trim();
 
-        Class<?> clazz = MappingUtils.loadClass(theHintName);
-        list.add(clazz);
+          Class<?> clazz = MappingUtils.loadClass(theHintName);
+          list.add(clazz);
+        }
       }
-      hints = list;
+      result = Collections.unmodifiableList(Arrays.asList(list.toArray(new Class<?>[list.size()])));
+      hints = result;
+    }
+    return result;
+  }
+
+  /**
+   * Returns the hint at the position of the runtime class among the source hints.
+   *
+   * @param clazz runtime source class
+   * @param srcHintContainer source hints of the same field mapping
+   * @return matching hint or the given class if it is none of the source hints
+   */
+  public Class<?> getHint(Class<?> clazz, HintContainer srcHintContainer) {
+    if (!hasMoreThanOneHint()) {
+      return getHint();
     }
-    return hints;
+    HintMapping mapping = hintMapping;
+    if (mapping == null || mapping.srcHintContainer != srcHintContainer) {
+      mapping = new HintMapping(srcHintContainer, srcHintContainer.getHints(), getHints());
+      hintMapping = mapping;
+    }
+    Class<?> result = mapping.hints.get(clazz);
+    if (result == null) {
+      result = mapping.hints.get(MappingUtils.getRealClass(clazz));
+    }
+    // classes loaded by another class loader are still matched by name
+    return result != null ? result : getHint(clazz, srcHintContainer.getHints());
   }
 
   //TODO: Refactor/Relocate.  This method doesn't seem to belong in this class
@@ -77,8 +131,7 @@ public class HintContainer {
     }
     // validate sizes
     if (clazzHints.size() != hintsSize) {
-      MappingUtils
-          .throwMappingException("When using multiple source and destination hints there must be exactly the same number of hints on the source and the destination.");
+      throwHintCountMismatch();
     }
     int count = 0;
     String myClazName = MappingUtils.getRealClass(clazz).getName();
@@ -93,12 +146,54 @@ public class HintContainer {
     return clazz;
   }
 
+  /**
+   * Checks that this destination container can be paired with the given source hints.
+   */
+  public void validatePairing(HintContainer srcHintContainer) {
+    if (hasMoreThanOneHint() && srcHintContainer.getHints().size() != getHints().size()) {
+      throwHintCountMismatch();
+    }
+  }
+
+  private static void throwHintCountMismatch() {
+    MappingUtils
+        .throwMappingException("When using multiple source and destination hints there must be exactly the same number of hints on the source and the destination.");
+  }
+
   public void setHintName(String hintName) {
     this.hintName = hintName;
+    this.hints = null;
+    this.hintMapping = null;
+  }
+
+  /**
+   * Sets a single, already loaded hint class.
+   */
+  public void setHint(Class<?> hint) {
+    this.hintName = hint.getName();
+    this.hints = Collections.<Class<?>>singletonList(hint);
+    this.hintMapping = null;
   }
 
   @Override
   public String toString() {
     return ReflectionToStringBuilder.toString(this, ToStringStyle.MULTI_LINE_STYLE);
   }
+
+  private static final class HintMapping {
+
+    private final HintContainer srcHintContainer;
+    private final Map<Class<?>, Class<?>> hints = new IdentityHashMap<Class<?>, Class<?>>();
+
+    HintMapping(HintContainer srcHintContainer, List<Class<?>> srcHints, List<Class<?>> destHints) {
+      this.srcHintContainer = srcHintContainer;
+      if (srcHints.size() != destHints.size()) {
+        throwHintCountMismatch();
+      }
+      // the first occurrence wins, like in the sequential lookup
+      for (int i = srcHints.size() - 1; i >= 0; i--) {
+        hints.put(srcHints.get(i), destHints.get(i));
+      }
+    }
+  }
 }
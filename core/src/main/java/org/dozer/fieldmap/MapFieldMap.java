@@ -36,6 +36,8 @@ import org.dozer.util.MappingUtils;
  */
 public class MapFieldMap extends FieldMap {
 
+  private static final long serialVersionUID = 1L;
+
   public MapFieldMap(ClassMap classMap) {
     super(classMap);
   }
@@ -52,6 +54,7 @@ public class MapFieldMap extends FieldMap {
     setDestDeepIndexHintContainer(fieldMap.getDestDeepIndexHintContainer());
     setMapId(fieldMap.getMapId());
     setRelationshipType(fieldMap.getRelationshipType());
+    setLazyLoadingPolicy(fieldMap.getLazyLoadingPolicy());
     setRemoveOrphans(fieldMap.isRemoveOrphans());
     setSrcField(fieldMap.getSrcField());
     setSrcHintContainer(fieldMap.getSrcHintContainer());
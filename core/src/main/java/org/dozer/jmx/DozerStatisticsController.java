@@ -17,10 +17,14 @@ package org.dozer.jmx;
 
 import org.dozer.config.GlobalSettings;
 import org.dozer.stats.GlobalStatistics;
+import org.dozer.stats.MappingProfile;
+import org.dozer.stats.MappingProfiler;
 import org.dozer.stats.StatisticEntry;
 import org.dozer.stats.StatisticType;
 import org.dozer.stats.StatisticsManager;
 
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Set;
 import java.util.TreeSet;
 
@@ -33,9 +37,11 @@ import java.util.TreeSet;
 public class DozerStatisticsController implements DozerStatisticsControllerMBean {
 
   private final StatisticsManager statsMgr = GlobalStatistics.getInstance().getStatsMgr();
+  private final MappingProfiler mappingProfiler = GlobalStatistics.getInstance().getMappingProfiler();
 
   public void clearAll() {
     statsMgr.clearAll();
+    mappingProfiler.clear();
   }
 
   public boolean isStatisticsEnabled() {
@@ -116,6 +122,30 @@ public class DozerStatisticsController implements DozerStatisticsControllerMBean
     return (ccTotalTime / overallTime) * 100;
   }
 
+  public boolean isProfilingEnabled() {
+    return mappingProfiler.isEnabled();
+  }
+
+  public void setProfilingEnabled(boolean profilingEnabled) {
+    mappingProfiler.setEnabled(profilingEnabled);
+  }
+
+  public List<String> getClassMappingProfiles() {
+    return toStrings(mappingProfiler.getClassMapProfiles());
+  }
+
+  public List<String> getFieldMappingProfiles() {
+    return toStrings(mappingProfiler.getFieldMapProfiles());
+  }
+
+  private List<String> toStrings(List<MappingProfile> profiles) {
+    List<String> result = new ArrayList<String>(profiles.size());
+    for (MappingProfile profile : profiles) {
+      result.add(profile.toString());
+    }
+    return result;
+  }
+
   protected Set<String> getStatisticEntries(StatisticType statisticType) {
     Set<String> result = new TreeSet<String>();
     for (StatisticEntry entry : statsMgr.getStatisticEntries(statisticType)) {
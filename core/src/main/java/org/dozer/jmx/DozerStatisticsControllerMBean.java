@@ -15,6 +15,7 @@
  */
 package org.dozer.jmx;
 
+import java.util.List;
 import java.util.Set;
 
 /**
@@ -44,4 +45,8 @@ public interface DozerStatisticsControllerMBean {
   public boolean isStatisticsEnabled();
   public void setStatisticsEnabled(boolean statisticsEnabled);
   public void logStatistics();
+  public boolean isProfilingEnabled();
+  public void setProfilingEnabled(boolean profilingEnabled);
+  public List<String> getClassMappingProfiles();
+  public List<String> getFieldMappingProfiles();
 }
@@ -16,6 +16,7 @@
 package org.dozer.loader;
 
 import org.dozer.CustomConverter;
+import org.dozer.DozerConverter;
 import org.dozer.classmap.*;
 import org.dozer.converters.CustomConverterContainer;
 import org.dozer.converters.CustomConverterDescription;
@@ -23,6 +24,7 @@ import org.dozer.util.MappingUtils;
 
 import java.util.*;
 import java.util.Map.Entry;
+import java.util.ServiceLoader;
 
 /**
  * Internal class that loads and parses custom xml mapping files into ClassMap objects. The ClassMap objects returned
@@ -39,25 +41,47 @@ public class CustomMappingsLoader {
   public LoadMappingsResult load(List<MappingFileData> mappings) {
 
     Configuration globalConfiguration = findConfiguration(mappings);
+    addPluggedCustomConverters(globalConfiguration);
 
     ClassMappings customMappings = new ClassMappings();
-    // Decorate the raw ClassMap objects and create ClassMap "prime" instances
+    List<ClassMappings> sourceMappings = new ArrayList<ClassMappings>();
     for (MappingFileData mappingFileData : mappings) {
-      List<ClassMap> classMaps = mappingFileData.getClassMaps();
-      ClassMappings customMappingsPrime = mappingsParser.processMappings(classMaps, globalConfiguration);
+      ClassMappings customMappingsPrime = load(mappingFileData, globalConfiguration);
       customMappings.addAll(customMappingsPrime);
+      sourceMappings.add(customMappingsPrime);
     }
 
+    addDefaultCustomConverters(globalConfiguration);
+
+    return new LoadMappingsResult(customMappings, globalConfiguration, sourceMappings);
+  }
+
+  /**
+   * Decorates the class maps of a single mapping source. Used on its own when a mapping file is reloaded, in which
+   * case the global configuration is the one loaded before.
+   *
+   * @param mappingFileData raw mappings of the source, which are modified by this method
+   * @param globalConfiguration global configuration of all mapping sources
+   * @return class mappings ready to be used by the mapping engine
+   */
+  public ClassMappings load(MappingFileData mappingFileData, Configuration globalConfiguration) {
+    // Decorate the raw ClassMap objects and create ClassMap "prime" instances
+    List<ClassMap> classMaps = mappingFileData.getClassMaps();
+    ClassMappings customMappings = mappingsParser.processMappings(classMaps, globalConfiguration);
+
     // Add default mappings using matching property names if wildcard policy
     // is true. The addDefaultFieldMappings will check the wildcard policy of each classmap
     ClassMapBuilder.addDefaultFieldMappings(customMappings, globalConfiguration);
 
     Set<CustomConverterDescription> customConverterDescriptions = new LinkedHashSet<CustomConverterDescription>();
 
-    // build up custom converter description objects
+    // build up custom converter description objects. Converters added by Dozer itself are left to the global
+    // configuration, so that reloaded class maps get the same converters as the initially loaded ones
     if (globalConfiguration.getCustomConverters() != null && globalConfiguration.getCustomConverters().getConverters() != null) {
       for (CustomConverterDescription cc : globalConfiguration.getCustomConverters().getConverters()) {
-        customConverterDescriptions.add(cc);
+        if (!(cc instanceof DefaultConverterDescription)) {
+          customConverterDescriptions.add(cc);
+        }
       }
     }    
 
@@ -72,9 +96,7 @@ public class CustomMappingsLoader {
       }
     }
 
-    addDefaultCustomConverters(globalConfiguration);
-
-    return new LoadMappingsResult(customMappings, globalConfiguration);
+    return customMappings;
   }
 
   private Configuration findConfiguration(List<MappingFileData> mappingFileDataList) {
@@ -103,7 +125,7 @@ public class CustomMappingsLoader {
   private void addDefaultCustomConverters(Configuration globalConfiguration) {
       if (globalConfiguration.getCustomConverters() != null &&
               globalConfiguration.getCustomConverters().findConverter(UUID.class, UUID.class) == null) {
-          CustomConverterDescription defaultUUIDConverter = new CustomConverterDescription();
+          CustomConverterDescription defaultUUIDConverter = new DefaultConverterDescription();
           defaultUUIDConverter.setClassA(UUID.class);
           defaultUUIDConverter.setClassB(UUID.class);
           defaultUUIDConverter.setType(ByReferenceConverter.class);
@@ -111,6 +133,35 @@ public class CustomMappingsLoader {
       }
   }
 
+  /**
+   * Adds the converters declared as <code>META-INF/services/org.dozer.DozerConverter</code> services, e.g. by Dozer
+   * modules, unless a converter for the same classes is configured already. They are added before the class maps are
+   * processed, so that they also apply to explicitly mapped classes.
+   */
+  private void addPluggedCustomConverters(Configuration globalConfiguration) {
+    CustomConverterContainer customConverters = globalConfiguration.getCustomConverters();
+    if (customConverters == null) {
+      return;
+    }
+    for (DozerConverter<?, ?> converter : ServiceLoader.load(DozerConverter.class)) {
+      if (customConverters.findConverter(converter.getPrototypeA(), converter.getPrototypeB()) == null) {
+        CustomConverterDescription description = new CustomConverterDescription();
+        description.setClassA(converter.getPrototypeA());
+        description.setClassB(converter.getPrototypeB());
+        description.setType(converter.getClass());
+        customConverters.addConverter(description);
+      }
+    }
+  }
+
+  /**
+   * Marks converters registered by Dozer rather than declared in the mapping files.
+   */
+  static class DefaultConverterDescription extends CustomConverterDescription {
+
+    private static final long serialVersionUID = 1L;
+  }
+
   /**
    *  Returns the source field value as a reference, regardless of other parameters.
    *  Only intended for internal use. */
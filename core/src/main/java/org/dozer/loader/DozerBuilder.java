@@ -100,6 +100,11 @@ public class DozerBuilder {
       return this;
     }
 
+    public MappingBuilder lazyLoadingPolicy(LazyLoadingPolicy policy) {
+      classMap.setLazyLoadingPolicy(policy);
+      return this;
+    }
+
     public MappingBuilder wildcard(Boolean value) {
       classMap.setWildcard(value);
       return this;
@@ -115,6 +120,11 @@ public class DozerBuilder {
       return this;
     }
 
+    public MappingBuilder reuseDestination(boolean value) {
+      classMap.setReuseDestination(value);
+      return this;
+    }
+
     public MappingBuilder mapId(String id) {
       classMap.setMapId(id);
       return this;
@@ -217,6 +227,7 @@ public class DozerBuilder {
     private DozerField destField;
     private MappingDirection type;
     private RelationshipType relationshipType;
+    private LazyLoadingPolicy lazyLoadingPolicy;
     private boolean removeOrphans;
     private HintContainer srcHintContainer;
     private HintContainer destHintContainer;
@@ -261,6 +272,10 @@ public class DozerBuilder {
       this.relationshipType = relationshipType;
     }
 
+    public void lazyLoadingPolicy(LazyLoadingPolicy lazyLoadingPolicy) {
+      this.lazyLoadingPolicy = lazyLoadingPolicy;
+    }
+
     public void removeOrphans(boolean value) {
       this.removeOrphans = value;
     }
@@ -330,6 +345,7 @@ public class DozerBuilder {
       result.setDestField(destField);
       result.setType(type);
       result.setRelationshipType(relationshipType);
+      result.setLazyLoadingPolicy(lazyLoadingPolicy);
       result.setRemoveOrphans(removeOrphans);
 
       result.setSrcHintContainer(srcHintContainer);
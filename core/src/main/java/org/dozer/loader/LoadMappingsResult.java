@@ -18,6 +18,8 @@ package org.dozer.loader;
 import org.dozer.classmap.ClassMappings;
 import org.dozer.classmap.Configuration;
 
+import java.util.List;
+
 /**
  * Internal class that contains the results of the loadMappings operation. Only intended for internal use.
  * 
@@ -29,12 +31,19 @@ public class LoadMappingsResult {
 
   private ClassMappings customMappings;
   private Configuration globalConfiguration;
+  private List<ClassMappings> sourceMappings;
 
   public LoadMappingsResult(ClassMappings customMappings, Configuration globalConfiguration) {
     this.customMappings = customMappings;
     this.globalConfiguration = globalConfiguration;
   }
 
+  public LoadMappingsResult(ClassMappings customMappings, Configuration globalConfiguration,
+                            List<ClassMappings> sourceMappings) {
+    this(customMappings, globalConfiguration);
+    this.sourceMappings = sourceMappings;
+  }
+
   public ClassMappings getCustomMappings() {
     return customMappings;
   }
@@ -43,4 +52,13 @@ public class LoadMappingsResult {
     return globalConfiguration;
   }
 
+  /**
+   * Returns class mappings of each loaded mapping source, in the order the sources were given.
+   *
+   * @return class mappings per source or null if mappings were not loaded from source
+   */
+  public List<ClassMappings> getSourceMappings() {
+    return sourceMappings;
+  }
+
 }
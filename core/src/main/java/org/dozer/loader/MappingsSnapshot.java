@@ -0,0 +1,315 @@
+/**
+ * Copyright 2005-2013 Dozer Project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.dozer.loader;
+
+import org.dozer.MappingException;
+import org.dozer.classmap.AllowedExceptionContainer;
+import org.dozer.classmap.ClassMap;
+import org.dozer.classmap.ClassMapKeyFactory;
+import org.dozer.classmap.ClassMappings;
+import org.dozer.classmap.Configuration;
+import org.dozer.classmap.CopyByReference;
+import org.dozer.classmap.CopyByReferenceContainer;
+import org.dozer.classmap.DozerClass;
+import org.dozer.classmap.LazyLoadingPolicy;
+import org.dozer.classmap.MappingDirection;
+import org.dozer.classmap.RelationshipType;
+import org.dozer.config.BeanContainer;
+import org.dozer.converters.CustomConverterContainer;
+import org.dozer.converters.CustomConverterDescription;
+import org.dozer.fieldmap.CustomGetSetMethodFieldMap;
+import org.dozer.fieldmap.DozerField;
+import org.dozer.fieldmap.ExcludeFieldMap;
+import org.dozer.fieldmap.FieldMap;
+import org.dozer.fieldmap.GenericFieldMap;
+import org.dozer.fieldmap.HintContainer;
+import org.dozer.fieldmap.MapFieldMap;
+import org.dozer.util.DozerClassLoader;
+import org.dozer.util.DozerConstants;
+import org.dozer.util.MappingUtils;
+import org.dozer.util.MappingValidator;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.Closeable;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InvalidClassException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.io.ObjectStreamClass;
+import java.math.BigInteger;
+import java.net.URL;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.TreeSet;
+
+/**
+ * Internal class that stores fully resolved custom mappings in a binary file, so that later starts can skip xml
+ * parsing and field introspection. Only intended for internal use.
+ * <p/>
+ * The snapshot file is named after a hash of the mapping files content. It also records a hash of the class files of
+ * all mapped classes and their superclasses, and is discarded when any of them has changed. Snapshots written by a
+ * different Dozer version, or for changed Dozer classes, fail to deserialize and are rebuilt as well.
+ * <p/>
+ * Snapshots use Java serialization. Only the Dozer mapping types and the few JDK types they hold (strings, booleans,
+ * array lists and tree maps) are deserialized, anything else makes the snapshot invalid. The snapshot directory should still be writable by the
+ * application only.
+ */
+public class MappingsSnapshot {
+
+  private static final Logger log = LoggerFactory.getLogger(MappingsSnapshot.class);
+
+  private static final String FORMAT = "dozer-mappings-snapshot-" + DozerConstants.CURRENT_VERSION;
+  private static final String DIGEST_ALGORITHM = "SHA-1";
+
+  private final File directory;
+  private final File file;
+
+  public MappingsSnapshot(File directory, List<String> mappingFiles) {
+    this(directory, mappingFiles, BeanContainer.getInstance().getClassLoader());
+  }
+
+  /**
+   * @param classLoader class loader locating the mapping files
+   */
+  public MappingsSnapshot(File directory, List<String> mappingFiles, DozerClassLoader classLoader) {
+    this.directory = directory;
+    this.file = new File(directory, "dozer-mappings-" + fingerprint(mappingFiles, classLoader) + ".bin");
+  }
+
+  public File getFile() {
+    return file;
+  }
+
+  /**
+   * Reads previously saved mappings.
+   *
+   * @return loaded mappings or null if there is no up to date snapshot
+   */
+  public LoadMappingsResult load() {
+    if (!file.isFile()) {
+      log.info("Mapping snapshot [{}] not found", file);
+      return null;
+    }
+    ObjectInputStream in = null;
+    try {
+      in = new SnapshotInputStream(new BufferedInputStream(new FileInputStream(file)));
+      if (!FORMAT.equals(in.readUTF())) {
+        log.info("Mapping snapshot [{}] was written by another Dozer version", file);
+        return null;
+      }
+      @SuppressWarnings("unchecked")
+      Map<String, String> classDigests = (Map<String, String>) in.readObject();
+      if (!classDigests.equals(digestClasses(classDigests.keySet()))) {
+        log.info("Mapped classes have changed since mapping snapshot [{}] was written", file);
+        return null;
+      }
+      ClassMappings customMappings = (ClassMappings) in.readObject();
+      Configuration globalConfiguration = (Configuration) in.readObject();
+      log.info("Loaded custom mappings from snapshot [{}]", file);
+      return new LoadMappingsResult(customMappings, globalConfiguration);
+    } catch (Exception e) {
+      log.warn("Could not read mapping snapshot [" + file + "], mappings are loaded from source", e);
+      return null;
+    } finally {
+      close(in);
+    }
+  }
+
+  /**
+   * Writes loaded mappings. Failures are logged and otherwise ignored, as the snapshot is only an optimization.
+   *
+   * @param result mappings to store
+   */
+  public void save(LoadMappingsResult result) {
+    File tempFile = null;
+    ObjectOutputStream out = null;
+    try {
+      Map<String, String> classDigests = digestClasses(referencedClasses(result.getCustomMappings()));
+      if (!directory.isDirectory() && !directory.mkdirs()) {
+        throw new IOException("Could not create directory " + directory);
+      }
+      // written aside and renamed, so that other processes never see a partial snapshot
+      tempFile = File.createTempFile(file.getName(), ".tmp", directory);
+      out = new ObjectOutputStream(new BufferedOutputStream(new FileOutputStream(tempFile)));
+      out.writeUTF(FORMAT);
+      out.writeObject(classDigests);
+      out.writeObject(result.getCustomMappings());
+      out.writeObject(result.getGlobalConfiguration());
+      out.close();
+      out = null;
+      if (!tempFile.renameTo(file) && !(file.delete() && tempFile.renameTo(file))) {
+        throw new IOException("Could not rename " + tempFile + " to " + file);
+      }
+      log.info("Saved custom mappings to snapshot [{}]", file);
+    } catch (IOException e) {
+      log.warn("Could not write mapping snapshot [" + file + "]", e);
+    } finally {
+      close(out);
+      if (tempFile != null && tempFile.exists() && !tempFile.delete()) {
+        tempFile.deleteOnExit();
+      }
+    }
+  }
+
+  private static String fingerprint(List<String> mappingFiles, DozerClassLoader classLoader) {
+    MessageDigest digest = createDigest();
+    digest.update(FORMAT.getBytes());
+    for (String mappingFile : mappingFiles) {
+      digest.update(mappingFile.getBytes());
+      digest.update((byte) 0);
+      URL url = MappingValidator.validateURL(mappingFile, classLoader);
+      try {
+        update(digest, url);
+      } catch (IOException e) {
+        MappingUtils.throwMappingException(e);
+      }
+    }
+    return toHex(digest.digest());
+  }
+
+  static Set<String> referencedClasses(ClassMappings classMappings) {
+    Set<String> result = new TreeSet<String>();
+    for (ClassMap classMap : classMappings.getAll().values()) {
+      addHierarchy(classMap.getSrcClassToMap(), result);
+      addHierarchy(classMap.getDestClassToMap(), result);
+    }
+    return result;
+  }
+
+  // field detection looks at superclasses too, JDK classes are not expected to change
+  private static void addHierarchy(Class<?> type, Set<String> result) {
+    Class<?> current = type;
+    while (current != null && current.getClassLoader() != null) {
+      result.add(current.getName());
+      current = current.getSuperclass();
+    }
+  }
+
+  static Map<String, String> digestClasses(Collection<String> classNames) throws IOException {
+    DozerClassLoader classLoader = BeanContainer.getInstance().getClassLoader();
+    Map<String, String> result = new TreeMap<String, String>();
+    for (String className : classNames) {
+      URL url = classLoader.loadResource(className.replace('.', '/') + ".class");
+      if (url == null) {
+        // generated classes have no class file, so they are tracked by name only
+        result.put(className, "");
+      } else {
+        MessageDigest digest = createDigest();
+        update(digest, url);
+        result.put(className, toHex(digest.digest()));
+      }
+    }
+    return result;
+  }
+
+  private static void update(MessageDigest digest, URL url) throws IOException {
+    InputStream in = url.openStream();
+    try {
+      byte[] buffer = new byte[8192];
+      int read;
+      while ((read = in.read(buffer)) != -1) {
+        digest.update(buffer, 0, read);
+      }
+    } finally {
+      close(in);
+    }
+  }
+
+  private static MessageDigest createDigest() {
+    try {
+      return MessageDigest.getInstance(DIGEST_ALGORITHM);
+    } catch (NoSuchAlgorithmException e) {
+      throw new MappingException(e);
+    }
+  }
+
+  private static String toHex(byte[] bytes) {
+    return String.format("%0" + (bytes.length * 2) + "x", new BigInteger(1, bytes));
+  }
+
+  private static void close(Closeable closeable) {
+    if (closeable != null) {
+      try {
+        closeable.close();
+      } catch (IOException e) {
+        log.debug("Could not close mapping snapshot stream", e);
+      }
+    }
+  }
+
+  /**
+   * Only resolves the types that make up Dozer mappings, so that a tampered snapshot can not instantiate arbitrary
+   * serializable classes. Application classes are written by name and never deserialized.
+   */
+  private static class SnapshotInputStream extends ObjectInputStream {
+
+    private static final Set<String> ALLOWED_CLASSES = new HashSet<String>();
+
+    static {
+      allow(ClassMappings.class, ClassMapKeyFactory.class, ClassMap.class, Configuration.class, DozerClass.class,
+          MappingDirection.class, RelationshipType.class, LazyLoadingPolicy.class, AllowedExceptionContainer.class,
+          CopyByReferenceContainer.class, CopyByReference.class, CustomConverterContainer.class,
+          CustomConverterDescription.class, CustomMappingsLoader.DefaultConverterDescription.class, FieldMap.class,
+          GenericFieldMap.class, MapFieldMap.class, CustomGetSetMethodFieldMap.class, ExcludeFieldMap.class,
+          DozerField.class, HintContainer.class);
+      // values of the fields above and the class digests
+      allow(String.class, Boolean.class, ArrayList.class, TreeMap.class);
+    }
+
+    private static void allow(Class<?>... types) {
+      for (Class<?> type : types) {
+        ALLOWED_CLASSES.add(type.getName());
+      }
+    }
+
+    SnapshotInputStream(InputStream in) throws IOException {
+      super(in);
+    }
+
+    @Override
+    protected Class<?> resolveClass(ObjectStreamClass desc) throws IOException, ClassNotFoundException {
+      if (!isAllowed(desc.getName())) {
+        throw new InvalidClassException(desc.getName(), "Class is not allowed in mapping snapshots");
+      }
+      return super.resolveClass(desc);
+    }
+
+    @Override
+    protected Class<?> resolveProxyClass(String[] interfaces) throws IOException, ClassNotFoundException {
+      throw new InvalidClassException(Arrays.toString(interfaces), "Proxies are not allowed in mapping snapshots");
+    }
+
+    static boolean isAllowed(String className) {
+      return ALLOWED_CLASSES.contains(className);
+    }
+  }
+
+}
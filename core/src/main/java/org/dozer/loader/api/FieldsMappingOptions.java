@@ -17,6 +17,7 @@ package org.dozer.loader.api;
 
 import org.apache.commons.lang3.StringUtils;
 import org.dozer.CustomConverter;
+import org.dozer.classmap.LazyLoadingPolicy;
 import org.dozer.classmap.MappingDirection;
 import org.dozer.classmap.RelationshipType;
 import org.dozer.loader.DozerBuilder;
@@ -146,6 +147,14 @@ public final class FieldsMappingOptions {
     };
   }
 
+  public static FieldsMappingOption lazyLoadingPolicy(final LazyLoadingPolicy lazyLoadingPolicy) {
+    return new FieldsMappingOption() {
+      public void apply(DozerBuilder.FieldMappingBuilder fieldMappingBuilder) {
+        fieldMappingBuilder.lazyLoadingPolicy(lazyLoadingPolicy);
+      }
+    };
+  }
+
   public static FieldsMappingOption collectionStrategy(final boolean removeOrphans, final RelationshipType relationshipType) {
     return new FieldsMappingOption() {
       public void apply(DozerBuilder.FieldMappingBuilder fieldMappingBuilder) {
@@ -15,6 +15,7 @@
  */
 package org.dozer.loader.api;
 
+import org.dozer.classmap.LazyLoadingPolicy;
 import org.dozer.classmap.MappingDirection;
 import org.dozer.classmap.RelationshipType;
 import org.dozer.loader.DozerBuilder;
@@ -94,6 +95,26 @@ public final class TypeMappingOptions {
     };
   }
 
+  public static TypeMappingOption lazyLoadingPolicy(final LazyLoadingPolicy value) {
+    return new TypeMappingOption() {
+      public void apply(DozerBuilder.MappingBuilder fieldMappingBuilder) {
+        fieldMappingBuilder.lazyLoadingPolicy(value);
+      }
+    };
+  }
+
+  public static TypeMappingOption reuseDestination() {
+    return reuseDestination(true);
+  }
+
+  public static TypeMappingOption reuseDestination(final boolean value) {
+    return new TypeMappingOption() {
+      public void apply(DozerBuilder.MappingBuilder fieldMappingBuilder) {
+        fieldMappingBuilder.reuseDestination(value);
+      }
+    };
+  }
+
   public static TypeMappingOption trimStrings() {
     return trimStrings(true);
   }
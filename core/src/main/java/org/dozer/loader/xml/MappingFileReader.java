@@ -22,14 +22,18 @@ import org.dozer.util.DozerClassLoader;
 import org.dozer.util.MappingUtils;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.xml.sax.SAXException;
 
+import javax.xml.transform.stream.StreamSource;
+import javax.xml.validation.Validator;
 import java.io.IOException;
 import java.io.InputStream;
 import java.net.URL;
 
 /**
- * Internal class that reads and parses a single custom mapping xml file into raw ClassMap objects. Only intended for
- * internal use.
+ * Internal class that reads and parses a single custom mapping xml file into raw ClassMap objects. The file is streamed
+ * with StAX, after being validated against the XML Schema in a separate streaming pass unless it is trusted. Only
+ * intended for internal use.
  *
  * @author tierney.matt
  * @author garsombke.franz
@@ -38,10 +42,18 @@ public class MappingFileReader implements MappingsSource<URL> {
 
   private final Logger log = LoggerFactory.getLogger(MappingFileReader.class);
 
-  private final MappingStreamReader streamReader;
+  private final MappingsSource<InputStream> streamReader = new StaxMappingStreamReader();
+  private final Validator validator;
 
   public MappingFileReader(XMLParserFactory parserFactory) {
-    streamReader = new MappingStreamReader(parserFactory);
+    this(parserFactory, true);
+  }
+
+  /**
+   * @param validating if false, the file is trusted and not validated against the XML Schema
+   */
+  public MappingFileReader(XMLParserFactory parserFactory, boolean validating) {
+    validator = validating ? parserFactory.createValidator() : null;
   }
 
   public MappingFileData read(String fileName) {
@@ -54,6 +66,9 @@ public class MappingFileReader implements MappingsSource<URL> {
     MappingFileData result = null;
     InputStream stream = null;
     try {
+      if (validator != null) {
+        validate(url);
+      }
       stream = url.openStream();
       result = streamReader.read(stream);
     } catch (IOException e) {
@@ -71,4 +86,16 @@ public class MappingFileReader implements MappingsSource<URL> {
     return result;
   }
 
+  private void validate(URL url) throws IOException {
+    InputStream stream = url.openStream();
+    try {
+      validator.validate(new StreamSource(stream, url.toString()));
+    } catch (SAXException e) {
+      log.error("Error while validating dozer mapping file url: [" + url + "]", e);
+      MappingUtils.throwMappingException(e);
+    } finally {
+      stream.close();
+    }
+  }
+
 }
@@ -0,0 +1,181 @@
+/**
+ * Copyright 2005-2013 Dozer Project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.dozer.loader.xml;
+
+import org.apache.commons.lang3.StringUtils;
+import org.dozer.MappingException;
+import org.dozer.classmap.MappingFileData;
+import org.dozer.config.BeanContainer;
+import org.dozer.util.DozerClassLoader;
+import org.dozer.util.MappingUtils;
+import org.dozer.util.MappingValidator;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.net.URL;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Internal class that reads a list of custom mapping xml files into raw ClassMap objects. Files are parsed concurrently
+ * when more than one loader thread is configured. Results are always returned in the order the files were given, so
+ * global configuration lookup and duplicate mapping detection behave exactly as with sequential loading.
+ * <p/>
+ * Mapping files found on the classpath (no URL prefix) may optionally be parsed without XML Schema validation.
+ * Only intended for internal use.
+ */
+public class MappingFilesLoader {
+
+  private final Logger log = LoggerFactory.getLogger(MappingFilesLoader.class);
+
+  private final XMLParserFactory parserFactory;
+  private final int threads;
+  private final boolean validateClasspath;
+  private final DozerClassLoader classLoader;
+
+  // Validator is not thread safe, so every loader thread keeps its own readers
+  private final ThreadLocal<Readers> readers = new ThreadLocal<Readers>() {
+    @Override
+    protected Readers initialValue() {
+      return new Readers();
+    }
+  };
+
+  public MappingFilesLoader(XMLParserFactory parserFactory, int threads, boolean validateClasspath) {
+    this(parserFactory, threads, validateClasspath, BeanContainer.getInstance().getClassLoader());
+  }
+
+  /**
+   * @param classLoader class loader locating the mapping files
+   */
+  public MappingFilesLoader(XMLParserFactory parserFactory, int threads, boolean validateClasspath,
+                            DozerClassLoader classLoader) {
+    this.parserFactory = parserFactory;
+    this.threads = threads;
+    this.validateClasspath = validateClasspath;
+    this.classLoader = classLoader;
+  }
+
+  public List<MappingFileData> load(List<String> mappingFiles) {
+    List<MappingFileData> result = new ArrayList<MappingFileData>();
+    if (mappingFiles == null || mappingFiles.isEmpty()) {
+      return result;
+    }
+
+    log.info("Using the following xml files to load custom mappings for the bean mapper instance: {}", mappingFiles);
+    int poolSize = Math.min(threads, mappingFiles.size());
+    if (poolSize <= 1) {
+      for (String mappingFileName : mappingFiles) {
+        result.add(loadFile(mappingFileName));
+      }
+      return result;
+    }
+
+    ExecutorService executor = Executors.newFixedThreadPool(poolSize, new LoaderThreadFactory());
+    try {
+      List<Future<MappingFileData>> futures = new ArrayList<Future<MappingFileData>>(mappingFiles.size());
+      for (final String mappingFileName : mappingFiles) {
+        futures.add(executor.submit(new Callable<MappingFileData>() {
+          public MappingFileData call() {
+            return loadFile(mappingFileName);
+          }
+        }));
+      }
+      // Collect in submission order, so that the first failing file is always the one reported
+      for (Future<MappingFileData> future : futures) {
+        result.add(getResult(future));
+      }
+    } finally {
+      executor.shutdownNow();
+    }
+    return result;
+  }
+
+  private MappingFileData loadFile(String mappingFileName) {
+    log.info("Trying to find xml mapping file: {}", mappingFileName);
+    URL url = MappingValidator.validateURL(mappingFileName, classLoader);
+    log.info("Using URL [" + url + "] to load custom xml mappings");
+    // all files are streamed, validation only adds a separate pass over the file
+    boolean validating = validateClasspath || !isClasspathResource(mappingFileName);
+    MappingFileData mappingFileData = readers.get().getReader(validating).read(url);
+    log.info("Successfully loaded custom xml mappings from URL: [{}]", url);
+    return mappingFileData;
+  }
+
+  private MappingFileData getResult(Future<MappingFileData> future) {
+    try {
+      return future.get();
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new MappingException("Interrupted while loading mapping files", e);
+    } catch (ExecutionException e) {
+      Throwable cause = e.getCause();
+      if (cause instanceof RuntimeException) {
+        throw (RuntimeException) cause;
+      }
+      if (cause instanceof Error) {
+        throw (Error) cause;
+      }
+      MappingUtils.throwMappingException(cause);
+      return null;
+    }
+  }
+
+  static boolean isClasspathResource(String mappingFileName) {
+    return !StringUtils.contains(mappingFileName, ":");
+  }
+
+  private class Readers {
+
+    private MappingFileReader validatingReader;
+    private MappingFileReader nonValidatingReader;
+
+    MappingFileReader getReader(boolean validating) {
+      if (validating) {
+        if (validatingReader == null) {
+          validatingReader = new MappingFileReader(parserFactory, true);
+        }
+        return validatingReader;
+      }
+      if (nonValidatingReader == null) {
+        nonValidatingReader = new MappingFileReader(parserFactory, false);
+      }
+      return nonValidatingReader;
+    }
+  }
+
+  private static class LoaderThreadFactory implements ThreadFactory {
+
+    private final AtomicInteger counter = new AtomicInteger();
+    // Mapping files are resolved through the context class loader of the calling thread
+    private final ClassLoader contextClassLoader = Thread.currentThread().getContextClassLoader();
+
+    public Thread newThread(Runnable runnable) {
+      Thread thread = new Thread(runnable, "dozer-mapping-loader-" + counter.incrementAndGet());
+      thread.setDaemon(true);
+      thread.setContextClassLoader(contextClassLoader);
+      return thread;
+    }
+  }
+
+}
@@ -0,0 +1,401 @@
+/**
+ * Copyright 2005-2013 Dozer Project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.dozer.loader.xml;
+
+import org.apache.commons.lang3.StringUtils;
+import org.dozer.classmap.MappingDirection;
+import org.dozer.classmap.MappingFileData;
+import org.dozer.classmap.RelationshipType;
+import org.dozer.config.BeanContainer;
+import org.dozer.loader.DozerBuilder;
+import org.dozer.loader.MappingsSource;
+import org.dozer.util.MappingUtils;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import javax.xml.stream.XMLInputFactory;
+import javax.xml.stream.XMLStreamConstants;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamReader;
+import java.io.InputStream;
+import java.util.HashMap;
+import java.util.Map;
+
+import static org.dozer.loader.xml.XMLMappingSupport.ALLOWED_EXCEPTIONS_ELEMENT;
+import static org.dozer.loader.xml.XMLMappingSupport.ALLOWED_EXCEPTION_ELEMENT;
+import static org.dozer.loader.xml.XMLMappingSupport.A_ELEMENT;
+import static org.dozer.loader.xml.XMLMappingSupport.BEAN_FACTORY;
+import static org.dozer.loader.xml.XMLMappingSupport.B_ELEMENT;
+import static org.dozer.loader.xml.XMLMappingSupport.CLASS_A_ELEMENT;
+import static org.dozer.loader.xml.XMLMappingSupport.CLASS_B_ELEMENT;
+import static org.dozer.loader.xml.XMLMappingSupport.CONFIGURATION_ELEMENT;
+import static org.dozer.loader.xml.XMLMappingSupport.CONVERTER_ELEMENT;
+import static org.dozer.loader.xml.XMLMappingSupport.COPY_BY_REFERENCE;
+import static org.dozer.loader.xml.XMLMappingSupport.COPY_BY_REFERENCES_ELEMENT;
+import static org.dozer.loader.xml.XMLMappingSupport.CUSTOM_CONVERTERS_ELEMENT;
+import static org.dozer.loader.xml.XMLMappingSupport.DATE_FORMAT;
+import static org.dozer.loader.xml.XMLMappingSupport.DEST_TYPE_DEEP_INDEX_HINT_ELEMENT;
+import static org.dozer.loader.xml.XMLMappingSupport.DEST_TYPE_HINT_ELEMENT;
+import static org.dozer.loader.xml.XMLMappingSupport.FIELD_ELEMENT;
+import static org.dozer.loader.xml.XMLMappingSupport.FIELD_EXCLUDE_ELEMENT;
+import static org.dozer.loader.xml.XMLMappingSupport.MAPPING_ELEMENT;
+import static org.dozer.loader.xml.XMLMappingSupport.MAP_EMPTY_STRING;
+import static org.dozer.loader.xml.XMLMappingSupport.MAP_NULL;
+import static org.dozer.loader.xml.XMLMappingSupport.NAME_ATTRIBUTE;
+import static org.dozer.loader.xml.XMLMappingSupport.RELATIONSHIP_TYPE;
+import static org.dozer.loader.xml.XMLMappingSupport.SRC_TYPE_DEEP_INDEX_HINT_ELEMENT;
+import static org.dozer.loader.xml.XMLMappingSupport.SRC_TYPE_HINT_ELEMENT;
+import static org.dozer.loader.xml.XMLMappingSupport.STOP_ON_ERRORS_ELEMENT;
+import static org.dozer.loader.xml.XMLMappingSupport.TRIM_STRINGS;
+import static org.dozer.loader.xml.XMLMappingSupport.TYPE_ATTRIBUTE;
+import static org.dozer.loader.xml.XMLMappingSupport.VARIABLES_ELEMENT;
+import static org.dozer.loader.xml.XMLMappingSupport.VARIABLE_ELEMENT;
+import static org.dozer.loader.xml.XMLMappingSupport.WILDCARD;
+import static org.dozer.loader.xml.XMLMappingSupport.applyClassAttributes;
+import static org.dozer.loader.xml.XMLMappingSupport.applyFieldAttributes;
+import static org.dozer.loader.xml.XMLMappingSupport.applyFieldExclusionAttributes;
+import static org.dozer.loader.xml.XMLMappingSupport.applyFieldMappingAttributes;
+import static org.dozer.loader.xml.XMLMappingSupport.applyMappingAttributes;
+
+/**
+ * Internal class that parses a custom mapping XML stream with StAX. Builder calls are issued while the document is
+ * read, so no DOM tree is held in memory and memory use does not grow with the size of the mapping file.
+ * <p/>
+ * Produces the same MappingFileData as {@link MappingStreamReader} with {@link XMLParser}, including EL resolution of
+ * attribute and element values. The stream is not validated against the XML Schema, which {@link MappingFileReader}
+ * does beforehand unless the file is trusted. Only intended for internal use.
+ */
+public class StaxMappingStreamReader implements MappingsSource<InputStream> {
+
+  private static final Logger log = LoggerFactory.getLogger(StaxMappingStreamReader.class);
+
+  private final XMLInputFactory inputFactory;
+  private final ELEngine elEngine;
+
+  public StaxMappingStreamReader() {
+    inputFactory = XMLInputFactory.newInstance();
+    inputFactory.setProperty(XMLInputFactory.IS_COALESCING, Boolean.TRUE);
+    inputFactory.setProperty(XMLInputFactory.IS_NAMESPACE_AWARE, Boolean.TRUE);
+    inputFactory.setProperty(XMLInputFactory.IS_SUPPORTING_EXTERNAL_ENTITIES, Boolean.FALSE);
+    inputFactory.setProperty(XMLInputFactory.SUPPORT_DTD, Boolean.FALSE);
+    elEngine = BeanContainer.getInstance().getElEngine();
+  }
+
+  public MappingFileData read(InputStream xmlStream) {
+    MappingFileData result = null;
+    XMLStreamReader reader = null;
+    try {
+      reader = inputFactory.createXMLStreamReader(xmlStream);
+      result = read(reader);
+    } catch (Throwable e) {
+      log.error("Error while loading dozer mapping InputStream: [" + xmlStream + "]", e);
+      MappingUtils.throwMappingException(e);
+    } finally {
+      close(reader);
+    }
+    return result;
+  }
+
+  private MappingFileData read(XMLStreamReader reader) throws XMLStreamException {
+    DozerBuilder builder = new DozerBuilder();
+
+    // move to the root element, skipping prolog and DOCTYPE
+    while (reader.next() != XMLStreamConstants.START_ELEMENT) {
+    }
+    while (nextElement(reader)) {
+      String name = reader.getLocalName();
+      log.debug("name: {}", name);
+      if (CONFIGURATION_ELEMENT.equals(name)) {
+        parseConfiguration(reader, builder);
+      } else if (MAPPING_ELEMENT.equals(name)) {
+        parseMapping(reader, builder);
+      } else {
+        skipElement(reader);
+      }
+    }
+
+    return builder.build();
+  }
+
+  private void parseMapping(XMLStreamReader reader, DozerBuilder builder) throws XMLStreamException {
+    DozerBuilder.MappingBuilder definitionBuilder = builder.mapping();
+
+    applyMappingAttributes(new StaxAttributes(reader), definitionBuilder);
+
+    while (nextElement(reader)) {
+      String name = reader.getLocalName();
+      if (CLASS_A_ELEMENT.equals(name)) {
+        StaxAttributes attributes = new StaxAttributes(reader);
+        applyClassAttributes(attributes, definitionBuilder.classA(getNodeValue(reader)));
+      } else if (CLASS_B_ELEMENT.equals(name)) {
+        StaxAttributes attributes = new StaxAttributes(reader);
+        applyClassAttributes(attributes, definitionBuilder.classB(getNodeValue(reader)));
+      } else if (FIELD_ELEMENT.equals(name)) {
+        parseGenericFieldMap(reader, definitionBuilder);
+      } else if (FIELD_EXCLUDE_ELEMENT.equals(name)) {
+        parseFieldExcludeMap(reader, definitionBuilder);
+      } else {
+        skipElement(reader);
+      }
+    }
+  }
+
+  private void parseFieldExcludeMap(XMLStreamReader reader, DozerBuilder.MappingBuilder definitionBuilder)
+      throws XMLStreamException {
+    DozerBuilder.FieldExclusionBuilder fieldMapBuilder = definitionBuilder.fieldExclude();
+    StaxAttributes attributes = new StaxAttributes(reader);
+    if (StringUtils.isEmpty(attributes.get(TYPE_ATTRIBUTE))) {
+      // default value declared in beanmapping.xsd, which a validating DOM parser would fill in
+      fieldMapBuilder.type(MappingDirection.BI_DIRECTIONAL);
+    }
+    applyFieldExclusionAttributes(attributes, fieldMapBuilder);
+    while (nextElement(reader)) {
+      if (!parseFieldElement(reader, fieldMapBuilder)) {
+        skipElement(reader);
+      }
+    }
+  }
+
+  private void parseGenericFieldMap(XMLStreamReader reader, DozerBuilder.MappingBuilder definitionBuilder)
+      throws XMLStreamException {
+    DozerBuilder.FieldMappingBuilder fieldMapBuilder = definitionBuilder.field();
+
+    applyFieldMappingAttributes(new StaxAttributes(reader), fieldMapBuilder);
+
+    while (nextElement(reader)) {
+      if (parseFieldElement(reader, fieldMapBuilder)) {
+        continue;
+      }
+      String name = reader.getLocalName();
+      if (SRC_TYPE_HINT_ELEMENT.equals(name)) {
+        fieldMapBuilder.srcHintContainer(getNodeValue(reader));
+      } else if (DEST_TYPE_HINT_ELEMENT.equals(name)) {
+        fieldMapBuilder.destHintContainer(getNodeValue(reader));
+      } else if (SRC_TYPE_DEEP_INDEX_HINT_ELEMENT.equals(name)) {
+        fieldMapBuilder.srcDeepIndexHintContainer(getNodeValue(reader));
+      } else if (DEST_TYPE_DEEP_INDEX_HINT_ELEMENT.equals(name)) {
+        fieldMapBuilder.destDeepIndexHintContainer(getNodeValue(reader));
+      } else {
+        skipElement(reader);
+      }
+    }
+  }
+
+  private boolean parseFieldElement(XMLStreamReader reader, DozerBuilder.FieldBuider fieldMapBuilder)
+      throws XMLStreamException {
+    String name = reader.getLocalName();
+    if (A_ELEMENT.equals(name)) {
+      StaxAttributes attributes = new StaxAttributes(reader);
+      applyFieldAttributes(attributes, fieldMapBuilder.a(getNodeValue(reader), attributes.get(TYPE_ATTRIBUTE)));
+      return true;
+    }
+    if (B_ELEMENT.equals(name)) {
+      StaxAttributes attributes = new StaxAttributes(reader);
+      applyFieldAttributes(attributes, fieldMapBuilder.b(getNodeValue(reader), attributes.get(TYPE_ATTRIBUTE)));
+      return true;
+    }
+    return false;
+  }
+
+  private void parseConfiguration(XMLStreamReader reader, DozerBuilder builder) throws XMLStreamException {
+    DozerBuilder.ConfigurationBuilder configBuilder = builder.configuration();
+    while (nextElement(reader)) {
+      String name = reader.getLocalName();
+      log.debug("config name: {}", name);
+      if (STOP_ON_ERRORS_ELEMENT.equals(name)) {
+        configBuilder.stopOnErrors(Boolean.valueOf(getNodeValue(reader)));
+      } else if (DATE_FORMAT.equals(name)) {
+        configBuilder.dateFormat(getNodeValue(reader));
+      } else if (WILDCARD.equals(name)) {
+        configBuilder.wildcard(Boolean.valueOf(getNodeValue(reader)));
+      } else if (TRIM_STRINGS.equals(name)) {
+        configBuilder.trimStrings(Boolean.valueOf(getNodeValue(reader)));
+      } else if (MAP_NULL.equals(name)) {
+        configBuilder.mapNull(Boolean.valueOf(getNodeValue(reader)));
+      } else if (MAP_EMPTY_STRING.equals(name)) {
+        configBuilder.mapEmptyString(Boolean.valueOf(getNodeValue(reader)));
+      } else if (RELATIONSHIP_TYPE.equals(name)) {
+        configBuilder.relationshipType(RelationshipType.valueOf(getNodeValue(reader)));
+      } else if (BEAN_FACTORY.equals(name)) {
+        configBuilder.beanFactory(getNodeValue(reader));
+      } else if (CUSTOM_CONVERTERS_ELEMENT.equals(name)) {
+        parseCustomConverters(reader, configBuilder);
+      } else if (COPY_BY_REFERENCES_ELEMENT.equals(name)) {
+        parseCopyByReferences(reader, configBuilder);
+      } else if (ALLOWED_EXCEPTIONS_ELEMENT.equals(name)) {
+        parseAllowedExceptions(reader, configBuilder);
+      } else if (VARIABLES_ELEMENT.equals(name)) {
+        parseVariables(reader);
+      } else {
+        skipElement(reader);
+      }
+    }
+  }
+
+  private void parseVariables(XMLStreamReader reader) throws XMLStreamException {
+    while (nextElement(reader)) {
+      if (VARIABLE_ELEMENT.equals(reader.getLocalName()) && elEngine != null) {
+        String name = getAttribute(reader, NAME_ATTRIBUTE);
+        String value = getNodeValue(reader);
+        elEngine.setVariable(name, value);
+      } else {
+        skipElement(reader);
+      }
+    }
+  }
+
+  private void parseCustomConverters(XMLStreamReader reader, DozerBuilder.ConfigurationBuilder config)
+      throws XMLStreamException {
+    while (nextElement(reader)) {
+      if (CONVERTER_ELEMENT.equals(reader.getLocalName())) {
+        String converterType = getAttribute(reader, TYPE_ATTRIBUTE);
+        DozerBuilder.CustomConverterBuilder customConverterBuilder = config.customConverter(converterType);
+        while (nextElement(reader)) {
+          String name = reader.getLocalName();
+          if (CLASS_A_ELEMENT.equals(name)) {
+            customConverterBuilder.classA(getNodeValue(reader));
+          } else if (CLASS_B_ELEMENT.equals(name)) {
+            customConverterBuilder.classB(getNodeValue(reader));
+          } else {
+            skipElement(reader);
+          }
+        }
+      } else {
+        skipElement(reader);
+      }
+    }
+  }
+
+  private void parseCopyByReferences(XMLStreamReader reader, DozerBuilder.ConfigurationBuilder config)
+      throws XMLStreamException {
+    while (nextElement(reader)) {
+      if (COPY_BY_REFERENCE.equals(reader.getLocalName())) {
+        config.copyByReference(getNodeValue(reader));
+      } else {
+        skipElement(reader);
+      }
+    }
+  }
+
+  private void parseAllowedExceptions(XMLStreamReader reader, DozerBuilder.ConfigurationBuilder config)
+      throws XMLStreamException {
+    while (nextElement(reader)) {
+      if (ALLOWED_EXCEPTION_ELEMENT.equals(reader.getLocalName())) {
+        config.allowedException(getNodeValue(reader));
+      } else {
+        skipElement(reader);
+      }
+    }
+  }
+
+  /**
+   * Advances to the next child element of the current element.
+   *
+   * @return false once the end tag of the current element is reached
+   */
+  private static boolean nextElement(XMLStreamReader reader) throws XMLStreamException {
+    while (reader.hasNext()) {
+      int event = reader.next();
+      if (event == XMLStreamConstants.START_ELEMENT) {
+        return true;
+      }
+      if (event == XMLStreamConstants.END_ELEMENT) {
+        return false;
+      }
+    }
+    return false;
+  }
+
+  private static void skipElement(XMLStreamReader reader) throws XMLStreamException {
+    int depth = 1;
+    while (depth > 0) {
+      int event = reader.next();
+      if (event == XMLStreamConstants.START_ELEMENT) {
+        depth++;
+      } else if (event == XMLStreamConstants.END_ELEMENT) {
+        depth--;
+      }
+    }
+  }
+
+  private String getAttribute(XMLStreamReader reader, String attribute) {
+    String value = reader.getAttributeValue(null, attribute);
+    return resolve(value == null ? "" : value.trim());
+  }
+
+  /**
+   * Reads the value of the first child node and moves to the end of the current element, which is what
+   * {@link SimpleElementReader#getNodeValue} returns for the DOM tree.
+   */
+  private String getNodeValue(XMLStreamReader reader) throws XMLStreamException {
+    String value = "";
+    int event = reader.next();
+    switch (event) {
+      case XMLStreamConstants.CHARACTERS:
+      case XMLStreamConstants.CDATA:
+      case XMLStreamConstants.SPACE:
+      case XMLStreamConstants.COMMENT:
+        value = reader.getText().trim();
+        break;
+      default:
+        break;
+    }
+    if (event == XMLStreamConstants.START_ELEMENT) {
+      // first child is an element, skip over it
+      skipElement(reader);
+    }
+    if (event != XMLStreamConstants.END_ELEMENT) {
+      // skip the remaining content of the current element
+      skipElement(reader);
+    }
+    return resolve(value);
+  }
+
+  private String resolve(String value) {
+    return elEngine != null ? elEngine.resolve(value) : value;
+  }
+
+  private static void close(XMLStreamReader reader) {
+    if (reader == null) {
+      return;
+    }
+    try {
+      reader.close();
+    } catch (XMLStreamException e) {
+      log.warn("Could not close mapping stream reader", e);
+    }
+  }
+
+  /**
+   * Attributes of the current element, captured before the reader moves on to the element content.
+   */
+  private class StaxAttributes implements XMLMappingSupport.Attributes {
+
+    private final Map<String, String> values = new HashMap<String, String>();
+
+    StaxAttributes(XMLStreamReader reader) {
+      for (int i = 0; i < reader.getAttributeCount(); i++) {
+        values.put(reader.getAttributeLocalName(i), reader.getAttributeValue(i));
+      }
+    }
+
+    public String get(String name) {
+      String value = values.get(name);
+      return resolve(value == null ? "" : value.trim());
+    }
+  }
+
+}
@@ -0,0 +1,231 @@
+/**
+ * Copyright 2005-2013 Dozer Project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.dozer.loader.xml;
+
+import org.apache.commons.lang3.BooleanUtils;
+import org.apache.commons.lang3.StringUtils;
+import org.dozer.classmap.LazyLoadingPolicy;
+import org.dozer.classmap.MappingDirection;
+import org.dozer.classmap.RelationshipType;
+import org.dozer.loader.DozerBuilder;
+
+/**
+ * Internal class holding the element and attribute names of the mapping XML format, and applying mapping, class and
+ * field attributes to the corresponding builders. Shared by {@link XMLParser} and {@link StaxMappingStreamReader}, so
+ * that both readers interpret attributes the same way. Only intended for internal use.
+ */
+final class XMLMappingSupport {
+
+  // Common Elements/Attributes
+  static final String WILDCARD = "wildcard";
+  static final String TRIM_STRINGS = "trim-strings";
+  static final String REUSE_DESTINATION_ATTRIBUTE = "reuse-destination";
+  static final String BEAN_FACTORY = "bean-factory";
+  static final String DATE_FORMAT = "date-format";
+  static final String RELATIONSHIP_TYPE = "relationship-type";
+  static final String LAZY_LOADING = "lazy-loading";
+  static final String REMOVE_ORPHANS = "remove-orphans";
+  static final String MAP_NULL = "map-null";
+  static final String MAP_EMPTY_STRING = "map-empty-string";
+
+  // Parsing Elements
+  static final String CONFIGURATION_ELEMENT = "configuration";
+  static final String STOP_ON_ERRORS_ELEMENT = "stop-on-errors";
+  static final String CUSTOM_CONVERTERS_ELEMENT = "custom-converters";
+  static final String COPY_BY_REFERENCES_ELEMENT = "copy-by-references";
+  static final String COPY_BY_REFERENCE = "copy-by-reference";
+  static final String CONVERTER_ELEMENT = "converter";
+  static final String CLASS_A_ELEMENT = "class-a";
+  static final String CLASS_B_ELEMENT = "class-b";
+  static final String MAPPING_ELEMENT = "mapping";
+  static final String FIELD_ELEMENT = "field";
+  static final String FIELD_EXCLUDE_ELEMENT = "field-exclude";
+  static final String A_ELEMENT = "a";
+  static final String B_ELEMENT = "b";
+  static final String SRC_TYPE_HINT_ELEMENT = "a-hint";
+  static final String DEST_TYPE_HINT_ELEMENT = "b-hint";
+  static final String SRC_TYPE_DEEP_INDEX_HINT_ELEMENT = "a-deep-index-hint";
+  static final String DEST_TYPE_DEEP_INDEX_HINT_ELEMENT = "b-deep-index-hint";
+  static final String ALLOWED_EXCEPTIONS_ELEMENT = "allowed-exceptions";
+  static final String ALLOWED_EXCEPTION_ELEMENT = "exception";
+  static final String VARIABLES_ELEMENT = "variables";
+  static final String VARIABLE_ELEMENT = "variable";
+
+  // Parsing Attributes
+  static final String TYPE_ATTRIBUTE = "type";
+  static final String NAME_ATTRIBUTE = "name";
+  static final String COPY_BY_REFERENCE_ATTRIBUTE = "copy-by-reference";
+  static final String THE_SET_METHOD_ATTRIBUTE = "set-method";
+  static final String THE_GET_METHOD_ATTRIBUTE = "get-method";
+  static final String STOP_ON_ERRORS_ATTRIBUTE = "stop-on-errors";
+  static final String MAPID_ATTRIBUTE = "map-id";
+  static final String MAP_SET_METHOD_ATTRIBUTE = "map-set-method";
+  static final String MAP_GET_METHOD_ATTRIBUTE = "map-get-method";
+  static final String KEY_ATTRIBUTE = "key";
+  static final String FACTORY_BEANID_ATTRIBUTE = "factory-bean-id";
+  static final String IS_ACCESSIBLE_ATTRIBUTE = "is-accessible";
+  static final String CREATE_METHOD_ATTRIBUTE = "create-method";
+  static final String MAP_NULL_ATTRIBUTE = "map-null";
+  static final String MAP_EMPTY_STRING_ATTRIBUTE = "map-empty-string";
+  static final String CUSTOM_CONVERTER_ATTRIBUTE = "custom-converter";
+  static final String CUSTOM_CONVERTER_ID_ATTRIBUTE = "custom-converter-id";
+  static final String CUSTOM_CONVERTER_PARAM_ATTRIBUTE = "custom-converter-param";
+
+  private XMLMappingSupport() {}
+
+  /**
+   * Attribute values of a single element. Values are trimmed and have expressions resolved; missing attributes are
+   * returned as an empty string.
+   */
+  interface Attributes {
+
+    String get(String name);
+
+  }
+
+  static void applyMappingAttributes(Attributes attributes, DozerBuilder.MappingBuilder definitionBuilder) {
+    if (StringUtils.isNotEmpty(attributes.get(DATE_FORMAT))) {
+      definitionBuilder.dateFormat(attributes.get(DATE_FORMAT));
+    }
+    if (StringUtils.isNotEmpty(attributes.get(MAP_NULL_ATTRIBUTE))) {
+      definitionBuilder.mapNull(BooleanUtils.toBoolean(attributes.get(MAP_NULL_ATTRIBUTE)));
+    }
+    if (StringUtils.isNotEmpty(attributes.get(MAP_EMPTY_STRING_ATTRIBUTE))) {
+      definitionBuilder.mapEmptyString(BooleanUtils.toBoolean(attributes.get(MAP_EMPTY_STRING_ATTRIBUTE)));
+    }
+    if (StringUtils.isNotEmpty(attributes.get(BEAN_FACTORY))) {
+      definitionBuilder.beanFactory(attributes.get(BEAN_FACTORY));
+    }
+    if (StringUtils.isNotEmpty(attributes.get(RELATIONSHIP_TYPE))) {
+      definitionBuilder.relationshipType(RelationshipType.valueOf(attributes.get(RELATIONSHIP_TYPE)));
+    }
+    if (StringUtils.isNotEmpty(attributes.get(LAZY_LOADING))) {
+      definitionBuilder.lazyLoadingPolicy(LazyLoadingPolicy.valueOf(attributes.get(LAZY_LOADING)));
+    }
+    if (StringUtils.isNotEmpty(attributes.get(WILDCARD))) {
+      definitionBuilder.wildcard(Boolean.valueOf(attributes.get(WILDCARD)));
+    }
+    if (StringUtils.isNotEmpty(attributes.get(TRIM_STRINGS))) {
+      definitionBuilder.trimStrings(Boolean.valueOf(attributes.get(TRIM_STRINGS)));
+    }
+    if (StringUtils.isNotEmpty(attributes.get(STOP_ON_ERRORS_ATTRIBUTE))) {
+      definitionBuilder.stopOnErrors(Boolean.valueOf(attributes.get(STOP_ON_ERRORS_ATTRIBUTE)));
+    }
+    if (StringUtils.isNotEmpty(attributes.get(REUSE_DESTINATION_ATTRIBUTE))) {
+      definitionBuilder.reuseDestination(Boolean.valueOf(attributes.get(REUSE_DESTINATION_ATTRIBUTE)));
+    }
+    if (StringUtils.isNotEmpty(attributes.get(MAPID_ATTRIBUTE))) {
+      definitionBuilder.mapId(attributes.get(MAPID_ATTRIBUTE));
+    }
+    if (StringUtils.isNotEmpty(attributes.get(TYPE_ATTRIBUTE))) {
+      definitionBuilder.type(MappingDirection.valueOf(attributes.get(TYPE_ATTRIBUTE)));
+    }
+  }
+
+  static void applyClassAttributes(Attributes attributes, DozerBuilder.ClassDefinitionBuilder classBuilder) {
+    if (StringUtils.isNotEmpty(attributes.get(MAP_GET_METHOD_ATTRIBUTE))) {
+      classBuilder.mapGetMethod(attributes.get(MAP_GET_METHOD_ATTRIBUTE));
+    }
+    if (StringUtils.isNotEmpty(attributes.get(MAP_SET_METHOD_ATTRIBUTE))) {
+      classBuilder.mapSetMethod(attributes.get(MAP_SET_METHOD_ATTRIBUTE));
+    }
+    if (StringUtils.isNotEmpty(attributes.get(BEAN_FACTORY))) {
+      classBuilder.beanFactory(attributes.get(BEAN_FACTORY));
+    }
+    if (StringUtils.isNotEmpty(attributes.get(FACTORY_BEANID_ATTRIBUTE))) {
+      classBuilder.factoryBeanId(attributes.get(FACTORY_BEANID_ATTRIBUTE));
+    }
+    if (StringUtils.isNotEmpty(attributes.get(CREATE_METHOD_ATTRIBUTE))) {
+      classBuilder.createMethod(attributes.get(CREATE_METHOD_ATTRIBUTE));
+    }
+    if (StringUtils.isNotEmpty(attributes.get(MAP_NULL_ATTRIBUTE))) {
+      classBuilder.mapNull(Boolean.valueOf(attributes.get(MAP_NULL_ATTRIBUTE)));
+    }
+    if (StringUtils.isNotEmpty(attributes.get(MAP_EMPTY_STRING_ATTRIBUTE))) {
+      classBuilder.mapEmptyString(Boolean.valueOf(attributes.get(MAP_EMPTY_STRING_ATTRIBUTE)));
+    }
+    if (StringUtils.isNotEmpty(attributes.get(IS_ACCESSIBLE_ATTRIBUTE))) {
+      classBuilder.isAccessible(Boolean.valueOf(attributes.get(IS_ACCESSIBLE_ATTRIBUTE)));
+    }
+  }
+
+  static void applyFieldExclusionAttributes(Attributes attributes,
+                                            DozerBuilder.FieldExclusionBuilder fieldMapBuilder) {
+    if (StringUtils.isNotEmpty(attributes.get(TYPE_ATTRIBUTE))) {
+      fieldMapBuilder.type(MappingDirection.valueOf(attributes.get(TYPE_ATTRIBUTE)));
+    }
+  }
+
+  static void applyFieldMappingAttributes(Attributes attributes, DozerBuilder.FieldMappingBuilder fieldMapBuilder) {
+    if (StringUtils.isNotEmpty(attributes.get(COPY_BY_REFERENCE_ATTRIBUTE))) {
+      fieldMapBuilder.copyByReference(BooleanUtils.toBoolean(attributes.get(COPY_BY_REFERENCE_ATTRIBUTE)));
+    }
+    if (StringUtils.isNotEmpty(attributes.get(MAPID_ATTRIBUTE))) {
+      fieldMapBuilder.mapId(attributes.get(MAPID_ATTRIBUTE));
+    }
+    if (StringUtils.isNotEmpty(attributes.get(TYPE_ATTRIBUTE))) {
+      fieldMapBuilder.type(MappingDirection.valueOf(attributes.get(TYPE_ATTRIBUTE)));
+    }
+    if (StringUtils.isNotEmpty(attributes.get(CUSTOM_CONVERTER_ATTRIBUTE))) {
+      fieldMapBuilder.customConverter(attributes.get(CUSTOM_CONVERTER_ATTRIBUTE));
+    }
+    if (StringUtils.isNotEmpty(attributes.get(CUSTOM_CONVERTER_ID_ATTRIBUTE))) {
+      fieldMapBuilder.customConverterId(attributes.get(CUSTOM_CONVERTER_ID_ATTRIBUTE));
+    }
+    if (StringUtils.isNotEmpty(attributes.get(CUSTOM_CONVERTER_PARAM_ATTRIBUTE))) {
+      fieldMapBuilder.customConverterParam(attributes.get(CUSTOM_CONVERTER_PARAM_ATTRIBUTE));
+    }
+    RelationshipType relationshipType = null;
+    if (StringUtils.isNotEmpty(attributes.get(RELATIONSHIP_TYPE))) {
+      relationshipType = RelationshipType.valueOf(attributes.get(RELATIONSHIP_TYPE));
+    }
+    fieldMapBuilder.relationshipType(relationshipType);
+    if (StringUtils.isNotEmpty(attributes.get(LAZY_LOADING))) {
+      fieldMapBuilder.lazyLoadingPolicy(LazyLoadingPolicy.valueOf(attributes.get(LAZY_LOADING)));
+    }
+    if (StringUtils.isNotEmpty(attributes.get(REMOVE_ORPHANS))) {
+      fieldMapBuilder.removeOrphans(BooleanUtils.toBoolean(attributes.get(REMOVE_ORPHANS)));
+    }
+  }
+
+  static void applyFieldAttributes(Attributes attributes, DozerBuilder.FieldDefinitionBuilder fieldBuilder) {
+    if (StringUtils.isNotEmpty(attributes.get(DATE_FORMAT))) {
+      fieldBuilder.dateFormat(attributes.get(DATE_FORMAT));
+    }
+    if (StringUtils.isNotEmpty(attributes.get(THE_GET_METHOD_ATTRIBUTE))) {
+      fieldBuilder.theGetMethod(attributes.get(THE_GET_METHOD_ATTRIBUTE));
+    }
+    if (StringUtils.isNotEmpty(attributes.get(THE_SET_METHOD_ATTRIBUTE))) {
+      fieldBuilder.theSetMethod(attributes.get(THE_SET_METHOD_ATTRIBUTE));
+    }
+    if (StringUtils.isNotEmpty(attributes.get(MAP_GET_METHOD_ATTRIBUTE))) {
+      fieldBuilder.mapGetMethod(attributes.get(MAP_GET_METHOD_ATTRIBUTE));
+    }
+    if (StringUtils.isNotEmpty(attributes.get(MAP_SET_METHOD_ATTRIBUTE))) {
+      fieldBuilder.mapSetMethod(attributes.get(MAP_SET_METHOD_ATTRIBUTE));
+    }
+    if (StringUtils.isNotEmpty(attributes.get(KEY_ATTRIBUTE))) {
+      fieldBuilder.key(attributes.get(KEY_ATTRIBUTE));
+    }
+    if (StringUtils.isNotEmpty(attributes.get(CREATE_METHOD_ATTRIBUTE))) {
+      fieldBuilder.createMethod(attributes.get(CREATE_METHOD_ATTRIBUTE));
+    }
+    if (StringUtils.isNotEmpty(attributes.get(IS_ACCESSIBLE_ATTRIBUTE))) {
+      fieldBuilder.accessible(BooleanUtils.toBoolean(attributes.get(IS_ACCESSIBLE_ATTRIBUTE)));
+    }
+  }
+
+}
@@ -16,9 +16,6 @@
 package org.dozer.loader.xml;
 
 
-import org.apache.commons.lang3.BooleanUtils;
-import org.apache.commons.lang3.StringUtils;
-import org.dozer.classmap.MappingDirection;
 import org.dozer.classmap.MappingFileData;
 import org.dozer.classmap.RelationshipType;
 import org.dozer.config.BeanContainer;
@@ -31,6 +28,42 @@ import org.w3c.dom.Element;
 import org.w3c.dom.Node;
 import org.w3c.dom.NodeList;
 
+import static org.dozer.loader.xml.XMLMappingSupport.ALLOWED_EXCEPTIONS_ELEMENT;
+import static org.dozer.loader.xml.XMLMappingSupport.ALLOWED_EXCEPTION_ELEMENT;
+import static org.dozer.loader.xml.XMLMappingSupport.A_ELEMENT;
+import static org.dozer.loader.xml.XMLMappingSupport.BEAN_FACTORY;
+import static org.dozer.loader.xml.XMLMappingSupport.B_ELEMENT;
+import static org.dozer.loader.xml.XMLMappingSupport.CLASS_A_ELEMENT;
+import static org.dozer.loader.xml.XMLMappingSupport.CLASS_B_ELEMENT;
+import static org.dozer.loader.xml.XMLMappingSupport.CONFIGURATION_ELEMENT;
+import static org.dozer.loader.xml.XMLMappingSupport.CONVERTER_ELEMENT;
+import static org.dozer.loader.xml.XMLMappingSupport.COPY_BY_REFERENCE;
+import static org.dozer.loader.xml.XMLMappingSupport.COPY_BY_REFERENCES_ELEMENT;
+import static org.dozer.loader.xml.XMLMappingSupport.CUSTOM_CONVERTERS_ELEMENT;
+import static org.dozer.loader.xml.XMLMappingSupport.DATE_FORMAT;
+import static org.dozer.loader.xml.XMLMappingSupport.DEST_TYPE_DEEP_INDEX_HINT_ELEMENT;
+import static org.dozer.loader.xml.XMLMappingSupport.DEST_TYPE_HINT_ELEMENT;
+import static org.dozer.loader.xml.XMLMappingSupport.FIELD_ELEMENT;
+import static org.dozer.loader.xml.XMLMappingSupport.FIELD_EXCLUDE_ELEMENT;
+import static org.dozer.loader.xml.XMLMappingSupport.MAPPING_ELEMENT;
+import static org.dozer.loader.xml.XMLMappingSupport.MAP_EMPTY_STRING;
+import static org.dozer.loader.xml.XMLMappingSupport.MAP_NULL;
+import static org.dozer.loader.xml.XMLMappingSupport.NAME_ATTRIBUTE;
+import static org.dozer.loader.xml.XMLMappingSupport.RELATIONSHIP_TYPE;
+import static org.dozer.loader.xml.XMLMappingSupport.SRC_TYPE_DEEP_INDEX_HINT_ELEMENT;
+import static org.dozer.loader.xml.XMLMappingSupport.SRC_TYPE_HINT_ELEMENT;
+import static org.dozer.loader.xml.XMLMappingSupport.STOP_ON_ERRORS_ELEMENT;
+import static org.dozer.loader.xml.XMLMappingSupport.TRIM_STRINGS;
+import static org.dozer.loader.xml.XMLMappingSupport.TYPE_ATTRIBUTE;
+import static org.dozer.loader.xml.XMLMappingSupport.VARIABLES_ELEMENT;
+import static org.dozer.loader.xml.XMLMappingSupport.VARIABLE_ELEMENT;
+import static org.dozer.loader.xml.XMLMappingSupport.WILDCARD;
+import static org.dozer.loader.xml.XMLMappingSupport.applyClassAttributes;
+import static org.dozer.loader.xml.XMLMappingSupport.applyFieldAttributes;
+import static org.dozer.loader.xml.XMLMappingSupport.applyFieldExclusionAttributes;
+import static org.dozer.loader.xml.XMLMappingSupport.applyFieldMappingAttributes;
+import static org.dozer.loader.xml.XMLMappingSupport.applyMappingAttributes;
+
 /**
  * Internal class that parses a raw custom xml mapping file into ClassMap objects.
  * <p/>
@@ -44,59 +77,6 @@ public class XMLParser implements MappingsSource<Document> {
 
   private final Logger log = LoggerFactory.getLogger(XMLParser.class);
 
-  // Common Elements/Attributes
-  private static final String WILDCARD = "wildcard";
-  private static final String TRIM_STRINGS = "trim-strings";
-  private static final String BEAN_FACTORY = "bean-factory";
-  private static final String DATE_FORMAT = "date-format";
-  private static final String RELATIONSHIP_TYPE = "relationship-type";
-  private static final String REMOVE_ORPHANS = "remove-orphans";
-  private static final String MAP_NULL = "map-null";
-  private static final String MAP_EMPTY_STRING = "map-empty-string";
-
-  // Parsing Elements
-  private static final String CONFIGURATION_ELEMENT = "configuration";
-  private static final String STOP_ON_ERRORS_ELEMENT = "stop-on-errors";
-  private static final String CUSTOM_CONVERTERS_ELEMENT = "custom-converters";
-  private static final String COPY_BY_REFERENCES_ELEMENT = "copy-by-references";
-  private static final String COPY_BY_REFERENCE = "copy-by-reference";
-  private static final String CONVERTER_ELEMENT = "converter";
-  private static final String CLASS_A_ELEMENT = "class-a";
-  private static final String CLASS_B_ELEMENT = "class-b";
-  private static final String MAPPING_ELEMENT = "mapping";
-  private static final String FIELD_ELEMENT = "field";
-  private static final String FIELD_EXCLUDE_ELEMENT = "field-exclude";
-  private static final String A_ELEMENT = "a";
-  private static final String B_ELEMENT = "b";
-  private static final String SRC_TYPE_HINT_ELEMENT = "a-hint";
-  private static final String DEST_TYPE_HINT_ELEMENT = "b-hint";
-  private static final String SRC_TYPE_DEEP_INDEX_HINT_ELEMENT = "a-deep-index-hint";
-  private static final String DEST_TYPE_DEEP_INDEX_HINT_ELEMENT = "b-deep-index-hint";
-  private static final String ALLOWED_EXCEPTIONS_ELEMENT = "allowed-exceptions";
-  private static final String ALLOWED_EXCEPTION_ELEMENT = "exception";
-  private static final String VARIABLES_ELEMENT = "variables";
-  private static final String VARIABLE_ELEMENT = "variable";
-
-  // Parsing Attributes
-  private static final String TYPE_ATTRIBUTE = "type";
-  private static final String NAME_ATTRIBUTE = "name";
-  private static final String COPY_BY_REFERENCE_ATTRIBUTE = "copy-by-reference";
-  private static final String THE_SET_METHOD_ATTRIBUTE = "set-method";
-  private static final String THE_GET_METHOD_ATTRIBUTE = "get-method";
-  private static final String STOP_ON_ERRORS_ATTRIBUTE = "stop-on-errors";
-  private static final String MAPID_ATTRIBUTE = "map-id";
-  private static final String MAP_SET_METHOD_ATTRIBUTE = "map-set-method";
-  private static final String MAP_GET_METHOD_ATTRIBUTE = "map-get-method";
-  private static final String KEY_ATTRIBUTE = "key";
-  private static final String FACTORY_BEANID_ATTRIBUTE = "factory-bean-id";
-  private static final String IS_ACCESSIBLE_ATTRIBUTE = "is-accessible";
-  private static final String CREATE_METHOD_ATTRIBUTE = "create-method";
-  private static final String MAP_NULL_ATTRIBUTE = "map-null";
-  private static final String MAP_EMPTY_STRING_ATTRIBUTE = "map-empty-string";
-  private static final String CUSTOM_CONVERTER_ATTRIBUTE = "custom-converter";
-  private static final String CUSTOM_CONVERTER_ID_ATTRIBUTE = "custom-converter-id";
-  private static final String CUSTOM_CONVERTER_PARAM_ATTRIBUTE = "custom-converter-param";
-
   private final ElementReader elementReader;
 
   public XMLParser() {
@@ -107,6 +87,14 @@ public class XMLParser implements MappingsSource<Document> {
     return elementReader.getAttribute(element, attribute);
   }
 
+  private XMLMappingSupport.Attributes attributes(final Element element) {
+    return new XMLMappingSupport.Attributes() {
+      public String get(String name) {
+        return getAttribute(element, name);
+      }
+    };
+  }
+
   private String getNodeValue(Element element) {
     return elementReader.getNodeValue(element);
   }
@@ -145,40 +133,7 @@ public class XMLParser implements MappingsSource<Document> {
   private void parseMapping(Element ele, DozerBuilder builder) {
     DozerBuilder.MappingBuilder definitionBuilder = builder.mapping();
 
-    if (StringUtils.isNotEmpty(getAttribute(ele, DATE_FORMAT))) {
-      definitionBuilder.dateFormat(getAttribute(ele, DATE_FORMAT));
-    }
-    if (StringUtils.isNotEmpty(getAttribute(ele, MAP_NULL_ATTRIBUTE))) {
-      definitionBuilder.mapNull(BooleanUtils.toBoolean(getAttribute(ele, MAP_NULL_ATTRIBUTE)));
-    }
-    if (StringUtils.isNotEmpty(getAttribute(ele, MAP_EMPTY_STRING_ATTRIBUTE))) {
-      definitionBuilder.mapEmptyString(BooleanUtils.toBoolean(getAttribute(ele, MAP_EMPTY_STRING_ATTRIBUTE)));
-    }
-    if (StringUtils.isNotEmpty(getAttribute(ele, BEAN_FACTORY))) {
-      definitionBuilder.beanFactory(getAttribute(ele, BEAN_FACTORY));
-    }
-    if (StringUtils.isNotEmpty(getAttribute(ele, RELATIONSHIP_TYPE))) {
-      String relationshipTypeValue = getAttribute(ele, RELATIONSHIP_TYPE);
-      RelationshipType relationshipType = RelationshipType.valueOf(relationshipTypeValue);
-      definitionBuilder.relationshipType(relationshipType);
-    }
-    if (StringUtils.isNotEmpty(getAttribute(ele, WILDCARD))) {
-      definitionBuilder.wildcard(Boolean.valueOf(getAttribute(ele, WILDCARD)));
-    }
-    if (StringUtils.isNotEmpty(getAttribute(ele, TRIM_STRINGS))) {
-      definitionBuilder.trimStrings(Boolean.valueOf(getAttribute(ele, TRIM_STRINGS)));
-    }
-    if (StringUtils.isNotEmpty(getAttribute(ele, STOP_ON_ERRORS_ATTRIBUTE))) {
-      definitionBuilder.stopOnErrors(Boolean.valueOf(getAttribute(ele, STOP_ON_ERRORS_ATTRIBUTE)));
-    }
-    if (StringUtils.isNotEmpty(getAttribute(ele, MAPID_ATTRIBUTE))) {
-      definitionBuilder.mapId(getAttribute(ele, MAPID_ATTRIBUTE));
-    }
-    if (StringUtils.isNotEmpty(getAttribute(ele, TYPE_ATTRIBUTE))) {
-      String mappingDirection = getAttribute(ele, TYPE_ATTRIBUTE);
-      MappingDirection direction = MappingDirection.valueOf(mappingDirection);
-      definitionBuilder.type(direction);
-    }
+    applyMappingAttributes(attributes(ele), definitionBuilder);
     NodeList nl = ele.getChildNodes();
     for (int i = 0; i < nl.getLength(); i++) {
       Node node = nl.item(i);
@@ -205,39 +160,12 @@ public class XMLParser implements MappingsSource<Document> {
   }
 
   private void parseClass(Element element, DozerBuilder.ClassDefinitionBuilder classBuilder) {
-    if (StringUtils.isNotEmpty(getAttribute(element, MAP_GET_METHOD_ATTRIBUTE))) {
-      classBuilder.mapGetMethod(getAttribute(element, MAP_GET_METHOD_ATTRIBUTE));
-    }
-    if (StringUtils.isNotEmpty(getAttribute(element, MAP_SET_METHOD_ATTRIBUTE))) {
-      classBuilder.mapSetMethod(getAttribute(element, MAP_SET_METHOD_ATTRIBUTE));
-    }
-    if (StringUtils.isNotEmpty(getAttribute(element, BEAN_FACTORY))) {
-      classBuilder.beanFactory(getAttribute(element, BEAN_FACTORY));
-    }
-    if (StringUtils.isNotEmpty(getAttribute(element, FACTORY_BEANID_ATTRIBUTE))) {
-      classBuilder.factoryBeanId(getAttribute(element, FACTORY_BEANID_ATTRIBUTE));
-    }
-    if (StringUtils.isNotEmpty(getAttribute(element, CREATE_METHOD_ATTRIBUTE))) {
-      classBuilder.createMethod(getAttribute(element, CREATE_METHOD_ATTRIBUTE));
-    }
-    if (StringUtils.isNotEmpty(getAttribute(element, MAP_NULL_ATTRIBUTE))) {
-      classBuilder.mapNull(Boolean.valueOf(getAttribute(element, MAP_NULL_ATTRIBUTE)));
-    }
-    if (StringUtils.isNotEmpty(getAttribute(element, MAP_EMPTY_STRING_ATTRIBUTE))) {
-      classBuilder.mapEmptyString(Boolean.valueOf(getAttribute(element, MAP_EMPTY_STRING_ATTRIBUTE)));
-    }
-    if (StringUtils.isNotEmpty(getAttribute(element, IS_ACCESSIBLE_ATTRIBUTE))) {
-      classBuilder.isAccessible(Boolean.valueOf(getAttribute(element, IS_ACCESSIBLE_ATTRIBUTE)));
-    }
+    applyClassAttributes(attributes(element), classBuilder);
   }
 
   private void parseFieldExcludeMap(Element ele, DozerBuilder.MappingBuilder definitionBuilder) {
     DozerBuilder.FieldExclusionBuilder fieldMapBuilder = definitionBuilder.fieldExclude();
-    if (StringUtils.isNotEmpty(getAttribute(ele, TYPE_ATTRIBUTE))) {
-      String mappingDirection = getAttribute(ele, TYPE_ATTRIBUTE);
-      MappingDirection direction = MappingDirection.valueOf(mappingDirection);
-      fieldMapBuilder.type(direction);
-    }
+    applyFieldExclusionAttributes(attributes(ele), fieldMapBuilder);
     NodeList nodeList = ele.getChildNodes();
     for (int i = 0; i < nodeList.getLength(); i++) {
       Node node = nodeList.item(i);
@@ -267,27 +195,7 @@ public class XMLParser implements MappingsSource<Document> {
   private void parseGenericFieldMap(Element ele, DozerBuilder.MappingBuilder definitionBuilder) {
     DozerBuilder.FieldMappingBuilder fieldMapBuilder = determineFieldMap(definitionBuilder, ele);
 
-    if (StringUtils.isNotEmpty(getAttribute(ele, COPY_BY_REFERENCE_ATTRIBUTE))) {
-      fieldMapBuilder.copyByReference(BooleanUtils.toBoolean(getAttribute(ele, COPY_BY_REFERENCE_ATTRIBUTE)));
-    }
-    if (StringUtils.isNotEmpty(getAttribute(ele, MAPID_ATTRIBUTE))) {
-      fieldMapBuilder.mapId(getAttribute(ele, MAPID_ATTRIBUTE));
-    }
-    if (StringUtils.isNotEmpty(getAttribute(ele, TYPE_ATTRIBUTE))) {
-      String mappingDirection = getAttribute(ele, TYPE_ATTRIBUTE);
-      MappingDirection direction = MappingDirection.valueOf(mappingDirection);
-      fieldMapBuilder.type(direction);
-    }
-    if (StringUtils.isNotEmpty(getAttribute(ele, CUSTOM_CONVERTER_ATTRIBUTE))) {
-      fieldMapBuilder.customConverter(getAttribute(ele, CUSTOM_CONVERTER_ATTRIBUTE));
-    }
-    if (StringUtils.isNotEmpty(getAttribute(ele, CUSTOM_CONVERTER_ID_ATTRIBUTE))) {
-      fieldMapBuilder.customConverterId(getAttribute(ele, CUSTOM_CONVERTER_ID_ATTRIBUTE));
-    }
-    if (StringUtils.isNotEmpty(getAttribute(ele, CUSTOM_CONVERTER_PARAM_ATTRIBUTE))) {
-      fieldMapBuilder.customConverterParam(getAttribute(ele, CUSTOM_CONVERTER_PARAM_ATTRIBUTE));
-    }
-
+    applyFieldMappingAttributes(attributes(ele), fieldMapBuilder);
     parseFieldMap(ele, fieldMapBuilder);
   }
 
@@ -319,12 +227,6 @@ public class XMLParser implements MappingsSource<Document> {
   }
 
   private void parseFieldMap(Element ele, DozerBuilder.FieldMappingBuilder fieldMapBuilder) {
-    setRelationshipType(ele, fieldMapBuilder);
-
-    if (StringUtils.isNotEmpty(getAttribute(ele, REMOVE_ORPHANS))) {
-      fieldMapBuilder.removeOrphans(BooleanUtils.toBoolean(getAttribute(ele, REMOVE_ORPHANS)));
-    }
-
     NodeList nl = ele.getChildNodes();
     for (int i = 0; i < nl.getLength(); i++) {
       Node node = nl.item(i);
@@ -354,40 +256,8 @@ public class XMLParser implements MappingsSource<Document> {
     }
   }
 
-  private void setRelationshipType(Element ele, DozerBuilder.FieldMappingBuilder definitionBuilder) {
-    RelationshipType relationshipType = null;
-    if (StringUtils.isNotEmpty(getAttribute(ele, RELATIONSHIP_TYPE))) {
-      String relationshipTypeValue = getAttribute(ele, RELATIONSHIP_TYPE);
-      relationshipType = RelationshipType.valueOf(relationshipTypeValue);
-    }
-    definitionBuilder.relationshipType(relationshipType);
-  }
-
   private void parseField(Element ele, DozerBuilder.FieldDefinitionBuilder fieldBuilder) {
-    if (StringUtils.isNotEmpty(getAttribute(ele, DATE_FORMAT))) {
-      fieldBuilder.dateFormat(getAttribute(ele, DATE_FORMAT));
-    }
-    if (StringUtils.isNotEmpty(getAttribute(ele, THE_GET_METHOD_ATTRIBUTE))) {
-      fieldBuilder.theGetMethod(getAttribute(ele, THE_GET_METHOD_ATTRIBUTE));
-    }
-    if (StringUtils.isNotEmpty(getAttribute(ele, THE_SET_METHOD_ATTRIBUTE))) {
-      fieldBuilder.theSetMethod(getAttribute(ele, THE_SET_METHOD_ATTRIBUTE));
-    }
-    if (StringUtils.isNotEmpty(getAttribute(ele, MAP_GET_METHOD_ATTRIBUTE))) {
-      fieldBuilder.mapGetMethod(getAttribute(ele, MAP_GET_METHOD_ATTRIBUTE));
-    }
-    if (StringUtils.isNotEmpty(getAttribute(ele, MAP_SET_METHOD_ATTRIBUTE))) {
-      fieldBuilder.mapSetMethod(getAttribute(ele, MAP_SET_METHOD_ATTRIBUTE));
-    }
-    if (StringUtils.isNotEmpty(getAttribute(ele, KEY_ATTRIBUTE))) {
-      fieldBuilder.key(getAttribute(ele, KEY_ATTRIBUTE));
-    }
-    if (StringUtils.isNotEmpty(getAttribute(ele, CREATE_METHOD_ATTRIBUTE))) {
-      fieldBuilder.createMethod(getAttribute(ele, CREATE_METHOD_ATTRIBUTE));
-    }
-    if (StringUtils.isNotEmpty(getAttribute(ele, IS_ACCESSIBLE_ATTRIBUTE))) {
-      fieldBuilder.accessible(BooleanUtils.toBoolean(getAttribute(ele, IS_ACCESSIBLE_ATTRIBUTE)));
-    }
+    applyFieldAttributes(attributes(ele), fieldBuilder);
   }
 
   private void parseConfiguration(Element ele, DozerBuilder builder) {
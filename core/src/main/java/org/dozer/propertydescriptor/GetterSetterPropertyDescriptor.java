@@ -48,6 +48,7 @@ public abstract class GetterSetterPropertyDescriptor extends AbstractPropertyDes
   private final Logger log = LoggerFactory.getLogger(GetterSetterPropertyDescriptor.class);
 
   private Class<?> propertyType;
+  private volatile Boolean readable;
 
   public GetterSetterPropertyDescriptor(Class<?> clazz, String fieldName, boolean isIndexed, int index,
                                         HintContainer srcDeepIndexHintContainer, HintContainer destDeepIndexHintContainer) {
@@ -71,6 +72,18 @@ public abstract class GetterSetterPropertyDescriptor extends AbstractPropertyDes
     }
   }
 
+  /**
+   * @return write method parameter type or null if there is no write method
+   */
+  public Class<?> findWriteMethodPropertyType() {
+    try {
+      Method writeMethod = getWriteMethod();
+      return writeMethod != null ? writeMethod.getParameterTypes()[0] : null;
+    } catch (NoSuchMethodException e) {
+      return null;
+    }
+  }
+
   public Class<?> getPropertyType() {
     if (propertyType == null) {
       propertyType = determinePropertyType();
@@ -101,12 +114,14 @@ public abstract class GetterSetterPropertyDescriptor extends AbstractPropertyDes
           writeIndexedValue(bean, value);
         } else {
           // Check if dest value is already set and is equal to src value. If true, no need to rewrite the dest value
-          try {
-            if (getPropertyValue(bean) == value && !isIndexed) {
-              return;
+          if (isReadable()) {
+            try {
+              if (getPropertyValue(bean) == value) {
+                return;
+              }
+            } catch (Exception e) {
+              // if we failed to read the value, assume we must write, and continue...
             }
-          } catch (Exception e) {
-            // if we failed to read the value, assume we must write, and continue...
           }
           invokeWriteMethod(bean, value);
         }
@@ -272,6 +287,22 @@ public abstract class GetterSetterPropertyDescriptor extends AbstractPropertyDes
     }
   }
 
+  /**
+   * Write only properties are remembered, so that their missing read method is not looked up again on every write.
+   */
+  protected boolean isReadable() {
+    Boolean result = readable;
+    if (result == null) {
+      try {
+        result = getReadMethod() != null;
+      } catch (Exception e) {
+        result = Boolean.FALSE;
+      }
+      readable = result;
+    }
+    return result;
+  }
+
   protected Object invokeReadMethod(Object target) {
     Object result = null;
     try {
@@ -88,7 +88,7 @@ public class JavaBeanPropertyDescriptor extends GetterSetterPropertyDescriptor {
    */
   private Method retryMissingMethod(boolean writeMethod) throws NoSuchMethodException {
     if (propertyDescriptorsRefreshed) {
-      throw new NoSuchMethodException(
+      throw new MissingMethodException(
               "Unable to determine " + (writeMethod ? "write" : "read") +
               " method for Field: '" + fieldName + "' in Class: " + clazz);
     } else {
@@ -118,4 +118,22 @@ public class JavaBeanPropertyDescriptor extends GetterSetterPropertyDescriptor {
     return pd;
   }
 
+  /**
+   * Missing methods are reported for every mapped object when errors are ignored, and the stack trace of such an
+   * exception only points into Dozer, so it is not filled in.
+   */
+  private static final class MissingMethodException extends NoSuchMethodException {
+
+    private static final long serialVersionUID = 1L;
+
+    MissingMethodException(String message) {
+      super(message);
+    }
+
+    @Override
+    public synchronized Throwable fillInStackTrace() {
+      return this;
+    }
+  }
+
 }
\ No newline at end of file
@@ -18,10 +18,9 @@ package org.dozer.propertydescriptor;
 import org.dozer.fieldmap.HintContainer;
 import org.dozer.util.DozerConstants;
 import org.dozer.util.MappingUtils;
+import org.dozer.util.PluginRegistry;
 
-import java.util.ArrayList;
 import java.util.List;
-import java.util.concurrent.CopyOnWriteArrayList;
 
 /**
  * Internal factory responsible for determining which property descriptor should
@@ -31,8 +30,8 @@ import java.util.concurrent.CopyOnWriteArrayList;
  */
 public class PropertyDescriptorFactory {
 
-  private static final List<PropertyDescriptorCreationStrategy> pluggedDescriptorCreationStrategies =
-          new ArrayList<PropertyDescriptorCreationStrategy>();
+  private static final PluginRegistry<PropertyDescriptorCreationStrategy> pluggedDescriptorCreationStrategies =
+          new PluginRegistry<PropertyDescriptorCreationStrategy>();
 
   private PropertyDescriptorFactory() {
   }
@@ -75,8 +74,9 @@ public class PropertyDescriptorFactory {
 
     if (desc != null) return desc;
 
-    for (PropertyDescriptorCreationStrategy propertyDescriptorBuilder :
-            new CopyOnWriteArrayList<PropertyDescriptorCreationStrategy>(pluggedDescriptorCreationStrategies)) {
+    List<PropertyDescriptorCreationStrategy> strategies = pluggedDescriptorCreationStrategies.getPlugins();
+    for (int i = 0; i < strategies.size(); i++) {
+      PropertyDescriptorCreationStrategy propertyDescriptorBuilder = strategies.get(i);
       if (propertyDescriptorBuilder.isApplicable(clazz, name)) {
         desc = propertyDescriptorBuilder.buildFor(
                 clazz, name, isIndexed, index, srcDeepIndexHintContainer, destDeepIndexHintContainer);
@@ -93,6 +93,6 @@ public class PropertyDescriptorFactory {
   }
 
   public static void addPluggedPropertyDescriptorCreationStrategy(PropertyDescriptorCreationStrategy strategy) {
-    pluggedDescriptorCreationStrategies.add(strategy);
+    pluggedDescriptorCreationStrategies.register(strategy);
   }
 }
\ No newline at end of file
@@ -24,9 +24,11 @@ public final class GlobalStatistics {
   private static GlobalStatistics singleton = new GlobalStatistics();
 
   private final StatisticsManager statsMgr;
+  private final MappingProfiler mappingProfiler;
 
   private GlobalStatistics() {
     statsMgr = new StatisticsManagerImpl();
+    mappingProfiler = new MappingProfiler();
   }
 
   public static GlobalStatistics getInstance() {
@@ -36,4 +38,8 @@ public final class GlobalStatistics {
   public StatisticsManager getStatsMgr() {
     return statsMgr;
   }
+
+  public MappingProfiler getMappingProfiler() {
+    return mappingProfiler;
+  }
 }
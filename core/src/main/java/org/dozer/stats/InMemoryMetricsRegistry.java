@@ -0,0 +1,177 @@
+/**
+ * Copyright 2005-2013 Dozer Project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.dozer.stats;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+
+/**
+ * Reference {@link MetricsRegistry} keeping the last published values in memory.
+ * <p/>
+ * Besides the totals, the registry keeps the values of the previous publication, so that counters and histogram counts
+ * can be read as the increase and the rate per second within the last interval between publications. The metrics
+ * can be served in text format with {@link TextExpositionWriter}.
+ */
+public class InMemoryMetricsRegistry implements MetricsRegistry {
+
+  public enum MetricType {
+    COUNTER,
+    GAUGE,
+    HISTOGRAM
+  }
+
+  private final ConcurrentMap<String, Metric> metrics = new ConcurrentSkipListMap<String, Metric>();
+
+  public void counter(String name, String key, long value) {
+    getMetric(MetricType.COUNTER, name, key).update(value, null, currentTimeMillis());
+  }
+
+  public void gauge(String name, String key, double value) {
+    getMetric(MetricType.GAUGE, name, key).update(value, null, currentTimeMillis());
+  }
+
+  public void histogram(String name, String key, MappingProfile profile) {
+    getMetric(MetricType.HISTOGRAM, name, key).update(profile.getCount(), profile, currentTimeMillis());
+  }
+
+  /**
+   * @return metric or null if it was not published yet
+   */
+  public Metric getMetric(String name, String key) {
+    return metrics.get(toId(name, key));
+  }
+
+  /**
+   * @return all metrics ordered by name and key
+   */
+  public List<Metric> getMetrics() {
+    return new ArrayList<Metric>(metrics.values());
+  }
+
+  public void clear() {
+    metrics.clear();
+  }
+
+  protected long currentTimeMillis() {
+    return System.currentTimeMillis();
+  }
+
+  private Metric getMetric(MetricType type, String name, String key) {
+    String id = toId(name, key);
+    Metric result = metrics.get(id);
+    if (result == null) {
+      result = new Metric(type, name, key);
+      Metric existing = metrics.putIfAbsent(id, result);
+      if (existing != null) {
+        result = existing;
+      }
+    }
+    if (result.type != type) {
+      // a metric changing its type starts over
+      result = new Metric(type, name, key);
+      metrics.put(id, result);
+    }
+    return result;
+  }
+
+  private static String toId(String name, String key) {
+    return key == null ? name : name + '\u0000' + key;
+  }
+
+  /**
+   * Last published value of a metric, and the value published before it.
+   */
+  public static final class Metric {
+
+    private final MetricType type;
+    private final String name;
+    private final String key;
+
+    private boolean published;
+    private double value;
+    private MappingProfile profile;
+    private long timeMillis;
+    private boolean hasPrevious;
+    private double previousValue;
+    private long previousTimeMillis;
+
+    Metric(MetricType type, String name, String key) {
+      this.type = type;
+      this.name = name;
+      this.key = key;
+    }
+
+    synchronized void update(double value, MappingProfile profile, long timeMillis) {
+      if (published) {
+        hasPrevious = true;
+        previousValue = this.value;
+        previousTimeMillis = this.timeMillis;
+      }
+      this.published = true;
+      this.value = value;
+      this.profile = profile;
+      this.timeMillis = timeMillis;
+    }
+
+    public MetricType getType() {
+      return type;
+    }
+
+    public String getName() {
+      return name;
+    }
+
+    public String getKey() {
+      return key;
+    }
+
+    /**
+     * @return counter total, gauge value or histogram count
+     */
+    public synchronized double getValue() {
+      return value;
+    }
+
+    /**
+     * @return histogram latencies, or null for other metric types
+     */
+    public synchronized MappingProfile getProfile() {
+      return profile;
+    }
+
+    /**
+     * @return increase of the counter or histogram count since the previous publication, or the total if this is the
+     *         first publication or the statistics were cleared meanwhile
+     */
+    public synchronized double getIncrease() {
+      return !hasPrevious || value < previousValue ? value : value - previousValue;
+    }
+
+    /**
+     * @return increase per second within the last interval between publications, or 0 if there is no interval yet
+     */
+    public synchronized double getRate() {
+      long intervalMillis = timeMillis - previousTimeMillis;
+      if (!hasPrevious || intervalMillis <= 0) {
+        return 0;
+      }
+      return getIncrease() * 1000 / intervalMillis;
+    }
+  }
+
+}
@@ -0,0 +1,98 @@
+/**
+ * Copyright 2005-2013 Dozer Project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.dozer.stats;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Snapshot of the latencies recorded for a single class or field mapping.
+ */
+public final class MappingProfile {
+
+  private final String name;
+  private final long count;
+  private final long totalNanos;
+  private final long meanNanos;
+  private final long medianNanos;
+  private final long p99Nanos;
+  private final long maxNanos;
+  private final long allocatedBytes;
+
+  MappingProfile(String name, LatencyHistogram histogram, long allocatedBytes) {
+    this.name = name;
+    this.count = histogram.getCount();
+    this.totalNanos = histogram.getTotalNanos();
+    this.meanNanos = histogram.getMeanNanos();
+    this.medianNanos = histogram.getValueAtPercentile(50);
+    this.p99Nanos = histogram.getValueAtPercentile(99);
+    this.maxNanos = histogram.getMaxNanos();
+    this.allocatedBytes = allocatedBytes;
+  }
+
+  /**
+   * @return source and destination class, and field names for field mappings
+   */
+  public String getName() {
+    return name;
+  }
+
+  public long getCount() {
+    return count;
+  }
+
+  public long getTotalNanos() {
+    return totalNanos;
+  }
+
+  public long getMeanNanos() {
+    return meanNanos;
+  }
+
+  public long getMedianNanos() {
+    return medianNanos;
+  }
+
+  public long getP99Nanos() {
+    return p99Nanos;
+  }
+
+  public long getMaxNanos() {
+    return maxNanos;
+  }
+
+  /**
+   * @return bytes allocated by the mapping thread, or -1 if not measured
+   */
+  public long getAllocatedBytes() {
+    return allocatedBytes;
+  }
+
+  @Override
+  public String toString() {
+    StringBuilder result = new StringBuilder(name)
+        .append(": Count ").append(count)
+        .append(", Total ").append(TimeUnit.NANOSECONDS.toMillis(totalNanos)).append(" ms")
+        .append(", Mean ").append(TimeUnit.NANOSECONDS.toMicros(meanNanos)).append(" us")
+        .append(", Median ").append(TimeUnit.NANOSECONDS.toMicros(medianNanos)).append(" us")
+        .append(", 99% ").append(TimeUnit.NANOSECONDS.toMicros(p99Nanos)).append(" us")
+        .append(", Max ").append(TimeUnit.NANOSECONDS.toMicros(maxNanos)).append(" us");
+    if (allocatedBytes >= 0) {
+      result.append(", Allocated ").append(allocatedBytes).append(" bytes");
+    }
+    return result.toString();
+  }
+
+}
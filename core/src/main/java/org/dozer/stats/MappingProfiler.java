@@ -0,0 +1,256 @@
+/**
+ * Copyright 2005-2013 Dozer Project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.dozer.stats;
+
+import org.dozer.classmap.ClassMap;
+import org.dozer.config.GlobalSettings;
+import org.dozer.fieldmap.FieldMap;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Internal class that records latency histograms per class mapping and per field mapping. Only intended for internal
+ * use.
+ * <p/>
+ * Class mapping latencies include the nested objects mapped by the class mapping. When the JVM can measure memory
+ * allocated by a thread, class mappings also record the allocated bytes. Profiling is disabled by default, as it reads
+ * the clock around every mapped field.
+ */
+public final class MappingProfiler {
+
+  // the number of profiled mappings is capped, mapping ids and class names may be unbounded
+  static final int MAX_PROFILES = 10000;
+
+  private static final Comparator<MappingProfile> BY_TOTAL_TIME = new Comparator<MappingProfile>() {
+    public int compare(MappingProfile o1, MappingProfile o2) {
+      return o1.getTotalNanos() < o2.getTotalNanos() ? 1 : o1.getTotalNanos() > o2.getTotalNanos() ? -1 : 0;
+    }
+  };
+
+  private final Logger log = LoggerFactory.getLogger(MappingProfiler.class);
+
+  // keyed by names rather than mapping instances, so that replaced mappings and their classes are not retained
+  private final ConcurrentMap<Key, Profile> classMapProfiles = new ConcurrentHashMap<Key, Profile>();
+  private final ConcurrentMap<Key, Profile> fieldMapProfiles = new ConcurrentHashMap<Key, Profile>();
+  private final AtomicBoolean limitReported = new AtomicBoolean();
+  private final ThreadMXBean threadMXBean = ManagementFactory.getThreadMXBean();
+  private final Method allocatedBytesMethod = findAllocatedBytesMethod(threadMXBean);
+  private final boolean global;
+  private volatile boolean enabled;
+
+  /**
+   * Creates the profiler following the global settings.
+   */
+  public MappingProfiler() {
+    this.global = true;
+    this.enabled = GlobalSettings.getInstance().isProfilingEnabled();
+  }
+
+  /**
+   * Creates a profiler independent of the global settings, i.e. for a single mapper.
+   */
+  public MappingProfiler(boolean enabled) {
+    this.global = false;
+    this.enabled = enabled;
+  }
+
+  public boolean isEnabled() {
+    return enabled;
+  }
+
+  public void setEnabled(boolean enabled) {
+    this.enabled = enabled;
+    if (global) {
+      GlobalSettings.getInstance().setProfilingEnabled(enabled);
+    }
+  }
+
+  /**
+   * @return bytes allocated so far by the current thread, or -1 if the JVM can not tell
+   */
+  public long getAllocatedBytes() {
+    if (allocatedBytesMethod == null) {
+      return -1;
+    }
+    try {
+      return (Long) allocatedBytesMethod.invoke(threadMXBean, Thread.currentThread().getId());
+    } catch (Exception e) {
+      return -1;
+    }
+  }
+
+  /**
+   * @param allocatedBytes bytes allocated while mapping, or -1 if not measured
+   */
+  public void recordClassMap(ClassMap classMap, long nanos, long allocatedBytes) {
+    Profile profile = getProfile(classMapProfiles, new Key(classMap, null, null));
+    if (profile != null) {
+      profile.histogram.record(nanos);
+      if (allocatedBytes >= 0) {
+        profile.allocatedBytes.addAndGet(allocatedBytes);
+      }
+    }
+  }
+
+  public void recordFieldMap(FieldMap fieldMap, long nanos) {
+    Profile profile = getProfile(fieldMapProfiles,
+        new Key(fieldMap.getClassMap(), fieldMap.getSrcFieldName(), fieldMap.getDestFieldName()));
+    if (profile != null) {
+      profile.histogram.record(nanos);
+    }
+  }
+
+  /**
+   * @return class mapping profiles, the ones with the highest total time first
+   */
+  public List<MappingProfile> getClassMapProfiles() {
+    List<MappingProfile> result = new ArrayList<MappingProfile>();
+    for (Map.Entry<Key, Profile> entry : classMapProfiles.entrySet()) {
+      Profile profile = entry.getValue();
+      long allocatedBytes = allocatedBytesMethod != null ? profile.allocatedBytes.get() : -1;
+      result.add(new MappingProfile(entry.getKey().getName(), profile.histogram, allocatedBytes));
+    }
+    Collections.sort(result, BY_TOTAL_TIME);
+    return result;
+  }
+
+  /**
+   * @return field mapping profiles, the ones with the highest total time first
+   */
+  public List<MappingProfile> getFieldMapProfiles() {
+    List<MappingProfile> result = new ArrayList<MappingProfile>();
+    for (Map.Entry<Key, Profile> entry : fieldMapProfiles.entrySet()) {
+      result.add(new MappingProfile(entry.getKey().getName(), entry.getValue().histogram, -1));
+    }
+    Collections.sort(result, BY_TOTAL_TIME);
+    return result;
+  }
+
+  public void clear() {
+    classMapProfiles.clear();
+    fieldMapProfiles.clear();
+    limitReported.set(false);
+  }
+
+  private Profile getProfile(ConcurrentMap<Key, Profile> profiles, Key key) {
+    Profile result = profiles.get(key);
+    if (result == null) {
+      if (profiles.size() >= MAX_PROFILES) {
+        if (limitReported.compareAndSet(false, true)) {
+          log.warn("{} mappings are profiled already, further mappings are not profiled until profiles are cleared",
+              MAX_PROFILES);
+        }
+        return null;
+      }
+      result = new Profile();
+      Profile existing = profiles.putIfAbsent(key, result);
+      if (existing != null) {
+        result = existing;
+      }
+    }
+    return result;
+  }
+
+  // com.sun.management.ThreadMXBean is not available on every JVM, so it is only used reflectively
+  private Method findAllocatedBytesMethod(ThreadMXBean bean) {
+    try {
+      Class<?> extendedBean = Class.forName("com.sun.management.ThreadMXBean");
+      if (extendedBean.isInstance(bean)
+          && (Boolean) extendedBean.getMethod("isThreadAllocatedMemorySupported").invoke(bean)
+          && (Boolean) extendedBean.getMethod("isThreadAllocatedMemoryEnabled").invoke(bean)) {
+        return extendedBean.getMethod("getThreadAllocatedBytes", long.class);
+      }
+    } catch (Exception e) {
+      log.debug("Thread allocated memory can not be measured", e);
+    }
+    return null;
+  }
+
+  private static final class Key {
+    private final String srcClassName;
+    private final String destClassName;
+    private final String mapId;
+    private final String srcFieldName;
+    private final String destFieldName;
+    private final int hashCode;
+
+    Key(ClassMap classMap, String srcFieldName, String destFieldName) {
+      this.srcClassName = classMap.getSrcClassName();
+      this.destClassName = classMap.getDestClassName();
+      this.mapId = classMap.getMapId();
+      this.srcFieldName = srcFieldName;
+      this.destFieldName = destFieldName;
+      int hash = srcClassName.hashCode();
+      hash = 31 * hash + destClassName.hashCode();
+      hash = 31 * hash + (mapId != null ? mapId.hashCode() : 0);
+      hash = 31 * hash + (srcFieldName != null ? srcFieldName.hashCode() : 0);
+      this.hashCode = 31 * hash + (destFieldName != null ? destFieldName.hashCode() : 0);
+    }
+
+    String getName() {
+      StringBuilder result = new StringBuilder(srcClassName).append(" -> ").append(destClassName);
+      if (mapId != null) {
+        result.append(" (").append(mapId).append(')');
+      }
+      if (srcFieldName != null || destFieldName != null) {
+        result.append(' ').append(srcFieldName).append(" -> ").append(destFieldName);
+      }
+      return result.toString();
+    }
+
+    @Override
+    public boolean equals(Object obj) {
+      if (this == obj) {
+        return true;
+      }
+      if (!(obj instanceof Key)) {
+        return false;
+      }
+      Key other = (Key) obj;
+      return hashCode == other.hashCode && equal(srcClassName, other.srcClassName)
+          && equal(destClassName, other.destClassName) && equal(mapId, other.mapId)
+          && equal(srcFieldName, other.srcFieldName) && equal(destFieldName, other.destFieldName);
+    }
+
+    @Override
+    public int hashCode() {
+      return hashCode;
+    }
+
+    private static boolean equal(String first, String second) {
+      return first == null ? second == null : first.equals(second);
+    }
+  }
+
+  private static final class Profile {
+    private final LatencyHistogram histogram = new LatencyHistogram();
+    private final AtomicLong allocatedBytes = new AtomicLong();
+  }
+
+}
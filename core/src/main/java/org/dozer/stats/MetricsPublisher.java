@@ -0,0 +1,86 @@
+/**
+ * Copyright 2005-2013 Dozer Project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.dozer.stats;
+
+import org.dozer.cache.Cache;
+import org.dozer.cache.CacheManager;
+import org.dozer.classmap.ClassMappings;
+
+/**
+ * Pushes Dozer statistics and mapping profiles into a {@link MetricsRegistry}. Metric names are the lower case
+ * statistic type names prefixed with "dozer_", i.e. dozer_mapping_success_count.
+ */
+public final class MetricsPublisher {
+
+  public static final String PREFIX = "dozer_";
+  public static final String CLASS_MAPPING = PREFIX + "class_mapping";
+  public static final String FIELD_MAPPING = PREFIX + "field_mapping";
+  public static final String CACHE_SIZE = PREFIX + "cache_size";
+  public static final String CACHE_MAX_SIZE = PREFIX + "cache_max_size";
+  public static final String CLASS_MAPPINGS = PREFIX + "class_mappings";
+
+  private final StatisticsManager statsMgr;
+  private final MappingProfiler mappingProfiler;
+
+  public MetricsPublisher() {
+    this(GlobalStatistics.getInstance().getStatsMgr(), GlobalStatistics.getInstance().getMappingProfiler());
+  }
+
+  public MetricsPublisher(StatisticsManager statsMgr, MappingProfiler mappingProfiler) {
+    this.statsMgr = statsMgr;
+    this.mappingProfiler = mappingProfiler;
+  }
+
+  /**
+   * Publishes the global statistics and mapping profiles.
+   */
+  public void publish(MetricsRegistry registry) {
+    for (StatisticType statisticType : statsMgr.getStatisticTypes()) {
+      String name = PREFIX + statisticType.name().toLowerCase();
+      for (StatisticEntry entry : statsMgr.getStatisticEntries(statisticType)) {
+        registry.counter(name, toKey(statisticType, entry.getKey()), entry.getValue());
+      }
+    }
+    for (MappingProfile profile : mappingProfiler.getClassMapProfiles()) {
+      registry.histogram(CLASS_MAPPING, profile.getName(), profile);
+    }
+    for (MappingProfile profile : mappingProfiler.getFieldMapProfiles()) {
+      registry.histogram(FIELD_MAPPING, profile.getName(), profile);
+    }
+  }
+
+  /**
+   * Publishes the sizes of the caches and the number of class mappings of a mapper.
+   */
+  public void publish(MetricsRegistry registry, ClassMappings classMappings, CacheManager cacheManager) {
+    if (classMappings != null) {
+      registry.gauge(CLASS_MAPPINGS, null, classMappings.size());
+    }
+    for (Cache<?, ?> cache : cacheManager.getCaches()) {
+      registry.gauge(CACHE_SIZE, cache.getName(), cache.getSize());
+      registry.gauge(CACHE_MAX_SIZE, cache.getName(), cache.getMaxSize());
+    }
+  }
+
+  // single valued statistics use the statistic type as the key of their only entry
+  private static String toKey(StatisticType statisticType, Object entryKey) {
+    if (statisticType.equals(entryKey)) {
+      return null;
+    }
+    return entryKey instanceof Class ? ((Class<?>) entryKey).getName() : String.valueOf(entryKey);
+  }
+
+}
@@ -0,0 +1,45 @@
+/**
+ * Copyright 2005-2013 Dozer Project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.dozer.stats;
+
+/**
+ * Receives Dozer metrics when they are published, see {@link MetricsPublisher}. Implementations adapt Dozer to a
+ * metrics library or monitoring system.
+ * <p/>
+ * Metrics are identified by name and an optional key, which tells apart the values of one metric, i.e. the cache name
+ * of cache sizes or the mapped classes of mapping profiles.
+ */
+public interface MetricsRegistry {
+
+  /**
+   * @param key   key of the value, or null for metrics having a single value
+   * @param value current total, only ever growing unless statistics are cleared
+   */
+  void counter(String name, String key, long value);
+
+  /**
+   * @param key   key of the value, or null for metrics having a single value
+   * @param value current value
+   */
+  void gauge(String name, String key, double value);
+
+  /**
+   * @param key     key of the value, or null for metrics having a single value
+   * @param profile latencies recorded so far
+   */
+  void histogram(String name, String key, MappingProfile profile);
+
+}
@@ -36,7 +36,24 @@ public final class StatisticsManagerImpl implements StatisticsManager {
   private final Logger log = LoggerFactory.getLogger(StatisticsManagerImpl.class);
 
   private final ConcurrentMap<StatisticType, Statistic> statisticsMap = new ConcurrentHashMap<StatisticType, Statistic>();
-  private boolean isStatisticsEnabled = GlobalSettings.getInstance().isStatisticsEnabled();
+  private final boolean global;
+  private volatile boolean isStatisticsEnabled;
+
+  /**
+   * Creates the statistics manager following the global settings.
+   */
+  public StatisticsManagerImpl() {
+    this.global = true;
+    this.isStatisticsEnabled = GlobalSettings.getInstance().isStatisticsEnabled();
+  }
+
+  /**
+   * Creates a statistics manager independent of the global settings, i.e. for a single mapper.
+   */
+  public StatisticsManagerImpl(boolean statisticsEnabled) {
+    this.global = false;
+    this.isStatisticsEnabled = statisticsEnabled;
+  }
 
   public void clearAll() {
     statisticsMap.clear();
@@ -58,7 +75,9 @@ public final class StatisticsManagerImpl implements StatisticsManager {
 
   public void setStatisticsEnabled(boolean statisticsEnabled) {
     this.isStatisticsEnabled = statisticsEnabled;
-    GlobalSettings.getInstance().setStatisticsEnabled(statisticsEnabled);
+    if (global) {
+      GlobalSettings.getInstance().setStatisticsEnabled(statisticsEnabled);
+    }
   }
 
   public Set<StatisticType> getStatisticTypes() {
@@ -0,0 +1,145 @@
+/**
+ * Copyright 2005-2013 Dozer Project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.dozer.stats;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.util.List;
+
+/**
+ * Writes the metrics of an {@link InMemoryMetricsRegistry} in the Prometheus text exposition format, so that they can be
+ * served over HTTP by the application.
+ * <p/>
+ * Keys are written as a "key" label. Counters are followed by a "_rate" gauge with the increase per second in the last
+ * publication interval. Histograms are written as summaries in seconds with median and 99th percentile quantiles, a
+ * "_max" gauge and, when measured, an "_allocated_bytes" counter.
+ */
+public class TextExpositionWriter {
+
+  public static final String CONTENT_TYPE = "text/plain; version=0.0.4";
+
+  private static final double NANOS_PER_SECOND = 1000000000d;
+
+  public void write(InMemoryMetricsRegistry registry, Writer out) throws IOException {
+    List<InMemoryMetricsRegistry.Metric> metrics = registry.getMetrics();
+    // all samples of a metric family have to be written together
+    int from = 0;
+    while (from < metrics.size()) {
+      String name = metrics.get(from).getName();
+      int to = from + 1;
+      while (to < metrics.size() && metrics.get(to).getName().equals(name)) {
+        to++;
+      }
+      writeFamily(out, sanitize(name), metrics.subList(from, to));
+      from = to;
+    }
+    out.flush();
+  }
+
+  private void writeFamily(Writer out, String name, List<InMemoryMetricsRegistry.Metric> metrics) throws IOException {
+    switch (metrics.get(0).getType()) {
+      case COUNTER:
+        writeType(out, name, "counter");
+        for (InMemoryMetricsRegistry.Metric metric : metrics) {
+          writeSample(out, name, metric.getKey(), null, metric.getValue());
+        }
+        writeType(out, name + "_rate", "gauge");
+        for (InMemoryMetricsRegistry.Metric metric : metrics) {
+          writeSample(out, name + "_rate", metric.getKey(), null, metric.getRate());
+        }
+        break;
+      case GAUGE:
+        writeType(out, name, "gauge");
+        for (InMemoryMetricsRegistry.Metric metric : metrics) {
+          writeSample(out, name, metric.getKey(), null, metric.getValue());
+        }
+        break;
+      case HISTOGRAM:
+        writeHistograms(out, name, metrics);
+        break;
+    }
+  }
+
+  private void writeHistograms(Writer out, String name, List<InMemoryMetricsRegistry.Metric> metrics)
+      throws IOException {
+    String seconds = name + "_seconds";
+    writeType(out, seconds, "summary");
+    boolean allocationMeasured = false;
+    for (InMemoryMetricsRegistry.Metric metric : metrics) {
+      MappingProfile profile = metric.getProfile();
+      writeSample(out, seconds, metric.getKey(), "0.5", profile.getMedianNanos() / NANOS_PER_SECOND);
+      writeSample(out, seconds, metric.getKey(), "0.99", profile.getP99Nanos() / NANOS_PER_SECOND);
+      writeSample(out, seconds + "_sum", metric.getKey(), null, profile.getTotalNanos() / NANOS_PER_SECOND);
+      writeSample(out, seconds + "_count", metric.getKey(), null, profile.getCount());
+      allocationMeasured |= profile.getAllocatedBytes() >= 0;
+    }
+    writeType(out, seconds + "_max", "gauge");
+    for (InMemoryMetricsRegistry.Metric metric : metrics) {
+      writeSample(out, seconds + "_max", metric.getKey(), null, metric.getProfile().getMaxNanos() / NANOS_PER_SECOND);
+    }
+    if (allocationMeasured) {
+      writeType(out, name + "_allocated_bytes", "counter");
+      for (InMemoryMetricsRegistry.Metric metric : metrics) {
+        if (metric.getProfile().getAllocatedBytes() >= 0) {
+          writeSample(out, name + "_allocated_bytes", metric.getKey(), null, metric.getProfile().getAllocatedBytes());
+        }
+      }
+    }
+  }
+
+  private void writeType(Writer out, String name, String type) throws IOException {
+    out.write("# TYPE " + name + " " + type + "\n");
+  }
+
+  private void writeSample(Writer out, String name, String key, String quantile, double value) throws IOException {
+    out.write(name);
+    if (key != null || quantile != null) {
+      out.write('{');
+      if (key != null) {
+        out.write("key=\"" + escape(key) + "\"");
+      }
+      if (quantile != null) {
+        out.write((key != null ? "," : "") + "quantile=\"" + quantile + "\"");
+      }
+      out.write('}');
+    }
+    out.write(' ');
+    out.write(format(value));
+    out.write('\n');
+  }
+
+  private static String format(double value) {
+    if (value == Math.rint(value) && !Double.isInfinite(value) && Math.abs(value) < 1e15) {
+      return Long.toString((long) value);
+    }
+    return Double.toString(value);
+  }
+
+  static String sanitize(String name) {
+    StringBuilder result = new StringBuilder(name.length());
+    for (int i = 0; i < name.length(); i++) {
+      char c = name.charAt(i);
+      boolean valid = c >= 'a' && c <= 'z' || c >= 'A' && c <= 'Z' || c == '_' || c == ':' || (i > 0 && c >= '0' && c <= '9');
+      result.append(valid ? c : '_');
+    }
+    return result.toString();
+  }
+
+  static String escape(String labelValue) {
+    return labelValue.replace("\\", "\\\\").replace("\"", "\\\"").replace("\n", "\\n");
+  }
+
+}
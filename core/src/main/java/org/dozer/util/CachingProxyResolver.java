@@ -0,0 +1,144 @@
+/**
+ * Copyright 2005-2013 Dozer Project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.dozer.util;
+
+import java.lang.ref.Reference;
+import java.lang.ref.ReferenceQueue;
+import java.lang.ref.WeakReference;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * Remembers proxy classification and real class of every class passed in, so that the wrapped resolver is asked only
+ * once per class. Classes are held weakly and entries disappear once their class loader is collected. Objects are
+ * only unenhanced by the wrapped resolver, if their class is classified as a proxy.
+ * <p/>
+ * Lazy loading checks are passed through, if the wrapped resolver supports them. Otherwise all values are considered
+ * loaded.
+ */
+public class CachingProxyResolver implements LazyLoadingProxyResolver {
+
+  private final DozerProxyResolver delegate;
+  private final ConcurrentMap<ClassKey, Resolution> resolutions = new ConcurrentHashMap<ClassKey, Resolution>();
+  private final ReferenceQueue<Class<?>> queue = new ReferenceQueue<Class<?>>();
+
+  public CachingProxyResolver(DozerProxyResolver delegate) {
+    this.delegate = delegate;
+  }
+
+  public DozerProxyResolver getDelegate() {
+    return delegate;
+  }
+
+  @Override
+  public boolean isProxy(Class<?> clazz) {
+    return resolve(clazz).proxy;
+  }
+
+  @Override
+  public <T> T unenhanceObject(T object) {
+    if (object == null || !isProxy(object.getClass())) {
+      return object;
+    }
+    return delegate.unenhanceObject(object);
+  }
+
+  @Override
+  public Class<?> getRealClass(Class<?> clazz) {
+    Resolution resolution = resolve(clazz);
+    if (resolution.realClass == null) {
+      return clazz;
+    }
+    // superclass is reachable as long as the class itself
+    Class<?> realClass = resolution.realClass.get();
+    return realClass != null ? realClass : delegate.getRealClass(clazz);
+  }
+
+  @Override
+  public boolean isInitialized(Object object) {
+    return !(delegate instanceof LazyLoadingProxyResolver) || ((LazyLoadingProxyResolver) delegate).isInitialized(object);
+  }
+
+  @Override
+  public Object getIdentifier(Object object) {
+    return delegate instanceof LazyLoadingProxyResolver ? ((LazyLoadingProxyResolver) delegate).getIdentifier(object) : null;
+  }
+
+  private Resolution resolve(Class<?> clazz) {
+    Resolution resolution = resolutions.get(new ClassKey(clazz, null));
+    if (resolution == null) {
+      expungeCollectedClasses();
+      Class<?> realClass = delegate.getRealClass(clazz);
+      resolution = new Resolution(delegate.isProxy(clazz), realClass == clazz ? null : realClass);
+      Resolution existing = resolutions.putIfAbsent(new ClassKey(clazz, queue), resolution);
+      if (existing != null) {
+        resolution = existing;
+      }
+    }
+    return resolution;
+  }
+
+  private void expungeCollectedClasses() {
+    Reference<? extends Class<?>> reference;
+    while ((reference = queue.poll()) != null) {
+      resolutions.remove(reference);
+    }
+  }
+
+  int size() {
+    return resolutions.size();
+  }
+
+  private static final class Resolution {
+
+    final boolean proxy;
+    // held weakly, as it may come from the same class loader as the class
+    final WeakReference<Class<?>> realClass;
+
+    Resolution(boolean proxy, Class<?> realClass) {
+      this.proxy = proxy;
+      this.realClass = realClass != null ? new WeakReference<Class<?>>(realClass) : null;
+    }
+  }
+
+  private static final class ClassKey extends WeakReference<Class<?>> {
+
+    private final int hashCode;
+
+    ClassKey(Class<?> clazz, ReferenceQueue<Class<?>> queue) {
+      super(clazz, queue);
+      this.hashCode = System.identityHashCode(clazz);
+    }
+
+    @Override
+    public boolean equals(Object obj) {
+      if (this == obj) {
+        return true;
+      }
+      if (!(obj instanceof ClassKey)) {
+        return false;
+      }
+      Class<?> clazz = get();
+      return clazz != null && clazz == ((ClassKey) obj).get();
+    }
+
+    @Override
+    public int hashCode() {
+      return hashCode;
+    }
+  }
+
+}
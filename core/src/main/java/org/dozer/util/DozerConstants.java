@@ -47,7 +47,10 @@ public final class DozerConstants {
   public static final String DEFAULT_MAPPING_FILE = "dozerBeanMapping.xml";
   public static final boolean DEFAULT_AUTOREGISTER_JMX_BEANS = true;
   public static final boolean DEFAULT_STATISTICS_ENABLED = false;
+  public static final boolean DEFAULT_PROFILING_ENABLED = false;
   public static final boolean DEFAULT_EL_ENABLED = false;
+  public static final int DEFAULT_MAPPING_LOADER_THREADS = Runtime.getRuntime().availableProcessors();
+  public static final boolean DEFAULT_MAPPING_VALIDATE_CLASSPATH = true;
 
   public static final String XSD_NAME = "beanmapping.xsd";
   public static final String CONFIG_FILE_SYS_PROP = "dozer.configuration"; // i.e)-Ddozer.configuration=somefile.properties
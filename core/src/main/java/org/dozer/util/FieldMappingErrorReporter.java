@@ -0,0 +1,103 @@
+/**
+ * Copyright 2005-2013 Dozer Project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.dozer.util;
+
+import org.dozer.fieldmap.FieldMap;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Internal class that logs field mapping failures ignored because of a stop-on-errors="false" policy. Failures are
+ * aggregated per field mapping: the first one is logged with its stack trace, further ones are only counted and
+ * summarized at most once per interval, so that mappings failing on every call do not flood the log. Only intended for
+ * internal use.
+ */
+public final class FieldMappingErrorReporter {
+
+  public static final long DEFAULT_REPORT_INTERVAL_MILLIS = 60000;
+
+  // field mappings are replaced when mappings are reloaded, so the tracked ones are dropped now and then
+  static final int MAX_TRACKED_FIELD_MAPS = 1000;
+
+  private final Logger log = LoggerFactory.getLogger(FieldMappingErrorReporter.class);
+
+  private final ConcurrentMap<FieldMap, ErrorCount> errors = new ConcurrentHashMap<FieldMap, ErrorCount>();
+  private final LogMsgFactory logMsgFactory = new LogMsgFactory();
+  private final long intervalMillis;
+
+  public FieldMappingErrorReporter() {
+    this(DEFAULT_REPORT_INTERVAL_MILLIS);
+  }
+
+  public FieldMappingErrorReporter(long intervalMillis) {
+    this.intervalMillis = intervalMillis;
+  }
+
+  /**
+   * Reports an ignored field mapping failure.
+   *
+   * @return true if the failure was logged, false if it was only counted
+   */
+  public boolean report(Object srcObj, FieldMap fieldMapping, Object srcFieldValue, Object destObj, Throwable e) {
+    ErrorCount count = getErrorCount(fieldMapping);
+    long now = System.currentTimeMillis();
+    long nextReport = count.nextReport.get();
+    if (now < nextReport || !count.nextReport.compareAndSet(nextReport, now + intervalMillis)) {
+      count.suppressed.incrementAndGet();
+      return false;
+    }
+
+    int suppressed = count.suppressed.getAndSet(0);
+    String msg = logMsgFactory.createFieldMappingErrorMsg(srcObj, fieldMapping, srcFieldValue, destObj);
+    if (suppressed == 0) {
+      log.error(msg, e);
+    } else {
+      log.error(msg + " (" + suppressed + " more failure(s) of this field mapping ignored since last report)", e);
+    }
+    return true;
+  }
+
+  private ErrorCount getErrorCount(FieldMap fieldMapping) {
+    ErrorCount result = errors.get(fieldMapping);
+    if (result == null) {
+      if (errors.size() >= MAX_TRACKED_FIELD_MAPS) {
+        errors.clear();
+      }
+      result = new ErrorCount();
+      ErrorCount existing = errors.putIfAbsent(fieldMapping, result);
+      if (existing != null) {
+        result = existing;
+      }
+    }
+    return result;
+  }
+
+  int getSuppressedCount(FieldMap fieldMapping) {
+    ErrorCount count = errors.get(fieldMapping);
+    return count != null ? count.suppressed.get() : 0;
+  }
+
+  private static final class ErrorCount {
+    private final AtomicLong nextReport = new AtomicLong(Long.MIN_VALUE);
+    private final AtomicInteger suppressed = new AtomicInteger();
+  }
+
+}
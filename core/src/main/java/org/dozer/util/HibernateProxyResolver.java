@@ -15,6 +15,7 @@
  */
 package org.dozer.util;
 
+import org.hibernate.Hibernate;
 import org.hibernate.proxy.HibernateProxy;
 import org.hibernate.proxy.HibernateProxyHelper;
 import org.hibernate.proxy.LazyInitializer;
@@ -22,11 +23,12 @@ import org.hibernate.proxy.LazyInitializer;
 /**
  *
  * Hibernate specific implementation. Checks for HibernateProxy interface and uses Hibernate internal API
- * to unwrap proxies. 
+ * to unwrap proxies. Proxies and persistent collections not loaded yet are reported, so that they can be skipped
+ * according to the lazy loading policy.
  *
  * @author Dmitry Buzdin
  */
-public class HibernateProxyResolver extends DefaultProxyResolver {
+public class HibernateProxyResolver extends DefaultProxyResolver implements LazyLoadingProxyResolver {
 
   @Override
   public boolean isProxy(Class<?> clazz) {
@@ -44,4 +46,17 @@ public class HibernateProxyResolver extends DefaultProxyResolver {
     return object;
   }
 
+  @Override
+  public boolean isInitialized(Object object) {
+    return Hibernate.isInitialized(object);
+  }
+
+  @Override
+  public Object getIdentifier(Object object) {
+    if (object instanceof HibernateProxy) {
+      return ((HibernateProxy) object).getHibernateLazyInitializer().getIdentifier();
+    }
+    return null;
+  }
+
 }
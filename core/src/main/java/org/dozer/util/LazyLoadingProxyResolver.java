@@ -0,0 +1,37 @@
+/**
+ * Copyright 2005-2013 Dozer Project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.dozer.util;
+
+/**
+ * Proxy resolver, which can tell lazy values not loaded yet apart, so that they can be skipped or replaced by their
+ * identifier depending on {@link org.dozer.classmap.LazyLoadingPolicy}.
+ */
+public interface LazyLoadingProxyResolver extends DozerProxyResolver {
+
+  /**
+   * @param object proxy, lazy collection or any other value
+   * @return false if object is a proxy or collection, which has not been loaded yet
+   */
+  boolean isInitialized(Object object);
+
+  /**
+   * @param object proxy, loaded or not, or any other value
+   * @return identifier of the proxied entity or null if it is not known without loading, e.g. for values which are
+   *         not proxies
+   */
+  Object getIdentifier(Object object);
+
+}
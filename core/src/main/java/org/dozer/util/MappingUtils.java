@@ -146,6 +146,7 @@ public final class MappingUtils {
     reversed.setCustomConverterId(source.getCustomConverterId());
     reversed.setMapId(source.getMapId());
     reversed.setRelationshipType(source.getRelationshipType());
+    reversed.setLazyLoadingPolicy(source.getLazyLoadingPolicy());
     reversed.setRemoveOrphans(source.isRemoveOrphans());
     reversed.setSrcHintContainer(source.getDestHintContainer());
     reversed.setDestHintContainer(source.getSrcHintContainer());
@@ -168,7 +169,9 @@ public final class MappingUtils {
     destination.setTrimStrings(source.isTrimStrings());
     destination.setDateFormat(source.getDateFormat());
     destination.setRelationshipType(source.getRelationshipType());
+    destination.setLazyLoadingPolicy(source.getLazyLoadingPolicy());
     destination.setStopOnErrors(source.isStopOnErrors());
+    destination.setReuseDestination(source.isReuseDestination());
     destination.setAllowedExceptions(source.getAllowedExceptions());
     destination.setSrcClassCreateMethod(source.getDestClassCreateMethod());
     destination.setDestClassCreateMethod(source.getSrcClassCreateMethod());
@@ -217,19 +220,30 @@ public final class MappingUtils {
 
   public static Class<?> getRealClass(Class<?> clazz) {
     BeanContainer container = BeanContainer.getInstance();
-    DozerProxyResolver proxyResolver = container.getProxyResolver();
+    DozerProxyResolver proxyResolver = container.getCachingProxyResolver();
     return proxyResolver.getRealClass(clazz);
   }
 
   public static <T> T deProxy(T object) {
     BeanContainer container = BeanContainer.getInstance();
-    DozerProxyResolver proxyResolver = container.getProxyResolver();
+    DozerProxyResolver proxyResolver = container.getCachingProxyResolver();
     return proxyResolver.unenhanceObject(object);
   }
 
+  /**
+   * @return false for proxies and lazy collections not loaded yet, if the proxy resolver can tell them apart
+   */
+  public static boolean isInitialized(Object object) {
+    return BeanContainer.getInstance().getCachingProxyResolver().isInitialized(object);
+  }
+
+  public static Object getIdentifier(Object object) {
+    return BeanContainer.getInstance().getCachingProxyResolver().getIdentifier(object);
+  }
+
   public static boolean isProxy(Class<?> clazz) {
     BeanContainer container = BeanContainer.getInstance();
-    DozerProxyResolver proxyResolver = container.getProxyResolver();
+    DozerProxyResolver proxyResolver = container.getCachingProxyResolver();
     return proxyResolver.isProxy(clazz);
   }
 
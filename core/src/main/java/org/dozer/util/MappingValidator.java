@@ -53,7 +53,10 @@ public final class MappingValidator {
   }
 
   public static URL validateURL(String fileName) {
-    DozerClassLoader classLoader = BeanContainer.getInstance().getClassLoader();
+    return validateURL(fileName, BeanContainer.getInstance().getClassLoader());
+  }
+
+  public static URL validateURL(String fileName, DozerClassLoader classLoader) {
     if (fileName == null) {
       MappingUtils.throwMappingException("File name is null");
     }
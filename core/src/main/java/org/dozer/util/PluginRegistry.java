@@ -0,0 +1,102 @@
+/**
+ * Copyright 2005-2013 Dozer Project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.dozer.util;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Internal registry of plugged extensions contributed by modules, like bean creation strategies, bean field detectors
+ * and property descriptor creation strategies. Only intended for internal use.
+ * <p/>
+ * Registered plugins are published as an immutable list, which is replaced as a whole on every registration. Lookups
+ * therefore neither lock nor copy, and always see a consistent set of plugins while modules register concurrently.
+ * Plugins resolved per class are cached until the next registration. Classes are held weakly, so that the cache does
+ * not keep application class loaders reachable.
+ */
+public final class PluginRegistry<T> {
+
+  private static final Object NONE = new Object();
+
+  private volatile Snapshot<T> snapshot = new Snapshot<T>(Collections.<T>emptyList());
+
+  public synchronized void register(T plugin) {
+    if (plugin == null) {
+      throw new IllegalArgumentException("plugin must be specified");
+    }
+    List<T> plugins = new ArrayList<T>(snapshot.plugins.size() + 1);
+    plugins.addAll(snapshot.plugins);
+    plugins.add(plugin);
+    snapshot = new Snapshot<T>(Collections.unmodifiableList(plugins));
+  }
+
+  /**
+   * @return registered plugins in registration order, best iterated by index to avoid allocating an iterator
+   */
+  public List<T> getPlugins() {
+    return snapshot.plugins;
+  }
+
+  public boolean isEmpty() {
+    return snapshot.plugins.isEmpty();
+  }
+
+  /**
+   * Finds the first plugin accepting the given class. The result is cached, so the matcher has to decide by the class
+   * only.
+   *
+   * @return accepting plugin or null if there is none
+   */
+  @SuppressWarnings("unchecked")
+  public T resolve(Class<?> type, Matcher<? super T> matcher) {
+    Snapshot<T> current = snapshot;
+    if (current.plugins.isEmpty()) {
+      return null;
+    }
+    Object result = current.resolved.get(type);
+    if (result == null) {
+      result = NONE;
+      List<T> plugins = current.plugins;
+      for (int i = 0; i < plugins.size(); i++) {
+        T plugin = plugins.get(i);
+        if (matcher.accepts(plugin, type)) {
+          result = plugin;
+          break;
+        }
+      }
+      result = current.resolved.putIfAbsent(type, result);
+    }
+    return result == NONE ? null : (T) result;
+  }
+
+  /**
+   * Decides whether a plugin applies to a class.
+   */
+  public interface Matcher<T> {
+    boolean accepts(T plugin, Class<?> type);
+  }
+
+  private static final class Snapshot<T> {
+    private final List<T> plugins;
+    private final WeakKeyCache<Class<?>, Object> resolved = new WeakKeyCache<Class<?>, Object>();
+
+    Snapshot(List<T> plugins) {
+      this.plugins = plugins;
+    }
+  }
+
+}
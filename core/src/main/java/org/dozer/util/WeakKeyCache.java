@@ -0,0 +1,90 @@
+/**
+ * Copyright 2005-2013 Dozer Project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.dozer.util;
+
+import java.lang.ref.Reference;
+import java.lang.ref.ReferenceQueue;
+import java.lang.ref.WeakReference;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * Concurrent cache with weakly held keys compared by identity, for static caches keyed by classes or other objects
+ * tied to an application class loader. Entries disappear once their key is collected. Values must not reference
+ * their key, or the key is never collected. Only intended for internal use.
+ */
+public final class WeakKeyCache<K, V> {
+
+  private final ConcurrentMap<Key<K>, V> entries = new ConcurrentHashMap<Key<K>, V>();
+  private final ReferenceQueue<K> queue = new ReferenceQueue<K>();
+
+  public V get(K key) {
+    return entries.get(new Key<K>(key, null));
+  }
+
+  /**
+   * @return value already cached for the key, or the given value if there was none
+   */
+  public V putIfAbsent(K key, V value) {
+    expungeCollectedKeys();
+    V existing = entries.putIfAbsent(new Key<K>(key, queue), value);
+    return existing != null ? existing : value;
+  }
+
+  public void clear() {
+    entries.clear();
+  }
+
+  public int size() {
+    expungeCollectedKeys();
+    return entries.size();
+  }
+
+  private void expungeCollectedKeys() {
+    Reference<? extends K> reference;
+    while ((reference = queue.poll()) != null) {
+      entries.remove(reference);
+    }
+  }
+
+  private static final class Key<K> extends WeakReference<K> {
+
+    private final int hashCode;
+
+    Key(K key, ReferenceQueue<K> queue) {
+      super(key, queue);
+      this.hashCode = System.identityHashCode(key);
+    }
+
+    @Override
+    public boolean equals(Object obj) {
+      if (this == obj) {
+        return true;
+      }
+      if (!(obj instanceof Key)) {
+        return false;
+      }
+      Object key = get();
+      return key != null && key == ((Key<?>) obj).get();
+    }
+
+    @Override
+    public int hashCode() {
+      return hashCode;
+    }
+  }
+
+}
@@ -17,6 +17,8 @@ package org.dozer;
 
 import org.apache.commons.beanutils.PropertyUtils;
 import org.dozer.loader.api.BeanMappingBuilder;
+import org.dozer.vo.SimpleObj;
+import org.dozer.vo.SimpleObjPrime;
 import org.dozer.vo.TestObject;
 import org.dozer.vo.generics.deepindex.TestObjectPrime;
 import org.junit.After;
@@ -24,6 +26,9 @@ import org.junit.Assert;
 import org.junit.Before;
 import org.junit.Test;
 
+import java.io.File;
+import java.io.FileWriter;
+import java.io.IOException;
 import java.io.InputStream;
 import java.util.*;
 import java.util.concurrent.Callable;
@@ -31,6 +36,7 @@ import java.util.concurrent.CountDownLatch;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
 import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
 
 import static org.mockito.Mockito.mock;
 
@@ -191,6 +197,148 @@ public class DozerBeanMapperTest extends Assert {
     }
   }
 
+  @Test
+  public void shouldChangeMappingFilesBeforeInit() {
+    mapper.addMappingFile("dozerBeanMapping.xml");
+    mapper.addMappingFile("mapMapping.xml");
+    mapper.reloadMappingFile("mapMapping.xml");
+    mapper.removeMappingFile("dozerBeanMapping.xml");
+
+    assertEquals(Arrays.asList("mapMapping.xml"), mapper.getMappingFiles());
+  }
+
+  @Test
+  public void shouldLoadMappingFileAddedDuringInit() throws Exception {
+    File file = File.createTempFile("dozer-runtime-mapping", ".xml");
+    try {
+      final String url = file.toURI().toURL().toString();
+      writeMapping(file, "field6");
+      final AtomicReference<Thread> adding = new AtomicReference<Thread>();
+      mapper = new DozerBeanMapper() {
+        @Override
+        void loadCustomMappings() {
+          Thread thread = new Thread(new Runnable() {
+            public void run() {
+              addMappingFile(url);
+            }
+          });
+          adding.set(thread);
+          thread.start();
+          // the update has to wait for the mappings being loaded
+          while (thread.getState() != Thread.State.BLOCKED) {
+            Thread.yield();
+          }
+          super.loadCustomMappings();
+        }
+      };
+      SimpleObj source = new SimpleObj();
+      source.setField1("value");
+
+      assertEquals("value", mapper.map(source, SimpleObjPrime.class).getField1());
+      adding.get().join();
+
+      assertEquals(Arrays.asList(url), mapper.getMappingFiles());
+      assertEquals("value", mapper.map(source, SimpleObjPrime.class).getField6());
+    } finally {
+      file.delete();
+    }
+  }
+
+  @Test
+  public void shouldChangeMappingFilesAtRuntime() throws IOException {
+    File file = File.createTempFile("dozer-runtime-mapping", ".xml");
+    try {
+      String url = file.toURI().toURL().toString();
+      mapper.setMappingFiles(Arrays.asList("dozerBeanMapping.xml"));
+      SimpleObj source = new SimpleObj();
+      source.setField1("value");
+
+      // caches a default class map for the pair
+      SimpleObjPrime result = mapper.map(source, SimpleObjPrime.class);
+      assertEquals("value", result.getField1());
+
+      writeMapping(file, "field6");
+      mapper.addMappingFile(url);
+      result = mapper.map(source, SimpleObjPrime.class);
+      assertNull(result.getField1());
+      assertEquals("value", result.getField6());
+
+      writeMapping(file, "field2");
+      mapper.reloadMappingFile(url);
+      result = mapper.map(source, SimpleObjPrime.class);
+      assertEquals("value", result.getField2());
+      assertNull(result.getField6());
+
+      mapper.removeMappingFile(url);
+      result = mapper.map(source, SimpleObjPrime.class);
+      assertEquals("value", result.getField1());
+      assertNull(result.getField2());
+
+      assertEquals(Arrays.asList("dozerBeanMapping.xml"), mapper.getMappingFiles());
+      TestObject testObject = new TestObject();
+      testObject.setOne("one");
+      assertEquals("one", mapper.map(testObject, org.dozer.vo.TestObjectPrime.class).getOnePrime());
+    } finally {
+      file.delete();
+    }
+  }
+
+  @Test
+  public void shouldKeepMappingsWhenReloadFails() throws IOException {
+    File file = File.createTempFile("dozer-runtime-mapping", ".xml");
+    try {
+      String url = file.toURI().toURL().toString();
+      writeMapping(file, "field6");
+      mapper.setMappingFiles(Arrays.asList(url));
+      SimpleObj source = new SimpleObj();
+      source.setField1("value");
+      assertEquals("value", mapper.map(source, SimpleObjPrime.class).getField6());
+
+      FileWriter writer = new FileWriter(file);
+      writer.write("<mappings>");
+      writer.close();
+      try {
+        mapper.reloadMappingFile(url);
+        fail();
+      } catch (MappingException e) {
+      }
+      assertEquals("value", mapper.map(source, SimpleObjPrime.class).getField6());
+    } finally {
+      file.delete();
+    }
+  }
+
+  @Test
+  public void shouldNotChangeGlobalConfigurationAtRuntime() {
+    mapper.setMappingFiles(Arrays.asList("global-configuration.xml"));
+    mapper.map("Hello", String.class);
+    try {
+      mapper.removeMappingFile("global-configuration.xml");
+      fail();
+    } catch (MappingException e) {
+    }
+    try {
+      mapper.removeMappingFile("unknown.xml");
+      fail();
+    } catch (MappingException e) {
+    }
+    assertEquals(Arrays.asList("global-configuration.xml"), mapper.getMappingFiles());
+  }
+
+  private void writeMapping(File file, String destField) throws IOException {
+    FileWriter writer = new FileWriter(file);
+    try {
+      writer.write("<mappings xmlns=\"http://dozer.sourceforge.net\" "
+          + "xmlns:xsi=\"http://www.w3.org/2001/XMLSchema-instance\" "
+          + "xsi:schemaLocation=\"http://dozer.sourceforge.net http://dozer.sourceforge.net/schema/beanmapping.xsd\">"
+          + "<mapping wildcard=\"false\"><class-a>" + SimpleObj.class.getName() + "</class-a>"
+          + "<class-b>" + SimpleObjPrime.class.getName() + "</class-b>"
+          + "<field><a>field1</a><b>" + destField + "</b></field></mapping></mappings>");
+    } finally {
+      writer.close();
+    }
+  }
+
   @Test
   public void shouldSetEventListeners() {
     DozerEventListener listener = mock(DozerEventListener.class);
@@ -79,6 +79,15 @@ public class DozerConverterTest extends AbstractDozerTest {
         Integer.class));
   }
 
+  @Test
+  public void test_RepeatedBothDirections() {
+    for (int i = 0; i < 3; i++) {
+      assertEquals(i, converter.convert(null, String.valueOf(i), Integer.class, String.class));
+      assertEquals(String.valueOf(i), converter.convert(null, i, String.class, Integer.class));
+      assertEquals(i, converter.convert(null, String.valueOf(i), Object.class, String.class));
+    }
+  }
+
   @Test
   public void testObjectType() {
     assertEquals(1, converter
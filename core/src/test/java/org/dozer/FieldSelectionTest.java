@@ -0,0 +1,66 @@
+/**
+ * Copyright 2005-2013 Dozer Project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.dozer;
+
+import org.junit.Test;
+
+public class FieldSelectionTest extends AbstractDozerTest {
+
+  @Test
+  public void testSelect() {
+    FieldSelection selection = FieldSelection.of("name", "address.city", "address.zip");
+
+    assertTrue(selection.isSelected("name"));
+    assertTrue(selection.isSelected("address"));
+    assertTrue(selection.isSelected("address.city"));
+    assertFalse(selection.isSelected("address.street"));
+    assertFalse(selection.isSelected("orders"));
+    assertFalse(selection.isSelected(null));
+    assertSame(selection, selection.select("this"));
+    assertEquals(FieldSelection.of("city", "zip"), selection.select("address"));
+  }
+
+  @Test
+  public void testWholeFieldSelected() {
+    FieldSelection selection = FieldSelection.of("address", "address.city");
+
+    FieldSelection address = selection.select("address");
+    assertTrue(address.isSelected("street"));
+    assertTrue(address.isSelected("city.name"));
+    assertSame(address, selection.select("address.street"));
+  }
+
+  @Test
+  public void testIndexedField() {
+    FieldSelection selection = FieldSelection.of("orders.total");
+
+    assertTrue(selection.isSelected("orders[0].total"));
+    assertFalse(selection.isSelected("orders[0].items"));
+  }
+
+  @Test
+  public void testEquals() {
+    assertEquals(FieldSelection.of("a", "b.c"), FieldSelection.of("b.c", "a"));
+    assertEquals(FieldSelection.of("a", "b.c").hashCode(), FieldSelection.of("b.c", "a").hashCode());
+    assertFalse(FieldSelection.of("a").equals(FieldSelection.of("a.b")));
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void testEmptyPath() {
+    FieldSelection.of("a", "");
+  }
+
+}
@@ -0,0 +1,127 @@
+/**
+ * Copyright 2005-2013 Dozer Project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.dozer;
+
+import org.dozer.cache.DozerCacheType;
+import org.dozer.stats.GlobalStatistics;
+import org.dozer.stats.MappingProfiler;
+import org.dozer.stats.StatisticType;
+import org.dozer.stats.StatisticsManager;
+import org.dozer.stats.StatisticsManagerImpl;
+import org.dozer.util.DefaultClassLoader;
+import org.dozer.util.DefaultProxyResolver;
+import org.dozer.vo.SimpleObj;
+import org.dozer.vo.SimpleObjPrime;
+import org.dozer.vo.TestObject;
+import org.dozer.vo.TestObjectPrime;
+import org.junit.Test;
+
+import java.net.URL;
+import java.util.Collections;
+
+public class MapperContextTest extends AbstractDozerTest {
+
+  @Test
+  public void testIsolatedStatistics() {
+    boolean globalEnabled = GlobalStatistics.getInstance().getStatsMgr().isStatisticsEnabled();
+    long globalCount = GlobalStatistics.getInstance().getStatsMgr().getStatisticValue(StatisticType.MAPPING_SUCCESS_COUNT);
+
+    DozerBeanMapper first = new DozerBeanMapper(MapperContext.isolated(true));
+    DozerBeanMapper second = new DozerBeanMapper(MapperContext.isolated(true));
+    first.map(new TestObject(), TestObjectPrime.class);
+    first.map(new TestObject(), TestObjectPrime.class);
+    second.map(new TestObject(), TestObjectPrime.class);
+
+    StatisticsManager firstStats = first.getContext().getStatsMgr();
+    assertEquals(2, firstStats.getStatisticValue(StatisticType.MAPPING_SUCCESS_COUNT));
+    assertEquals(1, firstStats.getStatisticValue(StatisticType.MAPPER_INSTANCES_COUNT));
+    assertTrue(firstStats.getStatisticValue(StatisticType.CACHE_HIT_COUNT, DozerCacheType.SUPER_TYPE_CHECK.name()) > 0);
+    assertEquals(1, second.getContext().getStatsMgr().getStatisticValue(StatisticType.MAPPING_SUCCESS_COUNT));
+    assertEquals(globalCount, GlobalStatistics.getInstance().getStatsMgr().getStatisticValue(StatisticType.MAPPING_SUCCESS_COUNT));
+    assertEquals(globalEnabled, GlobalStatistics.getInstance().getStatsMgr().isStatisticsEnabled());
+  }
+
+  @Test
+  public void testIsolatedSettings() {
+    MapperContext context = MapperContext.isolated(false);
+    boolean globalProfiling = MapperContext.global().getMappingProfiler().isEnabled();
+
+    context.getStatsMgr().setStatisticsEnabled(true);
+    context.getMappingProfiler().setEnabled(!globalProfiling);
+
+    assertTrue(context.getStatsMgr().isStatisticsEnabled());
+    assertEquals(globalProfiling, MapperContext.global().getMappingProfiler().isEnabled());
+    assertFalse(context.isGlobal());
+    assertTrue(MapperContext.global().isGlobal());
+  }
+
+  @Test
+  public void testOwnClassLoader() {
+    DefaultClassLoader classLoader = new DefaultClassLoader(getClass().getClassLoader()) {
+      @Override
+      public URL loadResource(String uri) {
+        return super.loadResource("contextMapping.xml".equals(uri) ? "dozerBeanMapping.xml" : uri);
+      }
+    };
+    MapperContext context = new MapperContext(new StatisticsManagerImpl(false), new MappingProfiler(false), 100, 100,
+        classLoader, null);
+    DozerBeanMapper mapper = new DozerBeanMapper(Collections.singletonList("contextMapping.xml"), context);
+    TestObject source = new TestObject();
+    source.setOne("one");
+
+    assertEquals("one", mapper.map(source, TestObjectPrime.class).getOnePrime());
+  }
+
+  @Test
+  public void testOwnProxyResolver() {
+    DefaultProxyResolver proxyResolver = new DefaultProxyResolver() {
+      @Override
+      public boolean isProxy(Class<?> clazz) {
+        return clazz == SimpleObjProxy.class;
+      }
+
+      @Override
+      public <T> T unenhanceObject(T object) {
+        SimpleObj result = new SimpleObj();
+        result.setField1("unwrapped");
+        return (T) result;
+      }
+
+      @Override
+      public Class<?> getRealClass(Class<?> clazz) {
+        return isProxy(clazz) ? SimpleObj.class : clazz;
+      }
+    };
+    MapperContext context = new MapperContext(new StatisticsManagerImpl(false), new MappingProfiler(false), 100, 100,
+        null, proxyResolver);
+
+    SimpleObj source = new SimpleObjProxy();
+    source.setField1("proxy");
+
+    assertEquals("unwrapped", new DozerBeanMapper(context).map(source, SimpleObjPrime.class).getField1());
+    assertEquals("proxy", new DozerBeanMapper().map(source, SimpleObjPrime.class).getField1());
+  }
+
+  @Test
+  public void testDefaultContext() {
+    assertSame(MapperContext.global(), new DozerBeanMapper().getContext());
+    assertSame(GlobalStatistics.getInstance().getStatsMgr(), MapperContext.global().getStatsMgr());
+  }
+
+  public static class SimpleObjProxy extends SimpleObj {
+  }
+
+}
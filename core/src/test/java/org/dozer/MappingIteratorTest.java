@@ -0,0 +1,159 @@
+/**
+ * Copyright 2005-2013 Dozer Project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.dozer;
+
+import org.dozer.vo.SimpleObj;
+import org.dozer.vo.SimpleObjPrime;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+public class MappingIteratorTest extends AbstractDozerTest {
+
+  private DozerBeanMapper mapper;
+  private ExecutorService executor;
+
+  @Override
+  @Before
+  public void setUp() throws Exception {
+    super.setUp();
+    mapper = new DozerBeanMapper();
+    executor = Executors.newFixedThreadPool(4);
+  }
+
+  @After
+  public void tearDown() {
+    executor.shutdownNow();
+  }
+
+  @Test
+  public void testMapsLazily() {
+    CountingIterator source = new CountingIterator(createSource(3));
+    Iterator<SimpleObjPrime> result = mapper.mapIterator(source, SimpleObjPrime.class);
+    assertEquals(0, source.count);
+
+    assertTrue(result.hasNext());
+    assertEquals("0", result.next().getField1());
+    assertEquals(1, source.count);
+    assertEquals("1", result.next().getField1());
+    assertEquals("2", result.next().getField1());
+    assertFalse(result.hasNext());
+  }
+
+  @Test
+  public void testParallelKeepsOrder() {
+    Iterator<SimpleObjPrime> result = mapper.mapIterator(createSource(100).iterator(), SimpleObjPrime.class, executor, 8);
+    for (int i = 0; i < 100; i++) {
+      assertTrue(result.hasNext());
+      assertEquals(String.valueOf(i), result.next().getField1());
+    }
+    assertFalse(result.hasNext());
+  }
+
+  @Test
+  public void testParallelWindowIsBounded() {
+    CountingIterator source = new CountingIterator(createSource(100));
+    Iterator<SimpleObjPrime> result = mapper.mapIterator(source, SimpleObjPrime.class, executor, 5);
+    assertEquals(0, source.count);
+
+    result.next();
+    assertTrue(source.count <= 5);
+    result.next();
+    assertTrue(source.count <= 6);
+  }
+
+  @Test
+  public void testParallelClose() {
+    CountingIterator source = new CountingIterator(createSource(100));
+    MappingIterator<SimpleObjPrime> result = mapper.mapIterator(source, SimpleObjPrime.class, executor, 5);
+    assertEquals("0", result.next().getField1());
+    int read = source.count;
+
+    result.close();
+    assertFalse(result.hasNext());
+    assertEquals(read, source.count);
+  }
+
+  @Test
+  public void testParallelFailureOfOneElement() {
+    List<SimpleObj> source = createSource(3);
+    source.set(1, null);
+    Iterator<SimpleObjPrime> result = mapper.mapIterator(source.iterator(), SimpleObjPrime.class, executor, 2);
+
+    assertEquals("0", result.next().getField1());
+    try {
+      result.next();
+      fail();
+    } catch (MappingException e) {
+      // source element was null
+    }
+    assertEquals("2", result.next().getField1());
+    assertFalse(result.hasNext());
+  }
+
+  @Test(expected = NoSuchElementException.class)
+  public void testParallelExhausted() {
+    Iterator<SimpleObjPrime> result = mapper.mapIterator(createSource(0).iterator(), SimpleObjPrime.class, executor, 2);
+    assertFalse(result.hasNext());
+    result.next();
+  }
+
+  @Test(expected = MappingException.class)
+  public void testInvalidWindow() {
+    mapper.mapIterator(createSource(1).iterator(), SimpleObjPrime.class, executor, 0);
+  }
+
+  private static List<SimpleObj> createSource(int size) {
+    List<SimpleObj> result = new ArrayList<SimpleObj>();
+    for (int i = 0; i < size; i++) {
+      SimpleObj element = new SimpleObj();
+      element.setField1(String.valueOf(i));
+      result.add(element);
+    }
+    return result;
+  }
+
+  private static class CountingIterator implements Iterator<SimpleObj> {
+
+    private final Iterator<SimpleObj> delegate;
+    private volatile int count;
+
+    CountingIterator(List<SimpleObj> source) {
+      this.delegate = source.iterator();
+    }
+
+    public boolean hasNext() {
+      return delegate.hasNext();
+    }
+
+    public SimpleObj next() {
+      count++;
+      return delegate.next();
+    }
+
+    public void remove() {
+      throw new UnsupportedOperationException();
+    }
+  }
+
+}
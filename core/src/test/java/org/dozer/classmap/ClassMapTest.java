@@ -20,8 +20,10 @@ import java.util.List;
 
 
 import org.dozer.AbstractDozerTest;
+import org.dozer.FieldSelection;
 import org.dozer.classmap.ClassMap;
 import org.dozer.classmap.Configuration;
+import org.dozer.fieldmap.DozerField;
 import org.dozer.fieldmap.FieldMap;
 import org.dozer.fieldmap.GenericFieldMap;
 import org.junit.Before;
@@ -73,6 +75,27 @@ public class ClassMapTest extends AbstractDozerTest {
     assertNull(classMap.getFieldMapUsingDest("", true));
   }
 
+  @Test
+  public void testSelectedFieldMapsCacheIsBounded() {
+    GenericFieldMap fm = new GenericFieldMap(classMap);
+    fm.setDestField(new DozerField("name", null));
+    classMap.addFieldMapping(fm);
+
+    FieldSelection selection = FieldSelection.of("name");
+    List<FieldMap> selected = classMap.getFieldMaps(selection);
+    assertEquals(1, selected.size());
+    assertSame(selected, classMap.getFieldMaps(selection));
+
+    for (int i = 0; i < ClassMap.MAX_CACHED_SELECTIONS; i++) {
+      classMap.getFieldMaps(FieldSelection.of("name", "other" + i));
+    }
+    FieldSelection uncached = FieldSelection.of("name", "another");
+    List<FieldMap> first = classMap.getFieldMaps(uncached);
+    assertEquals(selected, first);
+    assertNotSame(first, classMap.getFieldMaps(uncached));
+    assertSame(selected, classMap.getFieldMaps(selection));
+  }
+
   @Test
   public void testProvideAlternateName() {
     assertEquals("field1", classMap.provideAlternateName("Field1"));
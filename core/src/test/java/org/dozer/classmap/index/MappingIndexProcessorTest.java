@@ -0,0 +1,209 @@
+/**
+ * Copyright 2005-2013 Dozer Project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.dozer.classmap.index;
+
+import org.dozer.AbstractDozerTest;
+import org.dozer.classmap.ClassMap;
+import org.dozer.classmap.ClassMapBuilder;
+import org.dozer.classmap.Configuration;
+import org.dozer.classmap.DozerClass;
+import org.dozer.classmap.index.MappingIndex.AnnotatedMember;
+import org.dozer.classmap.index.MappingIndex.IndexedClass;
+import org.dozer.fieldmap.FieldMap;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import javax.tools.JavaCompiler;
+import javax.tools.ToolProvider;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+public class MappingIndexProcessorTest extends AbstractDozerTest {
+
+  private static final String BASE = "package idx;\n"
+      + "import org.dozer.Mapping;\n"
+      + "public class Base {\n"
+      + "  @Mapping(\" other \") protected String id;\n"
+      + "  private String plain;\n"
+      + "  @Mapping public String getName() { return null; }\n"
+      + "  public String getTitle() { return null; }\n"
+      + "  @Mapping public static String getConstant() { return null; }\n"
+      + "}\n";
+
+  private static final String CHILD = "package idx;\n"
+      + "import org.dozer.Mapping;\n"
+      + "public class Child extends Base {\n"
+      + "  @Mapping private int count;\n"
+      + "  @Override public String getName() { return null; }\n"
+      + "  @Mapping(\"heading\") @Override public String getTitle() { return null; }\n"
+      + "  @Mapping public boolean isActive() { return false; }\n"
+      + "  public static class Nested { @Mapping(\"x\") public String getURL() { return null; } }\n"
+      + "}\n";
+
+  private static final String TARGET = "package idx;\n"
+      + "public class Target {\n"
+      + "  private int count;\n"
+      + "  private String other;\n"
+      + "  public void setActive(boolean active) { }\n"
+      + "  public void setHeading(String heading) { }\n"
+      + "}\n";
+
+  private File directory;
+
+  @Override
+  @Before
+  public void setUp() throws Exception {
+    super.setUp();
+    directory = File.createTempFile("dozer-index", "");
+    assertTrue(directory.delete());
+    assertTrue(directory.mkdir());
+  }
+
+  @After
+  public void tearDown() {
+    delete(directory);
+  }
+
+  @Test
+  public void testIndexContent() throws IOException {
+    compile();
+
+    Map<String, IndexedClass> index = new HashMap<String, IndexedClass>();
+    MappingIndex.read(new FileInputStream(new File(directory, MappingIndex.RESOURCE)), index);
+    assertEquals(new HashSet<String>(Arrays.asList("idx.Base", "idx.Child", "idx.Child$Nested", "idx.Target")), index.keySet());
+
+    IndexedClass base = index.get("idx.Base");
+    assertMembers(base.getFields(), "id", "other");
+    assertMembers(base.getProperties(), "name", "name");
+    assertEquals(Arrays.asList("name", "title"), base.getGetters());
+
+    IndexedClass child = index.get("idx.Child");
+    assertMembers(child.getFields(), "count", "count");
+    assertMembers(child.getProperties(), "active", "active", "title", "heading");
+    assertEquals(Arrays.asList("active", "name", "title"), child.getGetters());
+
+    assertMembers(index.get("idx.Child$Nested").getProperties(), "URL", "x");
+  }
+
+  @Test
+  public void testGeneratorsUseIndex() throws Exception {
+    compile();
+    URLClassLoader classLoader = new URLClassLoader(new URL[] {directory.toURI().toURL()}, getClass().getClassLoader());
+    Class<?> child = classLoader.loadClass("idx.Child");
+    Class<?> target = classLoader.loadClass("idx.Target");
+    assertNotNull(MappingIndex.find(child));
+    assertNotNull(MappingIndex.find(child.getSuperclass()));
+
+    Configuration configuration = new Configuration();
+    ClassMap classMap = new ClassMap(configuration);
+    classMap.setSrcClass(new DozerClass(child.getName(), child, null, null, null, null, null, null, null, false));
+    classMap.setDestClass(new DozerClass(target.getName(), target, null, null, null, null, null, null, null, false));
+    new ClassMapBuilder.AnnotationPropertiesGenerator().apply(classMap, configuration);
+    new ClassMapBuilder.AnnotationFieldsGenerator().apply(classMap, configuration);
+
+    Set<String> mappings = new HashSet<String>();
+    for (FieldMap fieldMap : classMap.getFieldMaps()) {
+      mappings.add(fieldMap.getSrcFieldName() + "->" + fieldMap.getDestFieldName());
+    }
+    // getter annotation of Base.getName() is hidden by the overriding getter
+    assertEquals(new HashSet<String>(Arrays.asList("active->active", "title->heading", "count->count", "id->other")), mappings);
+  }
+
+  @Test
+  public void testIndexOfOtherLocationIgnored() throws Exception {
+    compile();
+    // the classes are loaded from the first directory, the index is only found in the second one
+    File indexOnly = new File(directory, "index-only");
+    File index = new File(indexOnly, MappingIndex.RESOURCE);
+    assertTrue(index.getParentFile().mkdirs());
+    assertTrue(new File(directory, MappingIndex.RESOURCE).renameTo(index));
+    URLClassLoader classLoader = new URLClassLoader(new URL[] {directory.toURI().toURL(), indexOnly.toURI().toURL()},
+        getClass().getClassLoader());
+
+    assertNull(MappingIndex.find(classLoader.loadClass("idx.Child")));
+  }
+
+  @Test
+  public void testLocations() throws Exception {
+    assertEquals("jar:file:/lib/beans.jar!/",
+        MappingIndex.getIndexLocation(new URL("jar:file:/lib/beans.jar!/" + MappingIndex.RESOURCE)));
+    assertEquals("jar:file:/lib/beans.jar!/", MappingIndex.getCodeLocation(new URL("file:/lib/beans.jar")));
+    assertEquals("file:/classes/", MappingIndex.getIndexLocation(new URL("file:/classes/" + MappingIndex.RESOURCE)));
+    assertEquals("file:/classes/", MappingIndex.getCodeLocation(new URL("file:/classes/")));
+  }
+
+  @Test
+  public void testMissingIndex() {
+    assertNull(MappingIndex.find(String.class));
+    assertNull(MappingIndex.find(getClass()));
+  }
+
+  private void compile() throws IOException {
+    JavaCompiler compiler = ToolProvider.getSystemJavaCompiler();
+    assertNotNull("tests have to run on a JDK", compiler);
+    File base = write("idx/Base.java", BASE);
+    File child = write("idx/Child.java", CHILD);
+    File target = write("idx/Target.java", TARGET);
+    int result = compiler.run(null, null, null, "-classpath", System.getProperty("java.class.path"),
+        "-processor", MappingIndexProcessor.class.getName(), "-d", directory.getPath(), base.getPath(), child.getPath(),
+        target.getPath());
+    assertEquals(0, result);
+  }
+
+  private File write(String path, String content) throws IOException {
+    File file = new File(directory, path);
+    assertTrue(file.getParentFile().isDirectory() || file.getParentFile().mkdirs());
+    Writer writer = new OutputStreamWriter(new FileOutputStream(file), "UTF-8");
+    try {
+      writer.write(content);
+    } finally {
+      writer.close();
+    }
+    return file;
+  }
+
+  private static void assertMembers(List<AnnotatedMember> members, String... namesAndPairs) {
+    assertEquals(namesAndPairs.length / 2, members.size());
+    for (int i = 0; i < members.size(); i++) {
+      assertEquals(namesAndPairs[i * 2], members.get(i).getName());
+      assertEquals(namesAndPairs[i * 2 + 1], members.get(i).getPairName());
+    }
+  }
+
+  private static void delete(File file) {
+    File[] children = file.listFiles();
+    if (children != null) {
+      for (File child : children) {
+        delete(child);
+      }
+    }
+    file.delete();
+  }
+
+}
@@ -56,6 +56,9 @@ public class GlobalSettingsTest extends AbstractDozerTest {
     assertEquals(DozerConstants.DEFAULT_PROXY_RESOLVER_BEAN, globalSettings.getProxyResolverName());
     assertEquals(DozerConstants.DEFAULT_CLASS_LOADER_BEAN, globalSettings.getClassLoaderName());
     assertEquals(DozerConstants.DEFAULT_EL_ENABLED, globalSettings.isElEnabled());
+    assertEquals(DozerConstants.DEFAULT_MAPPING_LOADER_THREADS, globalSettings.getMappingLoaderThreads());
+    assertEquals(DozerConstants.DEFAULT_MAPPING_VALIDATE_CLASSPATH, globalSettings.isMappingValidateClasspath());
+    assertNull(globalSettings.getMappingSnapshotDir());
   }
 
   @Test
@@ -16,8 +16,11 @@
 package org.dozer.fieldmap;
 
 import org.dozer.AbstractDozerTest;
+import org.dozer.MappingException;
 import org.dozer.classmap.ClassMap;
 import org.dozer.classmap.DozerClass;
+import org.dozer.functional_tests.support.ContextualParamConverter;
+import org.dozer.functional_tests.support.StringAppendCustomConverter;
 import org.junit.Before;
 import org.junit.Test;
 
@@ -127,5 +130,34 @@ public class FieldMapTest extends AbstractDozerTest {
     assertFalse(fieldMap.isDestFieldAccessible());
   }
 
+  @Test
+  public void shouldResolveCustomConverterClass() {
+    fieldMap.setCustomConverter(StringAppendCustomConverter.class.getName());
+
+    assertEquals(StringAppendCustomConverter.class, fieldMap.getCustomConverterClass());
+    assertNotSame(fieldMap.createCustomConverter(), fieldMap.createCustomConverter());
+
+    fieldMap.setCustomConverter(null);
+    assertNull(fieldMap.getCustomConverterClass());
+  }
+
+  @Test
+  public void shouldShareContextualCustomConverter() {
+    fieldMap.setCustomConverter(ContextualParamConverter.class.getName());
+
+    assertSame(fieldMap.createCustomConverter(), fieldMap.createCustomConverter());
+  }
+
+  @Test(expected = MappingException.class)
+  public void shouldFailOnUnknownCustomConverter() {
+    fieldMap.setCustomConverter("org.dozer.NoSuchConverter");
+    fieldMap.getCustomConverterClass();
+  }
+
+  @Test(expected = MappingException.class)
+  public void shouldFailOnInvalidCustomConverter() {
+    fieldMap.setCustomConverter(String.class.getName());
+    fieldMap.getCustomConverterClass();
+  }
 
 }
@@ -0,0 +1,74 @@
+/**
+ * Copyright 2005-2013 Dozer Project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.dozer.fieldmap;
+
+import org.dozer.AbstractDozerTest;
+import org.dozer.MappingException;
+import org.junit.Test;
+
+import java.util.Arrays;
+
+public class HintContainerTest extends AbstractDozerTest {
+
+  @Test
+  public void testResolve() {
+    HintContainer container = hints("java.lang.String, java.lang.Integer");
+    assertEquals(Arrays.<Class<?>>asList(String.class, Integer.class), container.resolve());
+    assertSame(container.resolve(), container.getHints());
+    assertTrue(container.hasMoreThanOneHint());
+    assertNull(container.getHint());
+  }
+
+  @Test(expected = UnsupportedOperationException.class)
+  public void testHintsImmutable() {
+    hints("java.lang.String").getHints().add(Integer.class);
+  }
+
+  @Test(expected = MappingException.class)
+  public void testResolveUnknownClass() {
+    hints("org.dozer.Unknown").resolve();
+  }
+
+  @Test
+  public void testSetHint() {
+    HintContainer container = hints("java.lang.String");
+    container.setHint(Long.class);
+    assertSame(Long.class, container.getHint());
+  }
+
+  @Test
+  public void testHintBySourceHints() {
+    HintContainer src = hints("java.lang.String,java.lang.Integer");
+    HintContainer dest = hints("java.lang.StringBuilder,java.lang.Long");
+
+    assertSame(StringBuilder.class, dest.getHint(String.class, src));
+    assertSame(Long.class, dest.getHint(Integer.class, src));
+    assertSame(Double.class, dest.getHint(Double.class, src));
+    assertSame(Long.class, dest.getHint(Integer.class, src.getHints()));
+  }
+
+  @Test(expected = MappingException.class)
+  public void testPairingValidated() {
+    hints("java.lang.StringBuilder,java.lang.Long").validatePairing(hints("java.lang.String"));
+  }
+
+  private static HintContainer hints(String hintName) {
+    HintContainer result = new HintContainer();
+    result.setHintName(hintName);
+    return result;
+  }
+
+}
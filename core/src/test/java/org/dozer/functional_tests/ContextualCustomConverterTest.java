@@ -0,0 +1,109 @@
+/**
+ * Copyright 2005-2013 Dozer Project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.dozer.functional_tests;
+
+import org.dozer.ConversionContext;
+import org.dozer.CustomConverter;
+import org.dozer.DozerBeanMapper;
+import org.dozer.functional_tests.support.ContextualParamConverter;
+import org.dozer.vo.Fruit;
+import org.dozer.vo.Individual;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+public class ContextualCustomConverterTest extends AbstractFunctionalTest {
+
+  @Override
+  @Before
+  public void setUp() throws Exception {
+    mapper = getMapper("contextualCustomConverter.xml");
+    ((DozerBeanMapper) mapper).setCustomConverters(Collections.<CustomConverter>singletonList(new ContextualParamConverter()));
+  }
+
+  @Test
+  public void testParameterPassedWithContext() {
+    assertEquals("ABC-ONE-true", map("ABC", "1"));
+    assertEquals("ABC-TWO-true", map("ABC", "2"));
+  }
+
+  @Test
+  public void testFieldPassedWithContext() {
+    final AtomicReference<ConversionContext> contextRef = new AtomicReference<ConversionContext>();
+    mapper = getMapper("contextualCustomConverter.xml");
+    ((DozerBeanMapper) mapper).setCustomConverters(Collections.<CustomConverter>singletonList(new ContextualParamConverter() {
+      @Override
+      public Object convert(Object existingDestinationFieldValue, Object sourceFieldValue, Class<?> destinationClass,
+                            Class<?> sourceClass, ConversionContext context) {
+        contextRef.set(context);
+        return super.convert(existingDestinationFieldValue, sourceFieldValue, destinationClass, sourceClass, context);
+      }
+    }));
+
+    map("ABC", "1");
+
+    ConversionContext context = contextRef.get();
+    assertEquals("username", context.getSourceFieldName());
+    assertEquals("name", context.getDestinationFieldName());
+    assertTrue(context.getSourceHints().isEmpty());
+    assertTrue(context.getDestinationHints().isEmpty());
+  }
+
+  @Test
+  public void testSharedInstanceUsedConcurrently() throws Exception {
+    ExecutorService executor = Executors.newFixedThreadPool(4);
+    try {
+      List<Future<Boolean>> results = new ArrayList<Future<Boolean>>();
+      for (int i = 0; i < 8; i++) {
+        final String mapId = String.valueOf(i % 2 + 1);
+        final String expected = i % 2 == 0 ? "-ONE-true" : "-TWO-true";
+        results.add(executor.submit(new Callable<Boolean>() {
+          public Boolean call() {
+            for (int j = 0; j < 500; j++) {
+              if (!map(String.valueOf(j), mapId).equals(j + expected)) {
+                return false;
+              }
+            }
+            return true;
+          }
+        }));
+      }
+      for (Future<Boolean> result : results) {
+        assertEquals(Boolean.TRUE, result.get());
+      }
+    } finally {
+      executor.shutdownNow();
+    }
+  }
+
+  private String map(String username, String mapId) {
+    Individual individual = new Individual();
+    individual.setUsername(username);
+    return mapper.map(individual, Fruit.class, mapId).getName();
+  }
+
+}
@@ -61,4 +61,12 @@ public class InvalidMappingTest extends AbstractFunctionalTest {
     fail();
   }
 
+  @Test(expected=MappingException.class)
+  public void testUnknownCustomConverter() {
+    // fails when mappings are loaded, even though the class mapping itself is not used
+    mapper = getMapper("invalidmapping6.xml");
+    mapper.map("1", Integer.class);
+    fail();
+  }
+
 }
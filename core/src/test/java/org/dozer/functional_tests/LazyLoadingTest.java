@@ -0,0 +1,292 @@
+/**
+ * Copyright 2005-2013 Dozer Project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.dozer.functional_tests;
+
+import org.dozer.DozerBeanMapper;
+import org.dozer.Mapper;
+import org.dozer.config.BeanContainer;
+import org.dozer.loader.api.BeanMappingBuilder;
+import org.dozer.util.DefaultProxyResolver;
+import org.dozer.util.DozerProxyResolver;
+import org.dozer.util.LazyLoadingProxyResolver;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+
+import static org.dozer.classmap.LazyLoadingPolicy.SKIP;
+import static org.dozer.loader.api.TypeMappingOptions.lazyLoadingPolicy;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+
+public class LazyLoadingTest extends AbstractFunctionalTest {
+
+  private DozerProxyResolver proxyResolver;
+
+  @Override
+  @Before
+  public void setUp() throws Exception {
+    super.setUp();
+    proxyResolver = BeanContainer.getInstance().getProxyResolver();
+    BeanContainer.getInstance().setProxyResolver(new LazyResolver());
+  }
+
+  @After
+  public void tearDown() {
+    BeanContainer.getInstance().setProxyResolver(proxyResolver);
+  }
+
+  @Test
+  public void testSkipNotLoaded() {
+    Order order = new Order(new LazyCustomer(7L, false), new LazyItems(false));
+    List<ItemDto> items = new ArrayList<ItemDto>();
+    OrderDto dto = new OrderDto();
+    dto.setItems(items);
+
+    skippingMapper().map(order, dto);
+
+    assertNull(dto.getCustomer());
+    assertSame(items, dto.getItems());
+  }
+
+  @Test
+  public void testLoadedMapped() {
+    LazyItems lazyItems = new LazyItems(true);
+    lazyItems.add(new Item("book"));
+    Order order = new Order(new LazyCustomer(7L, true), lazyItems);
+
+    OrderDto dto = skippingMapper().map(order, OrderDto.class);
+
+    assertEquals("john", dto.getCustomer().getName());
+    assertEquals(1, dto.getItems().size());
+    assertEquals("book", dto.getItems().get(0).getName());
+  }
+
+  @Test
+  public void testIdentifier() {
+    Order order = new Order(new LazyCustomer(7L, false), new LazyItems(false));
+
+    OrderDto dto = getMapper("lazyLoadingMapping.xml").map(order, OrderDto.class);
+
+    assertEquals(Long.valueOf(7L), dto.getCustomerId());
+    assertNull(dto.getCustomer());
+    assertNull(dto.getItems());
+
+    // loaded proxies are mapped to their identifier as well
+    order = new Order(new LazyCustomer(8L, true), null);
+
+    dto = getMapper("lazyLoadingMapping.xml").map(order, OrderDto.class);
+
+    assertEquals(Long.valueOf(8L), dto.getCustomerId());
+  }
+
+  @Test
+  public void testInitializedByDefault() {
+    Order order = new Order(new LazyCustomer(7L, false), null);
+
+    OrderDto dto = mapper.map(order, OrderDto.class);
+
+    assertEquals("john", dto.getCustomer().getName());
+  }
+
+  private Mapper skippingMapper() {
+    DozerBeanMapper result = new DozerBeanMapper();
+    result.addMapping(new BeanMappingBuilder() {
+      @Override
+      protected void configure() {
+        mapping(Order.class, OrderDto.class, lazyLoadingPolicy(SKIP));
+      }
+    });
+    return result;
+  }
+
+  private interface Lazy {
+    boolean isLoaded();
+  }
+
+  private static class LazyResolver extends DefaultProxyResolver implements LazyLoadingProxyResolver {
+
+    public boolean isInitialized(Object object) {
+      return !(object instanceof Lazy) || ((Lazy) object).isLoaded();
+    }
+
+    public Object getIdentifier(Object object) {
+      return object instanceof LazyCustomer ? ((LazyCustomer) object).getId() : null;
+    }
+  }
+
+  public static class LazyCustomer extends Customer implements Lazy {
+    private final boolean loaded;
+
+    public LazyCustomer(Long id, boolean loaded) {
+      setId(id);
+      setName("john");
+      this.loaded = loaded;
+    }
+
+    public boolean isLoaded() {
+      return loaded;
+    }
+  }
+
+  public static class LazyItems extends ArrayList<Item> implements Lazy {
+    private final boolean loaded;
+
+    public LazyItems(boolean loaded) {
+      this.loaded = loaded;
+    }
+
+    public boolean isLoaded() {
+      return loaded;
+    }
+
+    @Override
+    public Iterator<Item> iterator() {
+      if (!loaded) {
+        throw new IllegalStateException("not loaded");
+      }
+      return super.iterator();
+    }
+  }
+
+  public static class Order {
+    private Customer customer;
+    private List<Item> items;
+
+    public Order() {
+    }
+
+    public Order(Customer customer, List<Item> items) {
+      this.customer = customer;
+      this.items = items;
+    }
+
+    public Customer getCustomer() {
+      return customer;
+    }
+
+    public void setCustomer(Customer customer) {
+      this.customer = customer;
+    }
+
+    public List<Item> getItems() {
+      return items;
+    }
+
+    public void setItems(List<Item> items) {
+      this.items = items;
+    }
+  }
+
+  public static class OrderDto {
+    private CustomerDto customer;
+    private Long customerId;
+    private List<ItemDto> items;
+
+    public CustomerDto getCustomer() {
+      return customer;
+    }
+
+    public void setCustomer(CustomerDto customer) {
+      this.customer = customer;
+    }
+
+    public Long getCustomerId() {
+      return customerId;
+    }
+
+    public void setCustomerId(Long customerId) {
+      this.customerId = customerId;
+    }
+
+    public List<ItemDto> getItems() {
+      return items;
+    }
+
+    public void setItems(List<ItemDto> items) {
+      this.items = items;
+    }
+  }
+
+  public static class Customer {
+    private Long id;
+    private String name;
+
+    public Long getId() {
+      return id;
+    }
+
+    public void setId(Long id) {
+      this.id = id;
+    }
+
+    public String getName() {
+      return name;
+    }
+
+    public void setName(String name) {
+      this.name = name;
+    }
+  }
+
+  public static class CustomerDto {
+    private String name;
+
+    public String getName() {
+      return name;
+    }
+
+    public void setName(String name) {
+      this.name = name;
+    }
+  }
+
+  public static class Item {
+    private String name;
+
+    public Item() {
+    }
+
+    public Item(String name) {
+      this.name = name;
+    }
+
+    public String getName() {
+      return name;
+    }
+
+    public void setName(String name) {
+      this.name = name;
+    }
+  }
+
+  public static class ItemDto {
+    private String name;
+
+    public String getName() {
+      return name;
+    }
+
+    public void setName(String name) {
+      this.name = name;
+    }
+  }
+
+}
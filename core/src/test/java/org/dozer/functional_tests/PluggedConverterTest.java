@@ -0,0 +1,131 @@
+/**
+ * Copyright 2005-2013 Dozer Project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.dozer.functional_tests;
+
+import org.dozer.DozerBeanMapper;
+import org.dozer.DozerConverter;
+import org.dozer.loader.api.BeanMappingBuilder;
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+
+/**
+ * Converters declared in META-INF/services/org.dozer.DozerConverter of the test class path.
+ */
+public class PluggedConverterTest extends AbstractFunctionalTest {
+
+  @Test
+  public void testAppliedToExplicitClassMap() {
+    DozerBeanMapper mapper = new DozerBeanMapper();
+    mapper.addMapping(new BeanMappingBuilder() {
+      @Override
+      protected void configure() {
+        mapping(Source.class, Destination.class).fields("code", "label");
+      }
+    });
+
+    Destination result = mapper.map(new Source(new Code("x")), Destination.class);
+
+    assertEquals("code:x", result.getLabel().getText());
+  }
+
+  @Test
+  public void testAppliedWithoutMappings() {
+    Label result = new DozerBeanMapper().map(new Code("y"), Label.class);
+
+    assertEquals("code:y", result.getText());
+  }
+
+  public static class CodeConverter extends DozerConverter<Code, Label> {
+
+    public CodeConverter() {
+      super(Code.class, Label.class);
+    }
+
+    @Override
+    public Label convertTo(Code source, Label destination) {
+      return source == null ? null : new Label("code:" + source.getValue());
+    }
+
+    @Override
+    public Code convertFrom(Label source, Code destination) {
+      return source == null ? null : new Code(source.getText().substring("code:".length()));
+    }
+  }
+
+  public static class Code {
+    private final String value;
+
+    public Code(String value) {
+      this.value = value;
+    }
+
+    public String getValue() {
+      return value;
+    }
+  }
+
+  public static class Label {
+    private String text;
+
+    public Label() {
+    }
+
+    public Label(String text) {
+      this.text = text;
+    }
+
+    public String getText() {
+      return text;
+    }
+
+    public void setText(String text) {
+      this.text = text;
+    }
+  }
+
+  public static class Source {
+    private Code code;
+
+    public Source() {
+    }
+
+    public Source(Code code) {
+      this.code = code;
+    }
+
+    public Code getCode() {
+      return code;
+    }
+
+    public void setCode(Code code) {
+      this.code = code;
+    }
+  }
+
+  public static class Destination {
+    private Label label;
+
+    public Label getLabel() {
+      return label;
+    }
+
+    public void setLabel(Label label) {
+      this.label = label;
+    }
+  }
+
+}
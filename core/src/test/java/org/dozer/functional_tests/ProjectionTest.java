@@ -0,0 +1,257 @@
+/**
+ * Copyright 2005-2013 Dozer Project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.dozer.functional_tests;
+
+import org.dozer.CustomConverter;
+import org.dozer.FieldSelection;
+import org.dozer.DozerBeanMapper;
+import org.dozer.Mapper;
+import org.dozer.MapperAware;
+import org.dozer.loader.api.BeanMappingBuilder;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.dozer.loader.api.FieldsMappingOptions.customConverter;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+
+public class ProjectionTest extends AbstractFunctionalTest {
+
+  private static final FieldSelection NAME_AND_CITIES = FieldSelection.of("name", "addresses.city");
+
+  private DozerBeanMapper beanMapper;
+  private Customer customer;
+
+  @Override
+  @Before
+  public void setUp() throws Exception {
+    super.setUp();
+    beanMapper = (DozerBeanMapper) mapper;
+    customer = new Customer();
+    customer.setName("john");
+    customer.setComment("comment");
+    customer.setAddresses(Arrays.asList(new Address("riga", "brivibas"), new Address("london", "baker")));
+  }
+
+  @Test
+  public void testOnlySelectedFieldsMapped() {
+    CustomerDto dto = beanMapper.project(customer, CustomerDto.class, NAME_AND_CITIES);
+
+    assertEquals("john", dto.getName());
+    assertNull(dto.getComment());
+    assertEquals(2, dto.getAddresses().size());
+    assertEquals("riga", dto.getAddresses().get(0).getCity());
+    assertNull(dto.getAddresses().get(0).getStreet());
+    assertEquals("london", dto.getAddresses().get(1).getCity());
+  }
+
+  @Test
+  public void testUnselectedGettersNotCalled() {
+    Customer src = new Customer() {
+      @Override
+      public String getComment() {
+        throw new IllegalStateException("not selected");
+      }
+    };
+    src.setName("john");
+
+    CustomerDto dto = beanMapper.project(src, CustomerDto.class, FieldSelection.of("name"));
+
+    assertEquals("john", dto.getName());
+    assertNull(dto.getAddresses());
+  }
+
+  @Test
+  public void testWholeNestedFieldSelected() {
+    CustomerDto dto = beanMapper.project(customer, CustomerDto.class, FieldSelection.of("addresses"));
+
+    assertNull(dto.getName());
+    assertEquals("brivibas", dto.getAddresses().get(0).getStreet());
+  }
+
+  @Test
+  public void testRegularMappingUnaffected() {
+    beanMapper.project(customer, CustomerDto.class, NAME_AND_CITIES);
+
+    CustomerDto dto = mapper.map(customer, CustomerDto.class);
+
+    assertEquals("comment", dto.getComment());
+    assertEquals("baker", dto.getAddresses().get(1).getStreet());
+  }
+
+  @Test
+  public void testCustomMapping() {
+    DozerBeanMapper customMapper = (DozerBeanMapper) getMapper("projectionMapping.xml");
+
+    CustomerDto dto = customMapper.project(customer, CustomerDto.class, FieldSelection.of("comment"));
+
+    assertNull(dto.getName());
+    assertEquals("john", dto.getComment());
+    assertNull(dto.getAddresses());
+  }
+
+  @Test
+  public void testConverterCallbacksMapWholeObjects() {
+    DozerBeanMapper converterMapper = new DozerBeanMapper();
+    converterMapper.addMapping(new BeanMappingBuilder() {
+      @Override
+      protected void configure() {
+        mapping(Customer.class, CustomerDto.class)
+            .fields("addresses", "addresses", customConverter(AddressesConverter.class));
+      }
+    });
+
+    CustomerDto dto = converterMapper.project(customer, CustomerDto.class, NAME_AND_CITIES);
+
+    assertEquals("john", dto.getName());
+    assertNull(dto.getComment());
+    // the converter maps by itself, so the selection below the converted field does not apply
+    assertEquals("brivibas", dto.getAddresses().get(0).getStreet());
+  }
+
+  public static class AddressesConverter implements CustomConverter, MapperAware {
+    private Mapper mapper;
+
+    public void setMapper(Mapper mapper) {
+      this.mapper = mapper;
+    }
+
+    public Object convert(Object existingDestinationFieldValue, Object sourceFieldValue, Class<?> destinationClass,
+                          Class<?> sourceClass) {
+      List<AddressDto> result = new ArrayList<AddressDto>();
+      for (Object address : (List<?>) sourceFieldValue) {
+        result.add(mapper.map(address, AddressDto.class));
+      }
+      return result;
+    }
+  }
+
+  public static class Customer {
+    private String name;
+    private String comment;
+    private List<Address> addresses;
+
+    public String getName() {
+      return name;
+    }
+
+    public void setName(String name) {
+      this.name = name;
+    }
+
+    public String getComment() {
+      return comment;
+    }
+
+    public void setComment(String comment) {
+      this.comment = comment;
+    }
+
+    public List<Address> getAddresses() {
+      return addresses;
+    }
+
+    public void setAddresses(List<Address> addresses) {
+      this.addresses = addresses;
+    }
+  }
+
+  public static class CustomerDto {
+    private String name;
+    private String comment;
+    private List<AddressDto> addresses;
+
+    public String getName() {
+      return name;
+    }
+
+    public void setName(String name) {
+      this.name = name;
+    }
+
+    public String getComment() {
+      return comment;
+    }
+
+    public void setComment(String comment) {
+      this.comment = comment;
+    }
+
+    public List<AddressDto> getAddresses() {
+      return addresses;
+    }
+
+    public void setAddresses(List<AddressDto> addresses) {
+      this.addresses = addresses;
+    }
+  }
+
+  public static class Address {
+    private String city;
+    private String street;
+
+    public Address() {
+    }
+
+    public Address(String city, String street) {
+      this.city = city;
+      this.street = street;
+    }
+
+    public String getCity() {
+      return city;
+    }
+
+    public void setCity(String city) {
+      this.city = city;
+    }
+
+    public String getStreet() {
+      return street;
+    }
+
+    public void setStreet(String street) {
+      this.street = street;
+    }
+  }
+
+  public static class AddressDto {
+    private String city;
+    private String street;
+
+    public String getCity() {
+      return city;
+    }
+
+    public void setCity(String city) {
+      this.city = city;
+    }
+
+    public String getStreet() {
+      return street;
+    }
+
+    public void setStreet(String street) {
+      this.street = street;
+    }
+  }
+
+}
@@ -0,0 +1,271 @@
+/**
+ * Copyright 2005-2013 Dozer Project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.dozer.functional_tests;
+
+import org.dozer.DozerBeanMapper;
+import org.dozer.loader.api.BeanMappingBuilder;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static org.dozer.loader.api.TypeMappingOptions.reuseDestination;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+
+public class ReuseDestinationTest extends AbstractFunctionalTest {
+
+  @Override
+  @Before
+  public void setUp() throws Exception {
+    mapper = getMapper("reuseDestinationMapping.xml");
+  }
+
+  @Test
+  public void testListRefilledInPlace() {
+    OrderDto dest = new OrderDto();
+    List<LineDto> lines = dest.getLines();
+    LineDto first = new LineDto("old", 0);
+    LineDto second = new LineDto("old", 0);
+    LineDto third = new LineDto("old", 0);
+    lines.addAll(Arrays.asList(first, second, third));
+
+    mapper.map(new Order(new Line("a", 1), new Line("b", 2)), dest);
+
+    assertSame(lines, dest.getLines());
+    assertEquals(2, lines.size());
+    assertSame(first, lines.get(0));
+    assertSame(second, lines.get(1));
+    assertEquals("a", first.getName());
+    assertEquals(1, first.getQuantity());
+    assertEquals("b", second.getName());
+    assertEquals(2, second.getQuantity());
+  }
+
+  @Test
+  public void testListGrows() {
+    OrderDto dest = new OrderDto();
+    LineDto first = new LineDto("old", 0);
+    dest.getLines().add(first);
+
+    mapper.map(new Order(new Line("a", 1), new Line("b", 2)), dest);
+
+    assertEquals(2, dest.getLines().size());
+    assertSame(first, dest.getLines().get(0));
+    assertEquals("b", dest.getLines().get(1).getName());
+  }
+
+  @Test
+  public void testMapAndSetRefilled() {
+    OrderDto dest = new OrderDto();
+    Map<String, LineDto> byName = dest.getByName();
+    LineDto existing = new LineDto("old", 0);
+    byName.put("a", existing);
+    byName.put("stale", new LineDto("stale", 0));
+    Set<String> tags = dest.getTags();
+    tags.add("stale");
+
+    Order src = new Order(new Line("a", 1));
+    src.getByName().put("a", new Line("a", 5));
+    src.getTags().add("new");
+    mapper.map(src, dest);
+
+    assertSame(byName, dest.getByName());
+    assertEquals(1, byName.size());
+    assertSame(existing, byName.get("a"));
+    assertEquals(5, existing.getQuantity());
+    assertSame(tags, dest.getTags());
+    assertEquals(new HashSet<String>(Arrays.asList("new")), tags);
+  }
+
+  @Test
+  public void testDisabledByDefault() {
+    DozerBeanMapper defaultMapper = new DozerBeanMapper();
+    OrderDto dest = new OrderDto();
+    LineDto first = new LineDto("old", 0);
+    dest.getLines().add(first);
+
+    defaultMapper.map(new Order(new Line("a", 1)), dest);
+
+    assertEquals(2, dest.getLines().size());
+    assertSame(first, dest.getLines().get(0));
+    assertEquals("old", first.getName());
+  }
+
+  @Test
+  public void testApiOption() {
+    DozerBeanMapper apiMapper = new DozerBeanMapper();
+    apiMapper.addMapping(new BeanMappingBuilder() {
+      @Override
+      protected void configure() {
+        mapping(Order.class, OrderDto.class, reuseDestination());
+      }
+    });
+    OrderDto dest = new OrderDto();
+    LineDto first = new LineDto("old", 0);
+    dest.getLines().add(first);
+
+    apiMapper.map(new Order(new Line("a", 1)), dest);
+
+    assertEquals(1, dest.getLines().size());
+    assertSame(first, dest.getLines().get(0));
+    assertEquals("a", first.getName());
+  }
+
+  @Test
+  public void testNewDestinationUnaffected() {
+    Order src = new Order(new Line("a", 1));
+
+    OrderDto dest = mapper.map(src, OrderDto.class);
+
+    assertEquals(1, dest.getLines().size());
+    assertNotSame(src.getLines().get(0), dest.getLines().get(0));
+    assertEquals("a", dest.getLines().get(0).getName());
+  }
+
+  public static class Order {
+    private List<Line> lines = new ArrayList<Line>();
+    private Map<String, Line> byName = new HashMap<String, Line>();
+    private Set<String> tags = new HashSet<String>();
+
+    public Order() {
+    }
+
+    public Order(Line... lines) {
+      this.lines.addAll(Arrays.asList(lines));
+    }
+
+    public List<Line> getLines() {
+      return lines;
+    }
+
+    public void setLines(List<Line> lines) {
+      this.lines = lines;
+    }
+
+    public Map<String, Line> getByName() {
+      return byName;
+    }
+
+    public void setByName(Map<String, Line> byName) {
+      this.byName = byName;
+    }
+
+    public Set<String> getTags() {
+      return tags;
+    }
+
+    public void setTags(Set<String> tags) {
+      this.tags = tags;
+    }
+  }
+
+  public static class OrderDto {
+    private List<LineDto> lines = new ArrayList<LineDto>();
+    private Map<String, LineDto> byName = new HashMap<String, LineDto>();
+    private Set<String> tags = new HashSet<String>();
+
+    public List<LineDto> getLines() {
+      return lines;
+    }
+
+    public void setLines(List<LineDto> lines) {
+      this.lines = lines;
+    }
+
+    public Map<String, LineDto> getByName() {
+      return byName;
+    }
+
+    public void setByName(Map<String, LineDto> byName) {
+      this.byName = byName;
+    }
+
+    public Set<String> getTags() {
+      return tags;
+    }
+
+    public void setTags(Set<String> tags) {
+      this.tags = tags;
+    }
+  }
+
+  public static class Line {
+    private String name;
+    private int quantity;
+
+    public Line() {
+    }
+
+    public Line(String name, int quantity) {
+      this.name = name;
+      this.quantity = quantity;
+    }
+
+    public String getName() {
+      return name;
+    }
+
+    public void setName(String name) {
+      this.name = name;
+    }
+
+    public int getQuantity() {
+      return quantity;
+    }
+
+    public void setQuantity(int quantity) {
+      this.quantity = quantity;
+    }
+  }
+
+  public static class LineDto {
+    private String name;
+    private int quantity;
+
+    public LineDto() {
+    }
+
+    public LineDto(String name, int quantity) {
+      this.name = name;
+      this.quantity = quantity;
+    }
+
+    public String getName() {
+      return name;
+    }
+
+    public void setName(String name) {
+      this.name = name;
+    }
+
+    public int getQuantity() {
+      return quantity;
+    }
+
+    public void setQuantity(int quantity) {
+      this.quantity = quantity;
+    }
+  }
+
+}
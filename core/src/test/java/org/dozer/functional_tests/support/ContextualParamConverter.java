@@ -0,0 +1,33 @@
+/**
+ * Copyright 2005-2013 Dozer Project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.dozer.functional_tests.support;
+
+import org.dozer.ContextualCustomConverter;
+import org.dozer.ConversionContext;
+
+public class ContextualParamConverter implements ContextualCustomConverter {
+
+  public Object convert(Object existingDestinationFieldValue, Object sourceFieldValue, Class<?> destinationClass,
+                        Class<?> sourceClass, ConversionContext context) {
+    return sourceFieldValue + "-" + context.getParameter() + "-" + (context.getMapper() != null);
+  }
+
+  public Object convert(Object existingDestinationFieldValue, Object sourceFieldValue, Class<?> destinationClass,
+                        Class<?> sourceClass) {
+    throw new UnsupportedOperationException();
+  }
+
+}
@@ -0,0 +1,208 @@
+/**
+ * Copyright 2005-2013 Dozer Project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.dozer.loader;
+
+import org.dozer.AbstractDozerTest;
+import org.dozer.classmap.ClassMap;
+import org.dozer.classmap.MappingFileData;
+import org.dozer.classmap.MappingDirection;
+import org.dozer.classmap.RelationshipType;
+import org.dozer.fieldmap.FieldMap;
+import org.dozer.loader.xml.MappingFilesLoader;
+import org.dozer.loader.xml.XMLParserFactory;
+import org.dozer.util.DozerConstants;
+import org.dozer.vo.TestObject;
+import org.dozer.vo.TestObjectPrime;
+import org.dozer.vo.allowedexceptions.TestException;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.ObjectOutputStream;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+public class MappingsSnapshotTest extends AbstractDozerTest {
+
+  private static final List<String> MAPPING_FILES = Collections.singletonList("dozerBeanMapping.xml");
+
+  private File directory;
+
+  @Before
+  public void setUp() throws IOException {
+    directory = File.createTempFile("dozer-snapshot", "");
+    assertTrue(directory.delete());
+    assertTrue(directory.mkdir());
+  }
+
+  @After
+  public void tearDown() {
+    File[] files = directory.listFiles();
+    if (files != null) {
+      for (File file : files) {
+        file.delete();
+      }
+    }
+    directory.delete();
+  }
+
+  @Test
+  public void testSaveAndLoad() {
+    LoadMappingsResult expected = loadFromSource();
+    MappingsSnapshot snapshot = new MappingsSnapshot(directory, MAPPING_FILES);
+    assertNull(snapshot.load());
+
+    snapshot.save(expected);
+    assertTrue(snapshot.getFile().isFile());
+
+    LoadMappingsResult actual = new MappingsSnapshot(directory, MAPPING_FILES).load();
+    assertNotNull(actual);
+    assertEquals(expected.getGlobalConfiguration().getDateFormat(), actual.getGlobalConfiguration().getDateFormat());
+
+    Map<String, ClassMap> expectedMappings = expected.getCustomMappings().getAll();
+    Map<String, ClassMap> actualMappings = actual.getCustomMappings().getAll();
+    assertEquals(expectedMappings.keySet(), actualMappings.keySet());
+    for (Map.Entry<String, ClassMap> entry : expectedMappings.entrySet()) {
+      ClassMap expectedClassMap = entry.getValue();
+      ClassMap actualClassMap = actualMappings.get(entry.getKey());
+      assertEquals(expectedClassMap.getSrcClassToMap(), actualClassMap.getSrcClassToMap());
+      assertEquals(expectedClassMap.getDestClassToMap(), actualClassMap.getDestClassToMap());
+      assertSame(expectedClassMap.getType(), actualClassMap.getType());
+      assertSame(actual.getGlobalConfiguration(), actualClassMap.getGlobalConfiguration());
+      assertEquals(expectedClassMap.getFieldMaps().size(), actualClassMap.getFieldMaps().size());
+      for (int i = 0; i < expectedClassMap.getFieldMaps().size(); i++) {
+        FieldMap expectedFieldMap = expectedClassMap.getFieldMaps().get(i);
+        FieldMap actualFieldMap = actualClassMap.getFieldMaps().get(i);
+        assertEquals(expectedFieldMap.getClass(), actualFieldMap.getClass());
+        assertEquals(expectedFieldMap.getSrcFieldName(), actualFieldMap.getSrcFieldName());
+        assertEquals(expectedFieldMap.getDestFieldName(), actualFieldMap.getDestFieldName());
+        assertSame(expectedFieldMap.getType(), actualFieldMap.getType());
+        assertSame(expectedFieldMap.getRelationshipType(), actualFieldMap.getRelationshipType());
+      }
+    }
+  }
+
+  @Test
+  public void testLoadedFieldMapsAreUsable() {
+    MappingsSnapshot snapshot = new MappingsSnapshot(directory, MAPPING_FILES);
+    snapshot.save(loadFromSource());
+
+    ClassMap classMap = snapshot.load().getCustomMappings().find(TestObject.class, TestObjectPrime.class);
+    assertNotNull(classMap);
+    for (FieldMap fieldMap : classMap.getFieldMaps()) {
+      if ("one".equals(fieldMap.getSrcFieldName())) {
+        assertEquals(String.class, fieldMap.getSrcFieldType(TestObject.class));
+        return;
+      }
+    }
+    fail("field mapping not found");
+  }
+
+  @Test
+  public void testConstantsKeepIdentity() {
+    MappingsSnapshot snapshot = new MappingsSnapshot(directory, MAPPING_FILES);
+    snapshot.save(loadFromSource());
+
+    boolean oneWayFound = false;
+    boolean cumulativeFound = false;
+    for (ClassMap classMap : snapshot.load().getCustomMappings().getAll().values()) {
+      for (FieldMap fieldMap : classMap.getFieldMaps()) {
+        oneWayFound |= MappingDirection.ONE_WAY == fieldMap.getType();
+        cumulativeFound |= RelationshipType.CUMULATIVE == fieldMap.getRelationshipType();
+      }
+    }
+    assertTrue(oneWayFound);
+    assertTrue(cumulativeFound);
+  }
+
+  @Test
+  public void testDifferentSourcesUseDifferentFiles() {
+    File first = new MappingsSnapshot(directory, MAPPING_FILES).getFile();
+    File second = new MappingsSnapshot(directory, Arrays.asList("dozerBeanMapping.xml", "mapMapping.xml")).getFile();
+    assertFalse(first.equals(second));
+    assertEquals(first, new MappingsSnapshot(directory, MAPPING_FILES).getFile());
+  }
+
+  @Test
+  public void testCorruptedSnapshotIgnored() throws IOException {
+    MappingsSnapshot snapshot = new MappingsSnapshot(directory, MAPPING_FILES);
+    FileOutputStream out = new FileOutputStream(snapshot.getFile());
+    out.write(new byte[] {1, 2, 3});
+    out.close();
+
+    assertNull(snapshot.load());
+  }
+
+  @Test
+  public void testForeignClassesRejected() throws IOException {
+    MappingsSnapshot snapshot = new MappingsSnapshot(directory, MAPPING_FILES);
+    snapshot.save(loadFromSource());
+    ObjectOutputStream out = new ObjectOutputStream(new FileOutputStream(snapshot.getFile()));
+    out.writeUTF("dozer-mappings-snapshot-" + DozerConstants.CURRENT_VERSION);
+    out.writeObject(new File("foreign"));
+    out.close();
+
+    assertNull(snapshot.load());
+  }
+
+  @Test
+  public void testOtherJdkClassesRejected() throws IOException {
+    MappingsSnapshot snapshot = new MappingsSnapshot(directory, MAPPING_FILES);
+    snapshot.save(loadFromSource());
+    ObjectOutputStream out = new ObjectOutputStream(new FileOutputStream(snapshot.getFile()));
+    out.writeUTF("dozer-mappings-snapshot-" + DozerConstants.CURRENT_VERSION);
+    out.writeObject(new HashMap<String, String>());
+    out.close();
+
+    assertNull(snapshot.load());
+  }
+
+  @Test
+  public void testAllowedExceptionsRestored() {
+    List<String> mappingFiles = Collections.singletonList("allowedExceptionsMapping.xml");
+    MappingsSnapshot snapshot = new MappingsSnapshot(directory, mappingFiles);
+    snapshot.save(loadFromSource(mappingFiles));
+
+    LoadMappingsResult loaded = snapshot.load();
+    assertNotNull(loaded);
+    ClassMap classMap = loaded.getCustomMappings().find(TestObject.class, TestObjectPrime.class);
+    assertEquals(Collections.singletonList(TestException.class), classMap.getAllowedExceptions());
+  }
+
+  @Test
+  public void testClassDigests() throws IOException {
+    Map<String, String> digests = MappingsSnapshot.digestClasses(Arrays.asList(TestObject.class.getName(), "org.dozer.Missing"));
+    assertEquals(40, digests.get(TestObject.class.getName()).length());
+    assertEquals("", digests.get("org.dozer.Missing"));
+    assertEquals(digests, MappingsSnapshot.digestClasses(digests.keySet()));
+  }
+
+  private LoadMappingsResult loadFromSource() {
+    return loadFromSource(MAPPING_FILES);
+  }
+
+  private LoadMappingsResult loadFromSource(List<String> mappingFiles) {
+    List<MappingFileData> mappings = new MappingFilesLoader(XMLParserFactory.getInstance(), 1, true).load(mappingFiles);
+    return new CustomMappingsLoader().load(mappings);
+  }
+
+}
@@ -0,0 +1,110 @@
+/**
+ * Copyright 2005-2013 Dozer Project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.dozer.loader.xml;
+
+import org.dozer.AbstractDozerTest;
+import org.dozer.MappingException;
+import org.dozer.classmap.ClassMap;
+import org.dozer.classmap.MappingFileData;
+import org.junit.Test;
+
+import java.io.File;
+import java.io.FileWriter;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+public class MappingFilesLoaderTest extends AbstractDozerTest {
+
+  private static final List<String> MAPPING_FILES = Arrays.asList("dozerBeanMapping.xml", "fieldAttributeMapping.xml",
+      "mapMapping.xml", "global-configuration.xml", "indexMapping.xml");
+
+  @Test
+  public void testLoadConcurrently_SameResultAsSequential() {
+    List<MappingFileData> sequential = new MappingFilesLoader(XMLParserFactory.getInstance(), 1, true).load(MAPPING_FILES);
+    List<MappingFileData> concurrent = new MappingFilesLoader(XMLParserFactory.getInstance(), 4, true).load(MAPPING_FILES);
+
+    assertEquals(MAPPING_FILES.size(), sequential.size());
+    assertEquals(MAPPING_FILES.size(), concurrent.size());
+    for (int i = 0; i < MAPPING_FILES.size(); i++) {
+      assertSameMappings(sequential.get(i), concurrent.get(i));
+    }
+  }
+
+  @Test
+  public void testLoadWithoutClasspathValidation() {
+    List<MappingFileData> validated = new MappingFilesLoader(XMLParserFactory.getInstance(), 2, true).load(MAPPING_FILES);
+    List<MappingFileData> trusted = new MappingFilesLoader(XMLParserFactory.getInstance(), 2, false).load(MAPPING_FILES);
+
+    for (int i = 0; i < MAPPING_FILES.size(); i++) {
+      assertSameMappings(validated.get(i), trusted.get(i));
+    }
+  }
+
+  @Test
+  public void testLoadEmpty() {
+    MappingFilesLoader loader = new MappingFilesLoader(XMLParserFactory.getInstance(), 4, true);
+    assertTrue(loader.load(Collections.<String>emptyList()).isEmpty());
+    assertTrue(loader.load(null).isEmpty());
+  }
+
+  @Test(expected = MappingException.class)
+  public void testLoadConcurrently_MissingFile() {
+    new MappingFilesLoader(XMLParserFactory.getInstance(), 4, true).load(Arrays.asList("dozerBeanMapping.xml", "missing.xml"));
+  }
+
+  @Test
+  public void testLoad_InvalidFileRejected() throws Exception {
+    File file = File.createTempFile("dozer-invalid-mapping", ".xml");
+    try {
+      FileWriter writer = new FileWriter(file);
+      try {
+        writer.write("<mappings xmlns=\"http://dozer.sourceforge.net\" "
+            + "xmlns:xsi=\"http://www.w3.org/2001/XMLSchema-instance\" "
+            + "xsi:schemaLocation=\"http://dozer.sourceforge.net http://dozer.sourceforge.net/schema/beanmapping.xsd\">"
+            + "<mapping><class-a>java.lang.String</class-a><unknown/></mapping></mappings>");
+      } finally {
+        writer.close();
+      }
+      new MappingFilesLoader(XMLParserFactory.getInstance(), 1, false).load(Arrays.asList(file.toURI().toURL().toString()));
+      fail();
+    } catch (MappingException e) {
+      assertTrue(e.getMessage(), e.getMessage().contains("unknown"));
+    } finally {
+      file.delete();
+    }
+  }
+
+  @Test
+  public void testIsClasspathResource() {
+    assertTrue(MappingFilesLoader.isClasspathResource("dozerBeanMapping.xml"));
+    assertFalse(MappingFilesLoader.isClasspathResource("file:/tmp/dozerBeanMapping.xml"));
+  }
+
+  private void assertSameMappings(MappingFileData expected, MappingFileData actual) {
+    assertEquals(expected.getConfiguration() == null, actual.getConfiguration() == null);
+    assertEquals(expected.getClassMaps().size(), actual.getClassMaps().size());
+    for (int i = 0; i < expected.getClassMaps().size(); i++) {
+      ClassMap expectedClassMap = expected.getClassMaps().get(i);
+      ClassMap actualClassMap = actual.getClassMaps().get(i);
+      assertEquals(expectedClassMap.getSrcClassName(), actualClassMap.getSrcClassName());
+      assertEquals(expectedClassMap.getDestClassName(), actualClassMap.getDestClassName());
+      assertEquals(expectedClassMap.getMapId(), actualClassMap.getMapId());
+      assertEquals(expectedClassMap.getFieldMaps().size(), actualClassMap.getFieldMaps().size());
+    }
+  }
+
+}
@@ -0,0 +1,118 @@
+/**
+ * Copyright 2005-2013 Dozer Project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.dozer.loader.xml;
+
+import org.apache.commons.lang3.builder.ReflectionToStringBuilder;
+import org.apache.commons.lang3.builder.ToStringStyle;
+import org.dozer.AbstractDozerTest;
+import org.dozer.DozerInitializer;
+import org.dozer.MappingException;
+import org.dozer.classmap.ClassMap;
+import org.dozer.classmap.Configuration;
+import org.dozer.classmap.MappingFileData;
+import org.dozer.converters.CustomConverterDescription;
+import org.dozer.fieldmap.FieldMap;
+import org.junit.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+
+public class StaxMappingStreamReaderTest extends AbstractDozerTest {
+
+  private static final String[] MAPPING_FILES = {"dozerBeanMapping.xml", "fieldAttributeMapping.xml", "mapMapping.xml",
+      "global-configuration.xml", "indexMapping.xml", "mapGetSetMethodMapping.xml", "isaccessiblemapping.xml",
+      "fieldCustomConverterParam.xml", "multipleHintsMapping.xml", "removeOrphansMapping.xml",
+      "relationshipTypeMapping.xml", "excludedField.xml", "customfactorymapping.xml", "allowedExceptionsMapping.xml"};
+
+  @Test
+  public void testSameResultAsDomParser() {
+    for (String mappingFile : MAPPING_FILES) {
+      assertEquals(mappingFile, describe(readWithDom(mappingFile)), describe(readWithStax(mappingFile)));
+    }
+  }
+
+  @Test
+  public void testVariables() {
+    DozerInitializer.getInstance().init();
+    assertEquals(describe(readWithDom("variables.xml")), describe(readWithStax("variables.xml")));
+  }
+
+  @Test
+  public void testUnknownElementsAreSkipped() {
+    String xml = "<mappings><unknown><mapping/></unknown>"
+        + "<mapping><class-a>java.lang.String</class-a><class-b>java.lang.String</class-b>"
+        + "<field><a>value<!-- comment --></a><b>value</b><unknown>x</unknown></field></mapping></mappings>";
+    MappingFileData data = new StaxMappingStreamReader().read(new ByteArrayInputStream(xml.getBytes()));
+
+    assertEquals(1, data.getClassMaps().size());
+    ClassMap classMap = data.getClassMaps().get(0);
+    assertEquals(String.class.getName(), classMap.getSrcClassName());
+    assertEquals(1, classMap.getFieldMaps().size());
+    assertEquals("value", classMap.getFieldMaps().get(0).getSrcFieldName());
+  }
+
+  @Test(expected = MappingException.class)
+  public void testMalformedXml() {
+    new StaxMappingStreamReader().read(new ByteArrayInputStream("<mappings><mapping>".getBytes()));
+  }
+
+  private MappingFileData readWithDom(String mappingFile) {
+    return new MappingStreamReader(XMLParserFactory.getInstance()).read(open(mappingFile));
+  }
+
+  private MappingFileData readWithStax(String mappingFile) {
+    return new StaxMappingStreamReader().read(open(mappingFile));
+  }
+
+  private InputStream open(String mappingFile) {
+    return getClass().getClassLoader().getResourceAsStream(mappingFile);
+  }
+
+  private String describe(MappingFileData data) {
+    StringBuilder result = new StringBuilder();
+    Configuration configuration = data.getConfiguration();
+    if (configuration != null) {
+      result.append(describe(configuration, "customConverters", "copyByReferences", "allowedExceptions"));
+      for (CustomConverterDescription converter : configuration.getCustomConverters().getConverters()) {
+        result.append(describe(converter));
+      }
+      result.append(configuration.getAllowedExceptions().getExceptions()).append('\n');
+    }
+    for (ClassMap classMap : data.getClassMaps()) {
+      result.append(describe(classMap, "globalConfiguration", "srcClass", "destClass", "fieldMaps", "customConverters"));
+      result.append(describe(classMap.getSrcClass())).append(describe(classMap.getDestClass())).append('\n');
+      for (FieldMap fieldMap : classMap.getFieldMaps()) {
+        result.append(describe(fieldMap, "log", "classMap", "srcField", "destField", "srcHintContainer",
+            "destHintContainer", "srcDeepIndexHintContainer", "destDeepIndexHintContainer", "srcPropertyDescriptorMap",
+            "destPropertyDescriptorMap"));
+        result.append(describe(fieldMap.getSrcFieldCopy())).append(describe(fieldMap.getDestFieldCopy()));
+        result.append(describe(fieldMap.getSrcHintContainer())).append(describe(fieldMap.getDestHintContainer()));
+        result.append(describe(fieldMap.getSrcDeepIndexHintContainer()));
+        result.append(describe(fieldMap.getDestDeepIndexHintContainer())).append('\n');
+      }
+    }
+    return result.toString();
+  }
+
+  private static String describe(Object object, String... excludedFields) {
+    if (object == null) {
+      return "null";
+    }
+    return new ReflectionToStringBuilder(object, ToStringStyle.SHORT_PREFIX_STYLE).setExcludeFieldNames(excludedFields)
+        .toString();
+  }
+
+}
@@ -102,6 +102,39 @@ public class GetterSetterPropertyDescriptorTest extends AbstractDozerTest {
     javaBeanPropertyDescriptor.getReadMethod();
   }
 
+  @Test
+  public void testMissingMethodHasNoStackTrace() throws Exception {
+    initializePropertyDescriptor();
+    nullPropertyDescriptorMethod(false);
+    setRefreshAlreadyAttempted();
+
+    try {
+      javaBeanPropertyDescriptor.getReadMethod();
+      fail("exception expected");
+    } catch (NoSuchMethodException e) {
+      assertEquals(0, e.getStackTrace().length);
+    }
+  }
+
+  @Test
+  public void testFindWriteMethodPropertyType() {
+    assertEquals(String.class, new JavaBeanPropertyDescriptor(Restricted.class, "writeOnly", false, -1, null, null)
+        .findWriteMethodPropertyType());
+    assertNull(new JavaBeanPropertyDescriptor(Restricted.class, "readOnly", false, -1, null, null)
+        .findWriteMethodPropertyType());
+  }
+
+  @Test
+  public void testSetWriteOnlyProperty() {
+    JavaBeanPropertyDescriptor descriptor = new JavaBeanPropertyDescriptor(Restricted.class, "writeOnly", false, -1, null, null);
+    Restricted bean = new Restricted();
+
+    descriptor.setPropertyValue(bean, "a", null);
+    descriptor.setPropertyValue(bean, "b", null);
+
+    assertEquals("b", bean.value);
+    assertFalse(descriptor.isReadable());
+  }
 
   private void initializePropertyDescriptor() throws Exception {
     javaBeanPropertyDescriptor.getWriteMethod();
@@ -125,4 +158,16 @@ public class GetterSetterPropertyDescriptorTest extends AbstractDozerTest {
       internalPropertyDescriptor.setReadMethod(null);
     }
   }
+
+  public static class Restricted {
+    private String value;
+
+    public void setWriteOnly(String value) {
+      this.value = value;
+    }
+
+    public String getReadOnly() {
+      return value;
+    }
+  }
 }
@@ -0,0 +1,87 @@
+/**
+ * Copyright 2005-2013 Dozer Project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.dozer.stats;
+
+import org.dozer.AbstractDozerTest;
+import org.junit.Before;
+import org.junit.Test;
+
+public class InMemoryMetricsRegistryTest extends AbstractDozerTest {
+
+  private long time;
+  private InMemoryMetricsRegistry registry;
+
+  @Override
+  @Before
+  public void setUp() throws Exception {
+    time = 1000;
+    registry = new InMemoryMetricsRegistry() {
+      @Override
+      protected long currentTimeMillis() {
+        return time;
+      }
+    };
+  }
+
+  @Test
+  public void testCounterRate() {
+    registry.counter("count", null, 10);
+    InMemoryMetricsRegistry.Metric metric = registry.getMetric("count", null);
+    assertEquals(10, metric.getValue(), 0);
+    assertEquals(10, metric.getIncrease(), 0);
+    assertEquals(0, metric.getRate(), 0);
+
+    time += 2000;
+    registry.counter("count", null, 30);
+    assertEquals(30, metric.getValue(), 0);
+    assertEquals(20, metric.getIncrease(), 0);
+    assertEquals(10, metric.getRate(), 0);
+  }
+
+  @Test
+  public void testCounterCleared() {
+    registry.counter("count", null, 10);
+    time += 1000;
+    registry.counter("count", null, 4);
+
+    assertEquals(4, registry.getMetric("count", null).getIncrease(), 0);
+    assertEquals(4, registry.getMetric("count", null).getRate(), 0);
+  }
+
+  @Test
+  public void testKeys() {
+    registry.gauge("size", "a", 1);
+    registry.gauge("size", "b", 2);
+    registry.gauge("other", null, 3);
+
+    assertEquals(3, registry.getMetrics().size());
+    assertEquals("other", registry.getMetrics().get(0).getName());
+    assertEquals("a", registry.getMetrics().get(1).getKey());
+    assertEquals(2, registry.getMetric("size", "b").getValue(), 0);
+    assertNull(registry.getMetric("size", null));
+  }
+
+  @Test
+  public void testTypeChange() {
+    registry.counter("value", null, 10);
+    registry.gauge("value", null, 5);
+
+    InMemoryMetricsRegistry.Metric metric = registry.getMetric("value", null);
+    assertEquals(InMemoryMetricsRegistry.MetricType.GAUGE, metric.getType());
+    assertEquals(5, metric.getIncrease(), 0);
+  }
+
+}
@@ -0,0 +1,69 @@
+/**
+ * Copyright 2005-2013 Dozer Project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.dozer.stats;
+
+import org.dozer.AbstractDozerTest;
+import org.junit.Test;
+
+public class LatencyHistogramTest extends AbstractDozerTest {
+
+  @Test
+  public void testBuckets() {
+    for (long value : new long[] {0, 1, 7, 8, 9, 15, 16, 17, 1000, 123456789, Long.MAX_VALUE}) {
+      int index = LatencyHistogram.bucketIndex(value);
+      assertTrue(index < LatencyHistogram.BUCKET_COUNT);
+      long upperBound = LatencyHistogram.bucketUpperBound(index);
+      assertTrue(value <= upperBound);
+      assertTrue(upperBound - value <= value / 8);
+      if (index > 0) {
+        assertTrue(value > LatencyHistogram.bucketUpperBound(index - 1));
+      }
+    }
+  }
+
+  @Test
+  public void testPercentiles() {
+    LatencyHistogram histogram = new LatencyHistogram();
+    assertEquals(0, histogram.getValueAtPercentile(50));
+
+    for (int i = 1; i <= 100; i++) {
+      histogram.record(i * 1000);
+    }
+
+    assertEquals(100, histogram.getCount());
+    assertEquals(5050000, histogram.getTotalNanos());
+    assertEquals(50500, histogram.getMeanNanos());
+    assertEquals(100000, histogram.getMaxNanos());
+    assertEquals(100000, histogram.getValueAtPercentile(100));
+    long median = histogram.getValueAtPercentile(50);
+    assertTrue(median >= 50000 && median <= 50000 * 9 / 8);
+    long p99 = histogram.getValueAtPercentile(99);
+    assertTrue(p99 >= 99000 && p99 <= 100000);
+  }
+
+  @Test
+  public void testClear() {
+    LatencyHistogram histogram = new LatencyHistogram();
+    histogram.record(-5);
+    histogram.record(10);
+    histogram.clear();
+
+    assertEquals(0, histogram.getCount());
+    assertEquals(0, histogram.getMaxNanos());
+    assertEquals(0, histogram.getValueAtPercentile(99));
+  }
+
+}
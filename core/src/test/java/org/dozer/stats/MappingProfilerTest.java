@@ -0,0 +1,118 @@
+/**
+ * Copyright 2005-2013 Dozer Project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.dozer.stats;
+
+import org.dozer.AbstractDozerTest;
+import org.dozer.DozerBeanMapper;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.List;
+
+public class MappingProfilerTest extends AbstractDozerTest {
+
+  private MappingProfiler profiler;
+  private boolean enabled;
+
+  @Override
+  @Before
+  public void setUp() throws Exception {
+    profiler = GlobalStatistics.getInstance().getMappingProfiler();
+    enabled = profiler.isEnabled();
+    profiler.clear();
+  }
+
+  @After
+  public void tearDown() {
+    profiler.setEnabled(enabled);
+    profiler.clear();
+  }
+
+  @Test
+  public void testProfiles() {
+    profiler.setEnabled(true);
+    DozerBeanMapper mapper = new DozerBeanMapper();
+    Parent parent = new Parent();
+    parent.setChild(new Child());
+
+    for (int i = 0; i < 3; i++) {
+      mapper.map(parent, Parent.class);
+    }
+
+    List<MappingProfile> classMapProfiles = profiler.getClassMapProfiles();
+    assertEquals(2, classMapProfiles.size());
+    MappingProfile parentProfile = classMapProfiles.get(0);
+    assertEquals(Parent.class.getName() + " -> " + Parent.class.getName(), parentProfile.getName());
+    assertEquals(3, parentProfile.getCount());
+    assertTrue(parentProfile.getTotalNanos() >= classMapProfiles.get(1).getTotalNanos());
+    assertTrue(parentProfile.getMaxNanos() >= parentProfile.getMedianNanos());
+    assertTrue(parentProfile.toString().startsWith(parentProfile.getName() + ": Count 3"));
+
+    List<MappingProfile> fieldMapProfiles = profiler.getFieldMapProfiles();
+    assertFalse(fieldMapProfiles.isEmpty());
+    for (MappingProfile profile : fieldMapProfiles) {
+      assertEquals(3, profile.getCount());
+      assertEquals(-1, profile.getAllocatedBytes());
+    }
+  }
+
+  @Test
+  public void testProfilesKeptAcrossMappers() {
+    profiler.setEnabled(true);
+    // each mapper creates its own class map instances
+    new DozerBeanMapper().map(new Child(), Child.class);
+    new DozerBeanMapper().map(new Child(), Child.class);
+
+    List<MappingProfile> classMapProfiles = profiler.getClassMapProfiles();
+    assertEquals(1, classMapProfiles.size());
+    assertEquals(2, classMapProfiles.get(0).getCount());
+  }
+
+  @Test
+  public void testDisabled() {
+    profiler.setEnabled(false);
+    new DozerBeanMapper().map(new Child(), Child.class);
+
+    assertTrue(profiler.getClassMapProfiles().isEmpty());
+    assertTrue(profiler.getFieldMapProfiles().isEmpty());
+  }
+
+  public static class Parent {
+    private Child child;
+
+    public Child getChild() {
+      return child;
+    }
+
+    public void setChild(Child child) {
+      this.child = child;
+    }
+  }
+
+  public static class Child {
+    private String name = "child";
+
+    public String getName() {
+      return name;
+    }
+
+    public void setName(String name) {
+      this.name = name;
+    }
+  }
+
+}
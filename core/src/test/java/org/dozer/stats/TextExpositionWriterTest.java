@@ -0,0 +1,100 @@
+/**
+ * Copyright 2005-2013 Dozer Project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.dozer.stats;
+
+import org.dozer.AbstractDozerTest;
+import org.dozer.DozerBeanMapper;
+import org.dozer.cache.DozerCacheType;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.StringWriter;
+
+public class TextExpositionWriterTest extends AbstractDozerTest {
+
+  private InMemoryMetricsRegistry registry;
+  private boolean statisticsEnabled;
+
+  @Override
+  @Before
+  public void setUp() throws Exception {
+    registry = new InMemoryMetricsRegistry();
+    statisticsEnabled = GlobalStatistics.getInstance().getStatsMgr().isStatisticsEnabled();
+  }
+
+  @After
+  public void tearDown() {
+    GlobalStatistics.getInstance().getStatsMgr().setStatisticsEnabled(statisticsEnabled);
+  }
+
+  @Test
+  public void testWrite() throws Exception {
+    registry.counter("dozer_count", null, 3);
+    registry.counter("dozer_count", "a\"b", 1);
+    registry.gauge("dozer_size", null, 1.5);
+
+    assertEquals("# TYPE dozer_count counter\n"
+        + "dozer_count 3\n"
+        + "dozer_count{key=\"a\\\"b\"} 1\n"
+        + "# TYPE dozer_count_rate gauge\n"
+        + "dozer_count_rate 0\n"
+        + "dozer_count_rate{key=\"a\\\"b\"} 0\n"
+        + "# TYPE dozer_size gauge\n"
+        + "dozer_size 1.5\n", write());
+  }
+
+  @Test
+  public void testWriteHistogram() throws Exception {
+    LatencyHistogram histogram = new LatencyHistogram();
+    histogram.record(2000000000L);
+    registry.histogram("dozer_mapping", "x", new MappingProfile("x", histogram, -1));
+
+    String text = write();
+    assertTrue(text.startsWith("# TYPE dozer_mapping_seconds summary\n"));
+    assertTrue(text.contains("dozer_mapping_seconds{key=\"x\",quantile=\"0.99\"} 2\n"));
+    assertTrue(text.contains("dozer_mapping_seconds_count{key=\"x\"} 1\n"));
+    assertTrue(text.contains("dozer_mapping_seconds_max{key=\"x\"} 2\n"));
+    assertFalse(text.contains("allocated"));
+  }
+
+  @Test
+  public void testSanitize() {
+    assertEquals("dozer_a_b", TextExpositionWriter.sanitize("dozer.a-b"));
+    assertEquals("_1a", TextExpositionWriter.sanitize("11a"));
+  }
+
+  @Test
+  public void testPublishedMapperMetrics() throws Exception {
+    GlobalStatistics.getInstance().getStatsMgr().setStatisticsEnabled(true);
+    DozerBeanMapper mapper = new DozerBeanMapper();
+    mapper.map(new MappingProfilerTest.Child(), MappingProfilerTest.Child.class);
+
+    mapper.publishMetrics(registry);
+
+    assertTrue(registry.getMetric(MetricsPublisher.CLASS_MAPPINGS, null).getValue() >= 0);
+    assertNotNull(registry.getMetric(MetricsPublisher.CACHE_SIZE, DozerCacheType.SUPER_TYPE_CHECK.name()));
+    assertTrue(registry.getMetric("dozer_mapping_success_count", null).getValue() >= 1);
+    assertTrue(write().contains("# TYPE dozer_mapping_success_count counter\n"));
+  }
+
+  private String write() throws Exception {
+    StringWriter out = new StringWriter();
+    new TextExpositionWriter().write(registry, out);
+    return out.toString();
+  }
+
+}
@@ -0,0 +1,92 @@
+/**
+ * Copyright 2005-2013 Dozer Project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.dozer.util;
+
+import org.dozer.AbstractDozerTest;
+import org.junit.Before;
+import org.junit.Test;
+
+public class CachingProxyResolverTest extends AbstractDozerTest {
+
+  private CountingProxyResolver delegate;
+  private CachingProxyResolver resolver;
+
+  @Before
+  public void setUp() throws Exception {
+    delegate = new CountingProxyResolver();
+    resolver = new CachingProxyResolver(delegate);
+  }
+
+  @Test
+  public void testResolvedOnce() {
+    Class<?> proxyClass = Entity$$EnhancerByCGLIB$$0.class;
+
+    for (int i = 0; i < 3; i++) {
+      assertTrue(resolver.isProxy(proxyClass));
+      assertEquals(Entity.class, resolver.getRealClass(proxyClass));
+      assertFalse(resolver.isProxy(String.class));
+      assertEquals(String.class, resolver.getRealClass(String.class));
+    }
+
+    assertEquals(2, delegate.isProxyCalls);
+    assertEquals(2, resolver.size());
+  }
+
+  @Test
+  public void testUnenhanceOnlyProxies() {
+    Object proxy = new Entity$$EnhancerByCGLIB$$0();
+    Object plain = new Object();
+
+    assertSame(plain, resolver.unenhanceObject(plain));
+    assertEquals(0, delegate.unenhanceCalls);
+    assertSame(proxy, resolver.unenhanceObject(proxy));
+    assertEquals(1, delegate.unenhanceCalls);
+    assertNull(resolver.unenhanceObject(null));
+  }
+
+  public static class Entity {
+  }
+
+  // named the way cglib names its proxies
+  public static class Entity$$EnhancerByCGLIB$$0 extends Entity {
+  }
+
+  private static class CountingProxyResolver extends DefaultProxyResolver {
+
+    int isProxyCalls;
+    int unenhanceCalls;
+
+    @Override
+    public boolean isProxy(Class<?> clazz) {
+      isProxyCalls++;
+      return super.isProxy(clazz);
+    }
+
+    @Override
+    public <T> T unenhanceObject(T object) {
+      unenhanceCalls++;
+      return super.unenhanceObject(object);
+    }
+
+    @Override
+    public Class<?> getRealClass(Class<?> clazz) {
+      // avoid counting nested isProxy call
+      Class<?> superclass = clazz.getSuperclass();
+      return super.isProxy(clazz) && !DozerConstants.BASE_CLASS.equals(superclass.getName()) ? superclass : clazz;
+    }
+  }
+
+}
@@ -0,0 +1,75 @@
+/**
+ * Copyright 2005-2013 Dozer Project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.dozer.util;
+
+import org.dozer.AbstractDozerTest;
+import org.dozer.classmap.ClassMap;
+import org.dozer.fieldmap.DozerField;
+import org.dozer.fieldmap.FieldMap;
+import org.dozer.fieldmap.GenericFieldMap;
+import org.junit.Test;
+
+public class FieldMappingErrorReporterTest extends AbstractDozerTest {
+
+  private final RuntimeException error = new RuntimeException("expected");
+
+  @Test
+  public void testRepeatedFailuresSuppressed() {
+    FieldMappingErrorReporter reporter = new FieldMappingErrorReporter(Long.MAX_VALUE / 2);
+    FieldMap first = createFieldMap("a");
+    FieldMap second = createFieldMap("b");
+
+    assertTrue(reporter.report("src", first, "value", null, error));
+    assertFalse(reporter.report("src", first, "value", null, error));
+    assertFalse(reporter.report("src", first, "value", null, error));
+    assertTrue(reporter.report("src", second, "value", null, error));
+
+    assertEquals(2, reporter.getSuppressedCount(first));
+    assertEquals(0, reporter.getSuppressedCount(second));
+  }
+
+  @Test
+  public void testSuppressedCountReportedAfterInterval() {
+    FieldMappingErrorReporter reporter = new FieldMappingErrorReporter(0);
+    FieldMap fieldMap = createFieldMap("a");
+
+    assertTrue(reporter.report("src", fieldMap, null, null, error));
+    assertTrue(reporter.report("src", fieldMap, null, null, error));
+    assertEquals(0, reporter.getSuppressedCount(fieldMap));
+  }
+
+  @Test
+  public void testTrackedFieldMapsBounded() {
+    FieldMappingErrorReporter reporter = new FieldMappingErrorReporter(Long.MAX_VALUE / 2);
+    FieldMap fieldMap = createFieldMap("a");
+    reporter.report("src", fieldMap, null, null, error);
+    reporter.report("src", fieldMap, null, null, error);
+
+    for (int i = 0; i < FieldMappingErrorReporter.MAX_TRACKED_FIELD_MAPS; i++) {
+      reporter.report("src", createFieldMap("f" + i), null, null, error);
+    }
+
+    assertEquals(0, reporter.getSuppressedCount(fieldMap));
+  }
+
+  private FieldMap createFieldMap(String fieldName) {
+    FieldMap fieldMap = new GenericFieldMap(new ClassMap(null));
+    fieldMap.setSrcField(new DozerField(fieldName, null));
+    fieldMap.setDestField(new DozerField(fieldName, null));
+    return fieldMap;
+  }
+
+}
@@ -0,0 +1,114 @@
+/**
+ * Copyright 2005-2013 Dozer Project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.dozer.util;
+
+import org.dozer.AbstractDozerTest;
+import org.junit.Test;
+
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+public class PluginRegistryTest extends AbstractDozerTest {
+
+  private final AtomicInteger matches = new AtomicInteger();
+
+  private final PluginRegistry.Matcher<Class<?>> assignable = new PluginRegistry.Matcher<Class<?>>() {
+    public boolean accepts(Class<?> plugin, Class<?> type) {
+      matches.incrementAndGet();
+      return plugin.isAssignableFrom(type);
+    }
+  };
+
+  @Test
+  public void testRegistrationOrder() {
+    PluginRegistry<String> registry = new PluginRegistry<String>();
+    assertTrue(registry.isEmpty());
+    List<String> empty = registry.getPlugins();
+
+    registry.register("a");
+    registry.register("b");
+
+    assertEquals(0, empty.size());
+    assertEquals("a", registry.getPlugins().get(0));
+    assertEquals("b", registry.getPlugins().get(1));
+    assertSame(registry.getPlugins(), registry.getPlugins());
+  }
+
+  @Test(expected = UnsupportedOperationException.class)
+  public void testPluginsImmutable() {
+    PluginRegistry<String> registry = new PluginRegistry<String>();
+    registry.register("a");
+    registry.getPlugins().add("b");
+  }
+
+  @Test
+  public void testResolveCached() {
+    PluginRegistry<Class<?>> registry = new PluginRegistry<Class<?>>();
+    assertNull(registry.resolve(String.class, assignable));
+    assertEquals(0, matches.get());
+
+    registry.register(Number.class);
+    assertNull(registry.resolve(String.class, assignable));
+    assertNull(registry.resolve(String.class, assignable));
+    assertEquals(Number.class, registry.resolve(Integer.class, assignable));
+    assertEquals(Number.class, registry.resolve(Integer.class, assignable));
+    assertEquals(2, matches.get());
+
+    registry.register(CharSequence.class);
+    assertEquals(CharSequence.class, registry.resolve(String.class, assignable));
+  }
+
+  @Test
+  public void testConcurrentRegistration() throws Exception {
+    final PluginRegistry<Integer> registry = new PluginRegistry<Integer>();
+    final CountDownLatch start = new CountDownLatch(1);
+    final AtomicReference<Throwable> failure = new AtomicReference<Throwable>();
+    Thread[] threads = new Thread[4];
+    for (int t = 0; t < threads.length; t++) {
+      final int offset = t * 100;
+      threads[t] = new Thread() {
+        @Override
+        public void run() {
+          try {
+            start.await();
+            for (int i = 0; i < 100; i++) {
+              registry.register(offset + i);
+              List<Integer> plugins = registry.getPlugins();
+              for (int j = 0; j < plugins.size(); j++) {
+                assertNotNull(plugins.get(j));
+              }
+            }
+          } catch (Throwable e) {
+            failure.compareAndSet(null, e);
+          }
+        }
+      };
+      threads[t].start();
+    }
+    start.countDown();
+    for (Thread thread : threads) {
+      thread.join();
+    }
+
+    if (failure.get() != null) {
+      throw new AssertionError(failure.get());
+    }
+    assertEquals(400, registry.getPlugins().size());
+  }
+
+}
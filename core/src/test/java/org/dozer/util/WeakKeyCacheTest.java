@@ -0,0 +1,50 @@
+/**
+ * Copyright 2005-2013 Dozer Project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.dozer.util;
+
+import org.dozer.AbstractDozerTest;
+import org.junit.Test;
+
+public class WeakKeyCacheTest extends AbstractDozerTest {
+
+  private final WeakKeyCache<Object, String> cache = new WeakKeyCache<Object, String>();
+
+  @Test
+  public void testKeysComparedByIdentity() {
+    String key = new String("key");
+    assertEquals("first", cache.putIfAbsent(key, "first"));
+    assertEquals("first", cache.putIfAbsent(key, "second"));
+    assertEquals("first", cache.get(key));
+    assertNull(cache.get(new String("key")));
+    assertEquals(1, cache.size());
+
+    cache.clear();
+    assertNull(cache.get(key));
+  }
+
+  @Test
+  public void testCollectedKeysRemoved() throws InterruptedException {
+    for (int i = 0; i < 100; i++) {
+      cache.putIfAbsent(new Object(), "value");
+    }
+    for (int i = 0; i < 50 && cache.size() > 0; i++) {
+      System.gc();
+      Thread.sleep(10);
+    }
+    assertEquals(0, cache.size());
+  }
+
+}
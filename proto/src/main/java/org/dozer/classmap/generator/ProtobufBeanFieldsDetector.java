@@ -18,7 +18,9 @@ package org.dozer.classmap.generator;
 import com.google.protobuf.Descriptors;
 import com.google.protobuf.Message;
 import org.dozer.util.ProtoUtils;
+import org.dozer.util.WeakKeyCache;
 
+import java.util.Collections;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Set;
@@ -27,6 +29,9 @@ import java.util.Set;
  * @author Dmitry Spikhalskiy
  */
 public class ProtobufBeanFieldsDetector implements BeanMappingGenerator.BeanFieldsDetector {
+  // message classes are held weakly, so that their class loaders can be collected
+  private static final WeakKeyCache<Class<?>, Set<String>> fieldNames = new WeakKeyCache<Class<?>, Set<String>>();
+
   public boolean accepts(Class<?> clazz) {
     return Message.class.isAssignableFrom(clazz);
   }
@@ -40,10 +45,15 @@ public class ProtobufBeanFieldsDetector implements BeanMappingGenerator.BeanFiel
   }
 
   private static Set<String> getFieldNames(Class<? extends Message> clazz) {
-    Set<String> resultSet = new HashSet<String>();
-    List<Descriptors.FieldDescriptor> descriptors = ProtoUtils.getFieldDescriptors(clazz);
-    for (Descriptors.FieldDescriptor descriptor : descriptors) {
-      resultSet.add(descriptor.getName());
+    Set<String> resultSet = fieldNames.get(clazz);
+    if (resultSet == null) {
+      resultSet = new HashSet<String>();
+      List<Descriptors.FieldDescriptor> descriptors = ProtoUtils.getFieldDescriptors(clazz);
+      for (Descriptors.FieldDescriptor descriptor : descriptors) {
+        resultSet.add(descriptor.getName());
+      }
+      resultSet = Collections.unmodifiableSet(resultSet);
+      resultSet = fieldNames.putIfAbsent(clazz, resultSet);
     }
     return resultSet;
   }
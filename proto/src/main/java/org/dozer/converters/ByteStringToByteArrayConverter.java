@@ -0,0 +1,55 @@
+/**
+ * Copyright 2005-2013 Dozer Project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.dozer.converters;
+
+import com.google.protobuf.ByteString;
+import org.dozer.DozerConverter;
+import org.dozer.util.ProtoUtils;
+
+/**
+ * Converts protobuf bytes fields to byte arrays and back. A byte array is mutable, so it is always copied from a
+ * ByteString. The other way arrays can be shared with the ByteString, see {@link #ByteStringToByteArrayConverter(boolean)}.
+ * <p/>
+ * Applied by all mappers, as it is declared in META-INF/services/org.dozer.DozerConverter of this module.
+ */
+public class ByteStringToByteArrayConverter extends DozerConverter<ByteString, byte[]> {
+
+  private final boolean wrapUnsafe;
+
+  public ByteStringToByteArrayConverter() {
+    this(false);
+  }
+
+  /**
+   * @param wrapUnsafe wrap source arrays without copying them. Only takes effect with protobuf versions providing
+   *                   UnsafeByteOperations, and only safe if the arrays are not modified after mapping.
+   */
+  public ByteStringToByteArrayConverter(boolean wrapUnsafe) {
+    super(ByteString.class, byte[].class);
+    this.wrapUnsafe = wrapUnsafe;
+  }
+
+  @Override
+  public byte[] convertTo(ByteString source, byte[] destination) {
+    return source != null ? source.toByteArray() : null;
+  }
+
+  @Override
+  public ByteString convertFrom(byte[] source, ByteString destination) {
+    return source != null ? ProtoUtils.toByteString(source, wrapUnsafe) : null;
+  }
+
+}
@@ -0,0 +1,57 @@
+/**
+ * Copyright 2005-2013 Dozer Project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.dozer.converters;
+
+import com.google.protobuf.ByteString;
+import org.dozer.DozerConverter;
+import org.dozer.util.ProtoUtils;
+
+import java.nio.ByteBuffer;
+
+/**
+ * Converts protobuf bytes fields to byte buffers and back. ByteStrings are exposed as read-only buffers sharing their
+ * content. Buffers are copied into ByteStrings unless {@link #ByteStringToByteBufferConverter(boolean)} allows sharing.
+ * <p/>
+ * Applied by all mappers, as it is declared in META-INF/services/org.dozer.DozerConverter of this module.
+ */
+public class ByteStringToByteBufferConverter extends DozerConverter<ByteString, ByteBuffer> {
+
+  private final boolean wrapUnsafe;
+
+  public ByteStringToByteBufferConverter() {
+    this(false);
+  }
+
+  /**
+   * @param wrapUnsafe wrap source buffers without copying them. Only takes effect with protobuf versions providing
+   *                   UnsafeByteOperations, and only safe if the buffer content is not modified after mapping.
+   */
+  public ByteStringToByteBufferConverter(boolean wrapUnsafe) {
+    super(ByteString.class, ByteBuffer.class);
+    this.wrapUnsafe = wrapUnsafe;
+  }
+
+  @Override
+  public ByteBuffer convertTo(ByteString source, ByteBuffer destination) {
+    return source != null ? source.asReadOnlyByteBuffer() : null;
+  }
+
+  @Override
+  public ByteString convertFrom(ByteBuffer source, ByteString destination) {
+    return source != null ? ProtoUtils.toByteString(source, wrapUnsafe) : null;
+  }
+
+}
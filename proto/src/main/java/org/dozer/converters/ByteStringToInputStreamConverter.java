@@ -0,0 +1,46 @@
+/**
+ * Copyright 2005-2013 Dozer Project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.dozer.converters;
+
+import com.google.protobuf.ByteString;
+import org.dozer.DozerConverter;
+import org.dozer.util.ProtoUtils;
+
+import java.io.InputStream;
+
+/**
+ * Converts protobuf bytes fields to input streams reading the ByteString content directly, and drains input streams
+ * into ByteStrings. Source streams are not closed.
+ * <p/>
+ * Because of that it is not applied by default and has to be declared as a custom converter.
+ */
+public class ByteStringToInputStreamConverter extends DozerConverter<ByteString, InputStream> {
+
+  public ByteStringToInputStreamConverter() {
+    super(ByteString.class, InputStream.class);
+  }
+
+  @Override
+  public InputStream convertTo(ByteString source, InputStream destination) {
+    return source != null ? source.newInput() : null;
+  }
+
+  @Override
+  public ByteString convertFrom(InputStream source, ByteString destination) {
+    return source != null ? ProtoUtils.toByteString(source) : null;
+  }
+
+}
@@ -27,6 +27,9 @@ import org.dozer.util.ProtoUtils;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.lang.reflect.Method;
+import java.util.Collection;
+
 /**
  * @author Dmitry Spikhalskiy
  */
@@ -88,7 +91,14 @@ public class ProtoFieldPropertyDescriptor extends AbstractPropertyDescriptor {
     }
     Message message = (Message)bean;
 
-    Object value = ProtoUtils.getFieldValue(message, fieldName);
+    Descriptors.FieldDescriptor descriptor = getFieldDescriptor();
+    Object value;
+    if (descriptor.getContainingType() == message.getDescriptorForType()) {
+      value = ProtoUtils.getFieldValue(message, descriptor);
+    } else {
+      // descriptor was resolved for another message type
+      value = ProtoUtils.getFieldValue(message, fieldName);
+    }
     return ProtoUtils.unwrapEnums(value);
   }
 
@@ -96,13 +106,27 @@ public class ProtoFieldPropertyDescriptor extends AbstractPropertyDescriptor {
   public void setPropertyValue(Object bean, Object value, FieldMap fieldMap) {
     if (!(bean instanceof ProtoBeanBuilder)) MappingUtils.throwMappingException("should be a ProtoBeanBuilder instance");
     ProtoBeanBuilder builder = (ProtoBeanBuilder)bean;
+    Message.Builder protoBuilder = builder.internalProtoBuilder();
+    Descriptors.FieldDescriptor descriptor = getFieldDescriptor();
 
-    value = ProtoUtils.wrapEnums(value);
-    if (value != null) {
-      builder.internalProtoBuilder().setField(getFieldDescriptor(), value);
+    if (value == null) {
+      protoBuilder.clearField(descriptor);
+    } else if (descriptor.isRepeated() && value instanceof Collection) {
+      ProtoUtils.setRepeatedField(protoBuilder, descriptor, (Collection<?>) value, getAddAllMethod(protoBuilder));
     } else {
-      builder.internalProtoBuilder().clearField(getFieldDescriptor());
+      protoBuilder.setField(descriptor, ProtoUtils.wrapEnums(value));
+    }
+  }
+
+  private Method _addAllMethod;
+  private boolean _addAllMethodResolved;
+
+  private Method getAddAllMethod(Message.Builder protoBuilder) {
+    if (!_addAllMethodResolved) {
+      this._addAllMethod = ProtoUtils.getAddAllMethod(protoBuilder.getClass(), getFieldDescriptor());
+      this._addAllMethodResolved = true;
     }
+    return _addAllMethod;
   }
 
   private Class<?> _genericType;
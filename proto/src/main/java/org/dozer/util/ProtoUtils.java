@@ -21,33 +21,67 @@ import com.google.protobuf.Message;
 import com.google.protobuf.ProtocolMessageEnum;
 import org.apache.commons.lang3.StringUtils;
 
+import java.io.IOException;
+import java.io.InputStream;
+import java.lang.ref.WeakReference;
 import java.lang.reflect.Method;
+import java.nio.ByteBuffer;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.List;
-import java.util.Map;
 
 /**
  * @author Dmitry Spikhalskiy
  */
 public class ProtoUtils {
+
+  // protobuf 3 can wrap bytes without copying them, older versions always copy
+  private static final Method unsafeWrapArrayMethod = findUnsafeWrapMethod(byte[].class);
+  private static final Method unsafeWrapBufferMethod = findUnsafeWrapMethod(ByteBuffer.class);
+
+  // keys are held weakly, values weakly reference the generated classes, so that their class loaders can be collected.
+  // Default instances are held by their classes, so they stay cached as long as the class is loaded
+  private static final WeakKeyCache<Class<?>, WeakReference<Message>> defaultInstances =
+          new WeakKeyCache<Class<?>, WeakReference<Message>>();
+
+  // generated enum classes are resolved once per enum type, values are then looked up by descriptor index
+  private static final WeakKeyCache<Descriptors.EnumDescriptor, EnumTable> enumTables =
+          new WeakKeyCache<Descriptors.EnumDescriptor, EnumTable>();
+
   public static Message.Builder getBuilder(Class<? extends Message> clazz) {
-    final Message.Builder protoBuilder;
-    try {
-      Method newBuilderMethod = clazz.getMethod("newBuilder");
-      protoBuilder = (Message.Builder)newBuilderMethod.invoke(null);
-    } catch (Exception e) {
-      MappingUtils.throwMappingException(e);
-      return null;
+    return getDefaultInstance(clazz).newBuilderForType();
+  }
+
+  /**
+   * Returns the default instance of a generated message class. Instances are looked up reflectively once per class,
+   * builders are then created from them without reflection.
+   */
+  public static Message getDefaultInstance(Class<? extends Message> clazz) {
+    WeakReference<Message> reference = defaultInstances.get(clazz);
+    Message result = reference != null ? reference.get() : null;
+    if (result == null) {
+      try {
+        Method getDefaultInstanceMethod = clazz.getMethod("getDefaultInstance");
+        result = (Message) getDefaultInstanceMethod.invoke(null);
+      } catch (Exception e) {
+        MappingUtils.throwMappingException(e);
+        return null;
+      }
+      defaultInstances.putIfAbsent(clazz, new WeakReference<Message>(result));
     }
+    return result;
+  }
 
-    return protoBuilder;
+  /**
+   * Returns the descriptor of a generated message class, taken from its cached default instance, so that no builder
+   * needs to be created.
+   */
+  public static Descriptors.Descriptor getDescriptor(Class<? extends Message> clazz) {
+    return getDefaultInstance(clazz).getDescriptorForType();
   }
 
   public static List<Descriptors.FieldDescriptor> getFieldDescriptors(Class<? extends Message> clazz) {
-    Message.Builder protoBuilder = getBuilder(clazz);
-
-    return getFieldDescriptors(protoBuilder);
+    return getDescriptor(clazz).getFields();
   }
 
   public static List<Descriptors.FieldDescriptor> getFieldDescriptors(Message.Builder protoBuilder) {
@@ -55,27 +89,150 @@ public class ProtoUtils {
   }
 
   public static Descriptors.FieldDescriptor getFieldDescriptor(Class<? extends Message> clazz, String fieldName) {
-    final List<Descriptors.FieldDescriptor> protoFieldDescriptors = getFieldDescriptors(clazz);
+    return getDescriptor(clazz).findFieldByName(fieldName);
+  }
 
-    Descriptors.FieldDescriptor foundDescriptor = null;
-    for (Descriptors.FieldDescriptor descriptor : protoFieldDescriptors) {
-      if (fieldName.equals(descriptor.getName())) {
-        foundDescriptor = descriptor;
+  public static Object getFieldValue(Message message, String fieldName) {
+    Descriptors.FieldDescriptor descriptor = message.getDescriptorForType().findFieldByName(fieldName);
+    return descriptor != null ? getFieldValue(message, descriptor) : null;
+  }
+
+  /**
+   * Reads a field directly by its descriptor. Like {@link Message#getAllFields()} returns null for fields that are
+   * not set and for empty repeated fields.
+   */
+  public static Object getFieldValue(Message message, Descriptors.FieldDescriptor descriptor) {
+    if (descriptor.isRepeated()) {
+      return message.getRepeatedFieldCount(descriptor) > 0 ? message.getField(descriptor) : null;
+    }
+    return message.hasField(descriptor) ? message.getField(descriptor) : null;
+  }
+
+  /**
+   * Replaces the content of a repeated field. Elements are handed to the typed addAll method of the generated builder
+   * in one call if it has one, otherwise appended one by one. No intermediate list is created in either case.
+   *
+   * @param addAllMethod method returned by {@link #getAddAllMethod}, may be null
+   */
+  public static void setRepeatedField(Message.Builder builder, Descriptors.FieldDescriptor descriptor,
+                                      Collection<?> values, Method addAllMethod) {
+    builder.clearField(descriptor);
+    if (addAllMethod != null && addAllMethod.getDeclaringClass().isInstance(builder)) {
+      try {
+        addAllMethod.invoke(builder, values);
+      } catch (Exception e) {
+        MappingUtils.throwMappingException(e);
       }
+      return;
+    }
+    for (Object value : values) {
+      builder.addRepeatedField(descriptor, wrapEnums(value));
     }
+  }
 
-    return foundDescriptor;
+  /**
+   * Finds the addAll method generated for a repeated field, which takes Java enums rather than descriptors for enum
+   * fields.
+   *
+   * @return the method or null if the builder is not a generated one
+   */
+  public static Method getAddAllMethod(Class<?> builderClass, Descriptors.FieldDescriptor descriptor) {
+    if (!descriptor.isRepeated()) {
+      return null;
+    }
+    try {
+      return builderClass.getMethod("addAll" + getJavaFieldName(descriptor.getName()), Iterable.class);
+    } catch (NoSuchMethodException e) {
+      return null;
+    }
   }
 
-  public static Object getFieldValue(Message message, String fieldName) {
-    Map<Descriptors.FieldDescriptor, Object> fieldsMap = message.getAllFields();
-    for (Map.Entry<Descriptors.FieldDescriptor, Object> field : fieldsMap.entrySet()) {
-      if (fieldName.equals(field.getKey().getName())) {
-        return field.getValue();
+  // follows the naming of protoc java generator, e.g. "field_name2a" gives "FieldName2A"
+  static String getJavaFieldName(String fieldName) {
+    StringBuilder result = new StringBuilder(fieldName.length());
+    boolean capitalizeNext = true;
+    for (int i = 0; i < fieldName.length(); i++) {
+      char c = fieldName.charAt(i);
+      if (Character.isLetter(c)) {
+        result.append(capitalizeNext ? Character.toUpperCase(c) : c);
+        capitalizeNext = false;
+      } else if (Character.isDigit(c)) {
+        result.append(c);
+        capitalizeNext = true;
+      } else {
+        capitalizeNext = true;
+      }
+    }
+    return result.toString();
+  }
+
+  /**
+   * @return whether the protobuf version on the classpath can wrap bytes without copying them, i.e. provides
+   *         UnsafeByteOperations. Otherwise the wrapUnsafe option of {@link #toByteString(byte[], boolean)} copies.
+   */
+  public static boolean isUnsafeWrapSupported() {
+    return unsafeWrapArrayMethod != null && unsafeWrapBufferMethod != null;
+  }
+
+  /**
+   * Creates a ByteString holding the given bytes.
+   *
+   * @param wrapUnsafe share the array with the result instead of copying it, when the protobuf version supports it.
+   *                   The array must not be modified afterwards.
+   */
+  public static ByteString toByteString(byte[] bytes, boolean wrapUnsafe) {
+    if (wrapUnsafe && unsafeWrapArrayMethod != null) {
+      return (ByteString) invokeUnsafeWrap(unsafeWrapArrayMethod, bytes);
+    }
+    return ByteString.copyFrom(bytes);
+  }
+
+  /**
+   * Creates a ByteString holding the remaining bytes of the buffer. The position of the buffer is not changed.
+   *
+   * @param wrapUnsafe share the buffer content with the result instead of copying it, when the protobuf version
+   *                   supports it. The content must not be modified afterwards.
+   */
+  public static ByteString toByteString(ByteBuffer buffer, boolean wrapUnsafe) {
+    if (wrapUnsafe && unsafeWrapBufferMethod != null) {
+      return (ByteString) invokeUnsafeWrap(unsafeWrapBufferMethod, buffer.slice());
+    }
+    return ByteString.copyFrom(buffer.duplicate());
+  }
+
+  /**
+   * Reads the stream to its end into a ByteString. The stream is not closed.
+   */
+  public static ByteString toByteString(InputStream in) {
+    ByteString.Output out = ByteString.newOutput();
+    byte[] buffer = new byte[8192];
+    try {
+      int read;
+      while ((read = in.read(buffer)) != -1) {
+        out.write(buffer, 0, read);
       }
+    } catch (IOException e) {
+      MappingUtils.throwMappingException(e);
     }
+    return out.toByteString();
+  }
 
-    return null;
+  private static Method findUnsafeWrapMethod(Class<?> parameterType) {
+    try {
+      Class<?> operations = Class.forName("com.google.protobuf.UnsafeByteOperations", false, ByteString.class.getClassLoader());
+      return operations.getMethod("unsafeWrap", parameterType);
+    } catch (Exception e) {
+      return null;
+    }
+  }
+
+  private static Object invokeUnsafeWrap(Method method, Object bytes) {
+    try {
+      return method.invoke(null, bytes);
+    } catch (Exception e) {
+      MappingUtils.throwMappingException(e);
+      return null;
+    }
   }
 
   public static Class<?> getJavaClass(final Descriptors.FieldDescriptor descriptor) {
@@ -98,7 +255,7 @@ public class ProtoUtils {
       case STRING     : return String.class;
       case BYTE_STRING: return ByteString.class;
       //code duplicate, but GenericDescriptor interface is private in protobuf
-      case ENUM       : return getEnumClassByEnumDescriptor(descriptor.getEnumType());
+      case ENUM       : return getEnumTable(descriptor.getEnumType()).getEnumClass();
       case MESSAGE    :
         return MappingUtils.loadClass(StringUtils.join(new String[]{
                 descriptor.getMessageType().getFile().getOptions().getJavaPackage(),
@@ -115,15 +272,25 @@ public class ProtoUtils {
             descriptor.getFullName()}, '.'));
   }
 
+  private static EnumTable getEnumTable(Descriptors.EnumDescriptor descriptor) {
+    EnumTable result = enumTables.get(descriptor);
+    if (result == null) {
+      result = new EnumTable(descriptor, getEnumClassByEnumDescriptor(descriptor));
+      result = enumTables.putIfAbsent(descriptor, result);
+    }
+    return result;
+  }
+
   public static Object wrapEnums(Object value) {
     if (value instanceof ProtocolMessageEnum) {
       return ((ProtocolMessageEnum) value).getValueDescriptor();
     }
     //there is no other collections using in proto, only list
     if (value instanceof List) {
-      List modifiedList = new ArrayList(((List) value).size());
-      for (Object element : (List)value) {
-        modifiedList.add(wrapEnums(element));
+      List list = (List) value;
+      List modifiedList = new ArrayList(list.size());
+      for (Object element : list) {
+        modifiedList.add(element instanceof ProtocolMessageEnum ? ((ProtocolMessageEnum) element).getValueDescriptor() : element);
       }
       return modifiedList;
     }
@@ -132,21 +299,63 @@ public class ProtoUtils {
 
   public static Object unwrapEnums(Object value) {
     if (value instanceof Descriptors.EnumValueDescriptor) {
-      Descriptors.EnumValueDescriptor descriptor = (Descriptors.EnumValueDescriptor)value;
-      Class<? extends Enum> enumClass = getEnumClassByEnumDescriptor(descriptor.getType());
-      Enum[] enumValues = enumClass.getEnumConstants();
-      for (Enum enumValue : enumValues) {
-        if (((Descriptors.EnumValueDescriptor) value).getName().equals(enumValue.name())) return enumValue;
-      }
-      return null;
+      Descriptors.EnumValueDescriptor descriptor = (Descriptors.EnumValueDescriptor) value;
+      return getEnumTable(descriptor.getType()).toEnum(descriptor);
     }
     if (value instanceof Collection) {
-      List modifiedList = new ArrayList(((List) value).size());
-      for (Object element : (List)value) {
-        modifiedList.add(unwrapEnums(element));
+      Collection collection = (Collection) value;
+      List modifiedList = new ArrayList(collection.size());
+      // repeated fields hold values of a single enum type, so the table is resolved once per list
+      EnumTable table = null;
+      for (Object element : collection) {
+        if (element instanceof Descriptors.EnumValueDescriptor) {
+          Descriptors.EnumValueDescriptor descriptor = (Descriptors.EnumValueDescriptor) element;
+          if (table == null || table.descriptor.get() != descriptor.getType()) {
+            table = getEnumTable(descriptor.getType());
+          }
+          modifiedList.add(table.toEnum(descriptor));
+        } else {
+          modifiedList.add(element);
+        }
       }
       return modifiedList;
     }
     return value;
   }
+
+  /**
+   * Java enum constants of a generated enum class, indexed the same way as the values of its descriptor.
+   */
+  // enum classes and constants are held weakly, the constants stay reachable through their class while it is loaded
+  private static final class EnumTable {
+
+    // the descriptor is the cache key, so it must not be held strongly either
+    private final WeakReference<Descriptors.EnumDescriptor> descriptor;
+    private final WeakReference<Class<? extends Enum>> enumClass;
+    private final WeakReference<Enum>[] constants;
+
+    @SuppressWarnings("unchecked")
+    EnumTable(Descriptors.EnumDescriptor descriptor, Class<? extends Enum> enumClass) {
+      this.descriptor = new WeakReference<Descriptors.EnumDescriptor>(descriptor);
+      this.enumClass = new WeakReference<Class<? extends Enum>>(enumClass);
+      this.constants = new WeakReference[descriptor.getValues().size()];
+      for (Enum constant : enumClass.getEnumConstants()) {
+        Descriptors.EnumValueDescriptor valueDescriptor = descriptor.findValueByName(constant.name());
+        if (valueDescriptor != null) {
+          constants[valueDescriptor.getIndex()] = new WeakReference<Enum>(constant);
+        }
+      }
+    }
+
+    Class<? extends Enum> getEnumClass() {
+      return enumClass.get();
+    }
+
+    Enum toEnum(Descriptors.EnumValueDescriptor valueDescriptor) {
+      int index = valueDescriptor.getIndex();
+      WeakReference<Enum> constant = index < constants.length ? constants[index] : null;
+      return constant != null ? constant.get() : null;
+    }
+  }
+
 }
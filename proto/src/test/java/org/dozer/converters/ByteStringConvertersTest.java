@@ -0,0 +1,102 @@
+/**
+ * Copyright 2005-2013 Dozer Project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.dozer.converters;
+
+import com.google.protobuf.ByteString;
+import org.dozer.util.ProtoUtils;
+import org.junit.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+public class ByteStringConvertersTest {
+
+  private static final byte[] BYTES = {1, 2, 3};
+
+  @Test
+  public void byteArray() {
+    ByteStringToByteArrayConverter converter = new ByteStringToByteArrayConverter();
+
+    assertArrayEquals(BYTES, converter.convertTo(ByteString.copyFrom(BYTES)));
+    assertEquals(ByteString.copyFrom(BYTES), converter.convertFrom(BYTES));
+    assertNull(converter.convertTo(null));
+    assertNull(converter.convertFrom(null));
+  }
+
+  @Test
+  public void byteArray_copiedByDefault() {
+    byte[] bytes = BYTES.clone();
+    ByteString result = new ByteStringToByteArrayConverter().convertFrom(bytes);
+    bytes[0] = 0;
+
+    assertEquals(ByteString.copyFrom(BYTES), result);
+  }
+
+  @Test
+  public void byteArray_wrapUnsafe() {
+    byte[] bytes = BYTES.clone();
+    ByteString result = new ByteStringToByteArrayConverter(true).convertFrom(bytes);
+    assertEquals(ByteString.copyFrom(BYTES), result);
+
+    bytes[0] = 0;
+    // the array is only shared when protobuf can wrap it, otherwise it is copied
+    assertEquals(ProtoUtils.isUnsafeWrapSupported() ? ByteString.copyFrom(bytes) : ByteString.copyFrom(BYTES), result);
+  }
+
+  @Test
+  public void byteBuffer_wrapUnsafe() {
+    ByteBuffer source = ByteBuffer.wrap(BYTES.clone());
+    ByteString result = new ByteStringToByteBufferConverter(true).convertFrom(source);
+    assertEquals(ByteString.copyFrom(BYTES), result);
+    assertEquals(0, source.position());
+
+    source.put(0, (byte) 0);
+    assertEquals(ProtoUtils.isUnsafeWrapSupported() ? ByteString.copyFrom(source) : ByteString.copyFrom(BYTES), result);
+  }
+
+  @Test
+  public void byteBuffer() {
+    ByteStringToByteBufferConverter converter = new ByteStringToByteBufferConverter();
+
+    ByteBuffer buffer = converter.convertTo(ByteString.copyFrom(BYTES));
+    assertTrue(buffer.isReadOnly());
+    assertEquals(ByteBuffer.wrap(BYTES), buffer);
+
+    ByteBuffer source = ByteBuffer.wrap(BYTES);
+    assertEquals(ByteString.copyFrom(BYTES), converter.convertFrom(source));
+    assertEquals(0, source.position());
+  }
+
+  @Test
+  public void inputStream() throws IOException {
+    ByteStringToInputStreamConverter converter = new ByteStringToInputStreamConverter();
+
+    InputStream in = converter.convertTo(ByteString.copyFrom(BYTES));
+    byte[] read = new byte[BYTES.length];
+    assertEquals(BYTES.length, in.read(read));
+    assertArrayEquals(BYTES, read);
+
+    assertEquals(ByteString.copyFrom(BYTES), converter.convertFrom(new ByteArrayInputStream(BYTES)));
+  }
+
+}
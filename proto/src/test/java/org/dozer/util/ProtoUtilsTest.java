@@ -0,0 +1,124 @@
+/**
+ * Copyright 2005-2013 Dozer Project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.dozer.util;
+
+import com.google.protobuf.Descriptors;
+import com.google.protobuf.Message;
+import org.dozer.vo.proto.ProtoTestObjects.ProtoEnum;
+import org.dozer.vo.proto.ProtoTestObjects.ProtoObjectWithEnumField;
+import org.dozer.vo.proto.ProtoTestObjects.ProtobufWithEnumCollection;
+import org.dozer.vo.proto.ProtoTestObjects.ProtobufWithSimpleCollection;
+import org.dozer.vo.proto.ProtoTestObjects.SimpleProtoTestObject;
+import org.dozer.vo.proto.ProtoTestObjects.SimpleProtoTestObjectWithoutRequired;
+import org.junit.Test;
+
+import java.lang.reflect.Method;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+
+public class ProtoUtilsTest {
+
+  @Test
+  public void getBuilder_fromDefaultInstance() {
+    assertSame(SimpleProtoTestObject.getDefaultInstance(), ProtoUtils.getDefaultInstance(SimpleProtoTestObject.class));
+
+    Message.Builder first = ProtoUtils.getBuilder(SimpleProtoTestObject.class);
+    Message.Builder second = ProtoUtils.getBuilder(SimpleProtoTestObject.class);
+    assertNotSame(first, second);
+    assertSame(SimpleProtoTestObject.getDescriptor(), first.getDescriptorForType());
+  }
+
+  @Test
+  public void getFieldDescriptor_fromStaticDescriptor() {
+    Descriptors.FieldDescriptor descriptor = ProtoUtils.getFieldDescriptor(SimpleProtoTestObject.class, "one");
+    assertSame(SimpleProtoTestObject.getDescriptor(), descriptor.getContainingType());
+    assertEquals("one", descriptor.getName());
+    assertNull(ProtoUtils.getFieldDescriptor(SimpleProtoTestObject.class, "missing"));
+  }
+
+  @Test
+  public void getFieldValue_byDescriptor() {
+    Descriptors.FieldDescriptor descriptor = ProtoUtils.getFieldDescriptor(SimpleProtoTestObjectWithoutRequired.class, "one");
+
+    assertNull(ProtoUtils.getFieldValue(SimpleProtoTestObjectWithoutRequired.getDefaultInstance(), descriptor));
+    SimpleProtoTestObjectWithoutRequired message = SimpleProtoTestObjectWithoutRequired.newBuilder().setOne("A").build();
+    assertEquals("A", ProtoUtils.getFieldValue(message, descriptor));
+    assertEquals("A", ProtoUtils.getFieldValue(message, "one"));
+  }
+
+  @Test
+  public void getFieldValue_repeated() {
+    Descriptors.FieldDescriptor descriptor = ProtoUtils.getFieldDescriptor(ProtobufWithSimpleCollection.class, "object");
+
+    assertNull(ProtoUtils.getFieldValue(ProtobufWithSimpleCollection.getDefaultInstance(), descriptor));
+    ProtobufWithSimpleCollection message = ProtobufWithSimpleCollection.newBuilder()
+            .addObject(SimpleProtoTestObject.newBuilder().setOne("A")).build();
+    assertEquals(1, ((List<?>) ProtoUtils.getFieldValue(message, descriptor)).size());
+  }
+
+  @Test
+  public void unwrapEnums() {
+    assertSame(ProtoEnum.VALUE2, ProtoUtils.unwrapEnums(ProtoEnum.VALUE2.getValueDescriptor()));
+    assertEquals(Arrays.asList(ProtoEnum.VALUE1, ProtoEnum.VALUE2, ProtoEnum.VALUE1), ProtoUtils.unwrapEnums(Arrays.asList(
+            ProtoEnum.VALUE1.getValueDescriptor(), ProtoEnum.VALUE2.getValueDescriptor(), ProtoEnum.VALUE1.getValueDescriptor())));
+  }
+
+  @Test
+  public void wrapEnums() {
+    assertSame(ProtoEnum.VALUE1.getValueDescriptor(), ProtoUtils.wrapEnums(ProtoEnum.VALUE1));
+    assertEquals(Arrays.asList(ProtoEnum.VALUE2.getValueDescriptor(), "A"),
+            ProtoUtils.wrapEnums(Arrays.<Object>asList(ProtoEnum.VALUE2, "A")));
+  }
+
+  @Test
+  public void getJavaClass_enum() {
+    assertSame(ProtoEnum.class, ProtoUtils.getJavaClass(ProtoUtils.getFieldDescriptor(ProtoObjectWithEnumField.class, "enumField")));
+  }
+
+  @Test
+  public void getJavaFieldName() {
+    assertEquals("Object", ProtoUtils.getJavaFieldName("object"));
+    assertEquals("FieldName2A", ProtoUtils.getJavaFieldName("field_name2a"));
+    assertEquals("CamelCase", ProtoUtils.getJavaFieldName("camelCase"));
+  }
+
+  @Test
+  public void setRepeatedField_addAll() {
+    Descriptors.FieldDescriptor descriptor = ProtoUtils.getFieldDescriptor(ProtobufWithEnumCollection.class, "object");
+    ProtobufWithEnumCollection.Builder builder = ProtobufWithEnumCollection.newBuilder().addObject(ProtoEnum.VALUE2);
+    Method addAllMethod = ProtoUtils.getAddAllMethod(builder.getClass(), descriptor);
+    assertNotNull(addAllMethod);
+
+    ProtoUtils.setRepeatedField(builder, descriptor, Arrays.asList(ProtoEnum.VALUE1, ProtoEnum.VALUE1), addAllMethod);
+    assertEquals(Arrays.asList(ProtoEnum.VALUE1, ProtoEnum.VALUE1), builder.getObjectList());
+  }
+
+  @Test
+  public void setRepeatedField_withoutAddAll() {
+    Descriptors.FieldDescriptor descriptor = ProtoUtils.getFieldDescriptor(ProtobufWithEnumCollection.class, "object");
+    ProtobufWithEnumCollection.Builder builder = ProtobufWithEnumCollection.newBuilder();
+
+    ProtoUtils.setRepeatedField(builder, descriptor, Arrays.asList(ProtoEnum.VALUE2, ProtoEnum.VALUE1), null);
+    assertEquals(Arrays.asList(ProtoEnum.VALUE2, ProtoEnum.VALUE1), builder.getObjectList());
+  }
+
+}
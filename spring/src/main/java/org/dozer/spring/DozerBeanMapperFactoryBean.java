@@ -52,6 +52,7 @@ public class DozerBeanMapperFactoryBean implements FactoryBean<Mapper>,
   private List<DozerEventListener> eventListeners;
   private Map<String, BeanFactory> factories;
   private ApplicationContext applicationContext;
+  private MapperContext mapperContext = MapperContext.global();
 
   /**
    * Spring resources definition for providing mapping file location.
@@ -92,6 +93,15 @@ public class DozerBeanMapperFactoryBean implements FactoryBean<Mapper>,
     this.factories = factories;
   }
 
+  /**
+   * Statistics and cache settings of the mapper, the global context is used by default.
+   *
+   * @param mapperContext i.e. {@link MapperContext#isolated(boolean)}
+   */
+  public final void setMapperContext(final MapperContext mapperContext) {
+    this.mapperContext = mapperContext;
+  }
+
   // ==================================================================================================================================
   // interface 'FactoryBean'
   // ==================================================================================================================================
@@ -111,7 +121,7 @@ public class DozerBeanMapperFactoryBean implements FactoryBean<Mapper>,
   // interface 'InitializingBean'
   // ==================================================================================================================================
   public final void afterPropertiesSet() throws Exception {
-    this.beanMapper = new DozerBeanMapper();
+    this.beanMapper = new DozerBeanMapper(mapperContext);
 
     loadMappingFiles();
 